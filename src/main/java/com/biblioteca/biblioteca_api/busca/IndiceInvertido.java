@@ -0,0 +1,175 @@
+package com.biblioteca.biblioteca_api.busca;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class IndiceInvertido {
+
+    public static final int TAMANHO_MINIMO_TERMO = 2;
+
+    private final NavigableMap<String, Set<Long>> postings = new TreeMap<>();
+    private final Map<Long, Documento> documentos = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void indexar(Long id, String texto) {
+        Documento documento = new Documento(NormalizadorTexto.normalizar(texto), NormalizadorTexto.tokenizar(texto));
+        lock.writeLock().lock();
+        try {
+            removerSemLock(id);
+            documentos.put(id, documento);
+            for (String token : documento.tokens()) {
+                postings.computeIfAbsent(token, t -> new HashSet<>()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remover(Long id) {
+        lock.writeLock().lock();
+        try {
+            removerSemLock(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void limpar() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documentos.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return documentos.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Long> buscar(String consulta) {
+        String consultaNormalizada = NormalizadorTexto.normalizar(consulta);
+        List<String> termos = NormalizadorTexto.tokenizar(consulta);
+        List<String> termosIndexaveis = termos.stream().filter(termo -> termo.length() >= TAMANHO_MINIMO_TERMO).toList();
+        if (termosIndexaveis.isEmpty()) {
+            throw new IllegalArgumentException(
+                    "A consulta deve conter ao menos um termo com " + TAMANHO_MINIMO_TERMO + " caracteres");
+        }
+        List<String> termosCurtos = termos.stream().filter(termo -> termo.length() < TAMANHO_MINIMO_TERMO).toList();
+
+        lock.readLock().lock();
+        try {
+            Set<Long> candidatos = intersectar(termosIndexaveis);
+
+            List<Resultado> resultados = new ArrayList<>(candidatos.size());
+            for (Long id : candidatos) {
+                Documento documento = documentos.get(id);
+                if (contemPrefixos(documento, termosCurtos)) {
+                    resultados.add(new Resultado(id, documento, pontuar(documento, termos, consultaNormalizada)));
+                }
+            }
+            resultados.sort(Comparator.comparingInt(Resultado::pontuacao).reversed()
+                    .thenComparingInt(resultado -> resultado.documento().tokens().size())
+                    .thenComparing(resultado -> resultado.documento().textoNormalizado())
+                    .thenComparing(Resultado::id));
+
+            return resultados.stream().map(Resultado::id).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Set<Long> intersectar(List<String> termos) {
+        List<Set<Long>> listas = new ArrayList<>(termos.size());
+        for (String termo : new HashSet<>(termos)) {
+            Set<Long> lista = postingsComPrefixo(termo);
+            if (lista.isEmpty()) {
+                return Set.of();
+            }
+            listas.add(lista);
+        }
+        listas.sort(Comparator.comparingInt(Set::size));
+
+        Set<Long> menor = listas.get(0);
+        Set<Long> resultado = new HashSet<>();
+        for (Long id : menor) {
+            boolean presenteEmTodas = true;
+            for (int i = 1; i < listas.size() && presenteEmTodas; i++) {
+                presenteEmTodas = listas.get(i).contains(id);
+            }
+            if (presenteEmTodas) {
+                resultado.add(id);
+            }
+        }
+        return resultado;
+    }
+
+    private Set<Long> postingsComPrefixo(String prefixo) {
+        NavigableMap<String, Set<Long>> faixa = postings.subMap(prefixo, true, prefixo + Character.MAX_VALUE, false);
+        if (faixa.size() == 1) {
+            return faixa.firstEntry().getValue();
+        }
+        Set<Long> uniao = new HashSet<>();
+        for (Set<Long> lista : faixa.values()) {
+            uniao.addAll(lista);
+        }
+        return uniao;
+    }
+
+    private static boolean contemPrefixos(Documento documento, List<String> termos) {
+        for (String termo : termos) {
+            if (documento.tokens().stream().noneMatch(token -> token.startsWith(termo))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int pontuar(Documento documento, List<String> termos, String consultaNormalizada) {
+        int pontuacao = 0;
+        for (String termo : termos) {
+            pontuacao += documento.tokens().contains(termo) ? 3 : 1;
+        }
+        if (!consultaNormalizada.isEmpty() && documento.textoNormalizado().startsWith(consultaNormalizada)) {
+            pontuacao += 1;
+        }
+        return pontuacao;
+    }
+
+    private void removerSemLock(Long id) {
+        Documento anterior = documentos.remove(id);
+        if (anterior == null) {
+            return;
+        }
+        for (String token : anterior.tokens()) {
+            Set<Long> lista = postings.get(token);
+            if (lista != null) {
+                lista.remove(id);
+                if (lista.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+    }
+
+    private record Documento(String textoNormalizado, List<String> tokens) {
+    }
+
+    private record Resultado(Long id, Documento documento, int pontuacao) {
+    }
+}
@@ -0,0 +1,168 @@
+package com.biblioteca.biblioteca_api.busca;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class IndiceIsbn {
+
+    public static final long AUSENTE = -1L;
+
+    private static final long VAZIO = -1L;
+    private static final long DESLOCAMENTO_ISBN_10 = 10_000_000_000_000L;
+    private static final int CAPACIDADE_MINIMA = 16;
+
+    private long[] chaves;
+    private long[] valores;
+    private int mascara;
+    private int tamanho;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public IndiceIsbn() {
+        this(0);
+    }
+
+    public IndiceIsbn(int capacidadeEsperada) {
+        alocar(capacidadePara(capacidadeEsperada));
+    }
+
+    public void registrar(String isbn, long id) {
+        long chave = codificar(isbn);
+        if (chave == VAZIO) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            int posicao = posicao(chave);
+            if (chaves[posicao] == chave) {
+                valores[posicao] = id;
+                return;
+            }
+            chaves[posicao] = chave;
+            valores[posicao] = id;
+            if (++tamanho * 2 > chaves.length) {
+                redimensionar(chaves.length * 2);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remover(String isbn, long id) {
+        long chave = codificar(isbn);
+        if (chave == VAZIO) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            int posicao = posicao(chave);
+            if (chaves[posicao] == chave && valores[posicao] == id) {
+                removerNaPosicao(posicao);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public long buscar(String isbn) {
+        long chave = codificar(isbn);
+        if (chave == VAZIO) {
+            return AUSENTE;
+        }
+        lock.readLock().lock();
+        try {
+            int posicao = posicao(chave);
+            return chaves[posicao] == chave ? valores[posicao] : AUSENTE;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contem(String isbn) {
+        return buscar(isbn) != AUSENTE;
+    }
+
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return tamanho;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static long codificar(String isbn) {
+        if (isbn == null || (isbn.length() != 10 && isbn.length() != 13)) {
+            return VAZIO;
+        }
+        long valor = 0;
+        for (int i = 0; i < isbn.length(); i++) {
+            char digito = isbn.charAt(i);
+            if (digito < '0' || digito > '9') {
+                return VAZIO;
+            }
+            valor = valor * 10 + (digito - '0');
+        }
+        return isbn.length() == 10 ? DESLOCAMENTO_ISBN_10 + valor : valor;
+    }
+
+    private int posicao(long chave) {
+        int posicao = espalhar(chave) & mascara;
+        while (chaves[posicao] != VAZIO && chaves[posicao] != chave) {
+            posicao = (posicao + 1) & mascara;
+        }
+        return posicao;
+    }
+
+    private void removerNaPosicao(int livre) {
+        int atual = livre;
+        while (true) {
+            atual = (atual + 1) & mascara;
+            long chave = chaves[atual];
+            if (chave == VAZIO) {
+                break;
+            }
+            int ideal = espalhar(chave) & mascara;
+            if (((atual - ideal) & mascara) >= ((atual - livre) & mascara)) {
+                chaves[livre] = chave;
+                valores[livre] = valores[atual];
+                livre = atual;
+            }
+        }
+        chaves[livre] = VAZIO;
+        tamanho--;
+    }
+
+    private void redimensionar(int novaCapacidade) {
+        long[] chavesAtuais = chaves;
+        long[] valoresAtuais = valores;
+        alocar(novaCapacidade);
+        for (int i = 0; i < chavesAtuais.length; i++) {
+            if (chavesAtuais[i] != VAZIO) {
+                int posicao = posicao(chavesAtuais[i]);
+                chaves[posicao] = chavesAtuais[i];
+                valores[posicao] = valoresAtuais[i];
+            }
+        }
+    }
+
+    private void alocar(int capacidade) {
+        chaves = new long[capacidade];
+        valores = new long[capacidade];
+        Arrays.fill(chaves, VAZIO);
+        mascara = capacidade - 1;
+    }
+
+    private static int capacidadePara(int capacidadeEsperada) {
+        int capacidade = CAPACIDADE_MINIMA;
+        while (capacidade < capacidadeEsperada * 2) {
+            capacidade <<= 1;
+        }
+        return capacidade;
+    }
+
+    private static int espalhar(long chave) {
+        long h = chave * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
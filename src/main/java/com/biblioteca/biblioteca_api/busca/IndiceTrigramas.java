@@ -0,0 +1,305 @@
+package com.biblioteca.biblioteca_api.busca;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class IndiceTrigramas {
+
+    private static final int CAPACIDADE_INICIAL = 16;
+    private static final ThreadLocal<int[]> CONTADORES = ThreadLocal.withInitial(() -> new int[CAPACIDADE_INICIAL]);
+
+    private final Map<String, ListaPostagens> postings = new HashMap<>();
+    private final Map<Long, Integer> documentoPorId = new HashMap<>();
+    private final BitSet removidos = new BitSet();
+    private long[] ids = new long[CAPACIDADE_INICIAL];
+    private String[] textos = new String[CAPACIDADE_INICIAL];
+    private int[] totalTrigramas = new int[CAPACIDADE_INICIAL];
+    private int totalDocumentos;
+    private int totalRemovidos;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void indexar(Long id, String texto) {
+        Set<String> trigramas = trigramas(texto);
+        lock.writeLock().lock();
+        try {
+            removerSemLock(id);
+            adicionarSemLock(id, texto, trigramas);
+            compactarSeNecessario();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remover(Long id) {
+        lock.writeLock().lock();
+        try {
+            removerSemLock(id);
+            compactarSeNecessario();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void limpar() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documentoPorId.clear();
+            removidos.clear();
+            ids = new long[CAPACIDADE_INICIAL];
+            textos = new String[CAPACIDADE_INICIAL];
+            totalTrigramas = new int[CAPACIDADE_INICIAL];
+            totalDocumentos = 0;
+            totalRemovidos = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return documentoPorId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Similaridade> buscar(String consulta, double similaridadeMinima, int limite) {
+        Set<String> trigramasConsulta = trigramas(consulta);
+        if (trigramasConsulta.isEmpty() || limite <= 0) {
+            return List.of();
+        }
+        int totalConsulta = trigramasConsulta.size();
+        int comunsMinimos = Math.max(1, (int) Math.ceil(similaridadeMinima * totalConsulta - 1e-9));
+        if (comunsMinimos > totalConsulta) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            ListaPostagens[] listas = new ListaPostagens[totalConsulta];
+            int posicao = 0;
+            for (String trigrama : trigramasConsulta) {
+                listas[posicao++] = postings.getOrDefault(trigrama, ListaPostagens.VAZIA);
+            }
+            Arrays.sort(listas, Comparator.comparingInt(lista -> lista.tamanho));
+
+            int[] comuns = contadores(totalDocumentos);
+            for (int folga = 0; ; folga = Math.max(1, folga * 2)) {
+                int exigidos = Math.max(comunsMinimos, totalConsulta - folga);
+                List<Similaridade> similares = buscarComMinimo(listas, exigidos, similaridadeMinima, limite, comuns);
+                if (similares.size() >= limite || exigidos == comunsMinimos) {
+                    return similares;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Similaridade> buscarComMinimo(ListaPostagens[] listas, int exigidos, double similaridadeMinima,
+                                               int limite, int[] comuns) {
+        int totalConsulta = listas.length;
+        int[] candidatos = new int[CAPACIDADE_INICIAL];
+        int totalCandidatos = 0;
+        try {
+            int geradoras = totalConsulta - exigidos + 1;
+            for (int l = 0; l < geradoras; l++) {
+                ListaPostagens lista = listas[l];
+                for (int i = 0; i < lista.tamanho; i++) {
+                    int documento = lista.documentos[i];
+                    if (comuns[documento]++ == 0) {
+                        if (totalCandidatos == candidatos.length) {
+                            candidatos = Arrays.copyOf(candidatos, totalCandidatos * 2);
+                        }
+                        candidatos[totalCandidatos++] = documento;
+                    }
+                }
+            }
+            Arrays.sort(candidatos, 0, totalCandidatos);
+
+            for (int l = geradoras; l < totalConsulta && totalCandidatos > 0; l++) {
+                int restantes = totalConsulta - l;
+                int mantidos = 0;
+                for (int i = 0; i < totalCandidatos; i++) {
+                    int documento = candidatos[i];
+                    if (comuns[documento] + restantes >= exigidos) {
+                        candidatos[mantidos++] = documento;
+                    } else {
+                        comuns[documento] = 0;
+                    }
+                }
+                totalCandidatos = mantidos;
+                listas[l].contar(candidatos, totalCandidatos, comuns);
+            }
+
+            Comparator<Candidato> ordem = Comparator.comparingDouble(Candidato::similaridade).reversed()
+                    .thenComparingInt(Candidato::totalTrigramas)
+                    .thenComparing(candidato -> textos[candidato.documento()])
+                    .thenComparingLong(candidato -> ids[candidato.documento()]);
+            PriorityQueue<Candidato> melhores = new PriorityQueue<>(limite, ordem.reversed());
+            for (int i = 0; i < totalCandidatos; i++) {
+                int documento = candidatos[i];
+                if (comuns[documento] < exigidos || removidos.get(documento)) {
+                    continue;
+                }
+                double similaridade = (double) comuns[documento] / totalConsulta;
+                if (similaridade < similaridadeMinima) {
+                    continue;
+                }
+                Candidato candidato = new Candidato(documento, similaridade, totalTrigramas[documento]);
+                if (melhores.size() < limite) {
+                    melhores.add(candidato);
+                } else if (ordem.compare(candidato, melhores.peek()) < 0) {
+                    melhores.poll();
+                    melhores.add(candidato);
+                }
+            }
+
+            List<Candidato> resultados = new ArrayList<>(melhores);
+            resultados.sort(ordem);
+            List<Similaridade> similares = new ArrayList<>(resultados.size());
+            for (Candidato candidato : resultados) {
+                similares.add(new Similaridade(ids[candidato.documento()], textos[candidato.documento()],
+                        candidato.similaridade()));
+            }
+            return similares;
+        } finally {
+            for (int i = 0; i < totalCandidatos; i++) {
+                comuns[candidatos[i]] = 0;
+            }
+        }
+    }
+
+    private static int[] contadores(int totalDocumentos) {
+        int[] contadores = CONTADORES.get();
+        if (contadores.length < totalDocumentos) {
+            contadores = new int[Math.max(totalDocumentos, contadores.length * 2)];
+            CONTADORES.set(contadores);
+        }
+        return contadores;
+    }
+
+    static Set<String> trigramas(String texto) {
+        Set<String> trigramas = new LinkedHashSet<>();
+        for (String token : NormalizadorTexto.tokenizar(texto)) {
+            String comBordas = "  " + token + " ";
+            for (int i = 0; i + 3 <= comBordas.length(); i++) {
+                trigramas.add(comBordas.substring(i, i + 3));
+            }
+        }
+        return trigramas;
+    }
+
+    private void adicionarSemLock(Long id, String texto, Set<String> trigramas) {
+        if (totalDocumentos == ids.length) {
+            int novaCapacidade = ids.length * 2;
+            ids = Arrays.copyOf(ids, novaCapacidade);
+            textos = Arrays.copyOf(textos, novaCapacidade);
+            totalTrigramas = Arrays.copyOf(totalTrigramas, novaCapacidade);
+        }
+        int documento = totalDocumentos++;
+        ids[documento] = id;
+        textos[documento] = texto;
+        totalTrigramas[documento] = trigramas.size();
+        documentoPorId.put(id, documento);
+        for (String trigrama : trigramas) {
+            postings.computeIfAbsent(trigrama, t -> new ListaPostagens()).adicionar(documento);
+        }
+    }
+
+    private void removerSemLock(Long id) {
+        Integer documento = documentoPorId.remove(id);
+        if (documento != null) {
+            removidos.set(documento);
+            totalRemovidos++;
+        }
+    }
+
+    private void compactarSeNecessario() {
+        if (totalRemovidos < CAPACIDADE_INICIAL || totalRemovidos * 2 < totalDocumentos) {
+            return;
+        }
+        long[] idsAtuais = ids;
+        String[] textosAtuais = textos;
+        int documentosAtuais = totalDocumentos;
+        BitSet removidosAtuais = (BitSet) removidos.clone();
+
+        postings.clear();
+        documentoPorId.clear();
+        removidos.clear();
+        ids = new long[Math.max(CAPACIDADE_INICIAL, documentosAtuais - totalRemovidos)];
+        textos = new String[ids.length];
+        totalTrigramas = new int[ids.length];
+        totalDocumentos = 0;
+        totalRemovidos = 0;
+
+        for (int documento = 0; documento < documentosAtuais; documento++) {
+            if (!removidosAtuais.get(documento)) {
+                String texto = textosAtuais[documento];
+                adicionarSemLock(idsAtuais[documento], texto, trigramas(texto));
+            }
+        }
+    }
+
+    public record Similaridade(Long id, String texto, double similaridade) {
+    }
+
+    private record Candidato(int documento, double similaridade, int totalTrigramas) {
+    }
+
+    private static final class ListaPostagens {
+
+        private static final ListaPostagens VAZIA = new ListaPostagens();
+
+        private int[] documentos = new int[4];
+        private int tamanho;
+
+        private void contar(int[] candidatos, int totalCandidatos, int[] comuns) {
+            if (tamanho == 0) {
+                return;
+            }
+            if ((long) totalCandidatos * 32 < tamanho) {
+                int inicio = 0;
+                for (int i = 0; i < totalCandidatos && inicio < tamanho; i++) {
+                    int posicao = Arrays.binarySearch(documentos, inicio, tamanho, candidatos[i]);
+                    if (posicao >= 0) {
+                        comuns[candidatos[i]]++;
+                        inicio = posicao + 1;
+                    } else {
+                        inicio = -posicao - 1;
+                    }
+                }
+                return;
+            }
+            int j = 0;
+            for (int i = 0; i < totalCandidatos && j < tamanho; i++) {
+                while (j < tamanho && documentos[j] < candidatos[i]) {
+                    j++;
+                }
+                if (j < tamanho && documentos[j] == candidatos[i]) {
+                    comuns[candidatos[i]]++;
+                    j++;
+                }
+            }
+        }
+
+        private void adicionar(int documento) {
+            if (tamanho == documentos.length) {
+                documentos = Arrays.copyOf(documentos, tamanho * 2);
+            }
+            documentos[tamanho++] = documento;
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.biblioteca.biblioteca_api.busca;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class TrieSugestoes {
+
+    private static final char[] SEM_ROTULOS = new char[0];
+    private static final No[] SEM_FILHOS = new No[0];
+    private static final Classificada[] SEM_SUGESTOES = new Classificada[0];
+    private static final int MAXIMO_POR_PREFIXO = 50;
+    private static final Comparator<Classificada> RELEVANCIA = Comparator.comparingInt(Classificada::palavra)
+            .thenComparingInt(classificada -> classificada.sugestao().texto().length())
+            .thenComparing(classificada -> classificada.sugestao().texto())
+            .thenComparing(classificada -> classificada.sugestao().tipo())
+            .thenComparing(classificada -> classificada.sugestao().id());
+
+    private No raiz = new No();
+    private final Map<Chave, Sugestao> indexadas = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void indexar(String tipo, Long id, String texto) {
+        Sugestao sugestao = new Sugestao(tipo, id, texto);
+        List<String> chaves = chaves(texto);
+        lock.writeLock().lock();
+        try {
+            removerSemLock(new Chave(tipo, id));
+            if (chaves.isEmpty()) {
+                return;
+            }
+            indexadas.put(new Chave(tipo, id), sugestao);
+            for (int palavra = 0; palavra < chaves.size(); palavra++) {
+                inserir(chaves.get(palavra), new Classificada(sugestao, palavra));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remover(String tipo, Long id) {
+        lock.writeLock().lock();
+        try {
+            removerSemLock(new Chave(tipo, id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void limpar() {
+        lock.writeLock().lock();
+        try {
+            raiz = new No();
+            indexadas.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return indexadas.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Sugestao> sugerir(String prefixo, int limite) {
+        String prefixoNormalizado = NormalizadorTexto.normalizar(prefixo);
+        if (prefixoNormalizado.isEmpty() || limite <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            No no = raiz;
+            for (int i = 0; i < prefixoNormalizado.length() && no != null; i++) {
+                no = no.filho(prefixoNormalizado.charAt(i));
+            }
+            if (no == null) {
+                return List.of();
+            }
+
+            int total = Math.min(limite, no.melhores.length);
+            List<Sugestao> sugestoes = new ArrayList<>(total);
+            for (int i = 0; i < total; i++) {
+                sugestoes.add(no.melhores[i].sugestao());
+            }
+            return sugestoes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static List<String> chaves(String texto) {
+        List<String> tokens = NormalizadorTexto.tokenizar(texto);
+        List<String> chaves = new ArrayList<>(tokens.size());
+        for (int i = 0; i < tokens.size(); i++) {
+            chaves.add(String.join(" ", tokens.subList(i, tokens.size())));
+        }
+        return chaves;
+    }
+
+    private void inserir(String chave, Classificada classificada) {
+        No no = raiz;
+        no.oferecer(classificada);
+        for (int i = 0; i < chave.length(); i++) {
+            no = no.filhoOuCriar(chave.charAt(i));
+            no.oferecer(classificada);
+        }
+        no.adicionar(classificada);
+    }
+
+    private void removerSemLock(Chave chave) {
+        Sugestao anterior = indexadas.remove(chave);
+        if (anterior == null) {
+            return;
+        }
+        for (String chaveTexto : chaves(anterior.texto())) {
+            remover(raiz, chaveTexto, 0, anterior);
+        }
+    }
+
+    private boolean remover(No no, String chave, int posicao, Sugestao sugestao) {
+        if (posicao == chave.length()) {
+            no.remover(sugestao);
+        } else {
+            No filho = no.filho(chave.charAt(posicao));
+            if (filho != null && remover(filho, chave, posicao + 1, sugestao)) {
+                no.removerFilho(chave.charAt(posicao));
+            }
+        }
+        if (no.contem(sugestao)) {
+            no.reclassificar();
+        }
+        return no.proprias.length == 0 && no.filhos.length == 0;
+    }
+
+    public record Sugestao(String tipo, Long id, String texto) {
+    }
+
+    private record Classificada(Sugestao sugestao, int palavra) {
+    }
+
+    private record Chave(String tipo, Long id) {
+    }
+
+    private static final class No {
+
+        private char[] rotulos = SEM_ROTULOS;
+        private No[] filhos = SEM_FILHOS;
+        private Classificada[] proprias = SEM_SUGESTOES;
+        private Classificada[] melhores = SEM_SUGESTOES;
+
+        private No filho(char rotulo) {
+            int posicao = Arrays.binarySearch(rotulos, rotulo);
+            return posicao >= 0 ? filhos[posicao] : null;
+        }
+
+        private No filhoOuCriar(char rotulo) {
+            int posicao = Arrays.binarySearch(rotulos, rotulo);
+            if (posicao >= 0) {
+                return filhos[posicao];
+            }
+            int insercao = -posicao - 1;
+            No novo = new No();
+
+            char[] novosRotulos = new char[rotulos.length + 1];
+            System.arraycopy(rotulos, 0, novosRotulos, 0, insercao);
+            novosRotulos[insercao] = rotulo;
+            System.arraycopy(rotulos, insercao, novosRotulos, insercao + 1, rotulos.length - insercao);
+
+            No[] novosFilhos = new No[filhos.length + 1];
+            System.arraycopy(filhos, 0, novosFilhos, 0, insercao);
+            novosFilhos[insercao] = novo;
+            System.arraycopy(filhos, insercao, novosFilhos, insercao + 1, filhos.length - insercao);
+
+            rotulos = novosRotulos;
+            filhos = novosFilhos;
+            return novo;
+        }
+
+        private void removerFilho(char rotulo) {
+            int posicao = Arrays.binarySearch(rotulos, rotulo);
+            if (posicao < 0) {
+                return;
+            }
+            char[] novosRotulos = new char[rotulos.length - 1];
+            System.arraycopy(rotulos, 0, novosRotulos, 0, posicao);
+            System.arraycopy(rotulos, posicao + 1, novosRotulos, posicao, rotulos.length - posicao - 1);
+
+            No[] novosFilhos = new No[filhos.length - 1];
+            System.arraycopy(filhos, 0, novosFilhos, 0, posicao);
+            System.arraycopy(filhos, posicao + 1, novosFilhos, posicao, filhos.length - posicao - 1);
+
+            rotulos = novosRotulos.length == 0 ? SEM_ROTULOS : novosRotulos;
+            filhos = novosFilhos.length == 0 ? SEM_FILHOS : novosFilhos;
+        }
+
+        private void adicionar(Classificada classificada) {
+            Classificada[] novas = Arrays.copyOf(proprias, proprias.length + 1);
+            novas[proprias.length] = classificada;
+            proprias = novas;
+        }
+
+        private void remover(Sugestao sugestao) {
+            for (int i = 0; i < proprias.length; i++) {
+                if (proprias[i].sugestao().equals(sugestao)) {
+                    Classificada[] novas = new Classificada[proprias.length - 1];
+                    System.arraycopy(proprias, 0, novas, 0, i);
+                    System.arraycopy(proprias, i + 1, novas, i, proprias.length - i - 1);
+                    proprias = novas.length == 0 ? SEM_SUGESTOES : novas;
+                    return;
+                }
+            }
+        }
+
+        private boolean contem(Sugestao sugestao) {
+            for (Classificada classificada : melhores) {
+                if (classificada.sugestao().equals(sugestao)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void oferecer(Classificada classificada) {
+            int existente = -1;
+            for (int i = 0; i < melhores.length; i++) {
+                if (melhores[i].sugestao().equals(classificada.sugestao())) {
+                    if (RELEVANCIA.compare(melhores[i], classificada) <= 0) {
+                        return;
+                    }
+                    existente = i;
+                    break;
+                }
+            }
+            Classificada[] base = melhores;
+            if (existente >= 0) {
+                base = new Classificada[melhores.length - 1];
+                System.arraycopy(melhores, 0, base, 0, existente);
+                System.arraycopy(melhores, existente + 1, base, existente, melhores.length - existente - 1);
+            }
+            int insercao = 0;
+            while (insercao < base.length && RELEVANCIA.compare(base[insercao], classificada) <= 0) {
+                insercao++;
+            }
+            if (insercao >= MAXIMO_POR_PREFIXO) {
+                return;
+            }
+            int tamanho = Math.min(base.length + 1, MAXIMO_POR_PREFIXO);
+            Classificada[] novas = new Classificada[tamanho];
+            System.arraycopy(base, 0, novas, 0, insercao);
+            novas[insercao] = classificada;
+            System.arraycopy(base, insercao, novas, insercao + 1, tamanho - insercao - 1);
+            melhores = novas;
+        }
+
+        private void reclassificar() {
+            List<Classificada> candidatas = new ArrayList<>(Arrays.asList(proprias));
+            for (No filho : filhos) {
+                candidatas.addAll(Arrays.asList(filho.melhores));
+            }
+            candidatas.sort(RELEVANCIA);
+            Set<Sugestao> vistas = new HashSet<>();
+            List<Classificada> novas = new ArrayList<>(Math.min(candidatas.size(), MAXIMO_POR_PREFIXO));
+            for (Classificada candidata : candidatas) {
+                if (novas.size() == MAXIMO_POR_PREFIXO) {
+                    break;
+                }
+                if (vistas.add(candidata.sugestao())) {
+                    novas.add(candidata);
+                }
+            }
+            melhores = novas.isEmpty() ? SEM_SUGESTOES : novas.toArray(SEM_SUGESTOES);
+        }
+    }
+}
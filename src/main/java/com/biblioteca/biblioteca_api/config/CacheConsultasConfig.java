@@ -0,0 +1,30 @@
+package com.biblioteca.biblioteca_api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "cache.consultas")
+public class CacheConsultasConfig {
+
+    private long idsMaximos = 100_000;
+    private Duration expiracao = Duration.ofMinutes(5);
+
+    public long getIdsMaximos() {
+        return idsMaximos;
+    }
+
+    public void setIdsMaximos(long idsMaximos) {
+        this.idsMaximos = idsMaximos;
+    }
+
+    public Duration getExpiracao() {
+        return expiracao;
+    }
+
+    public void setExpiracao(Duration expiracao) {
+        this.expiracao = expiracao;
+    }
+}
@@ -0,0 +1,30 @@
+package com.biblioteca.biblioteca_api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "cache.livros")
+public class CacheLivrosConfig {
+
+    private long tamanhoMaximo = 10_000;
+    private Duration expiracao = Duration.ofMinutes(10);
+
+    public long getTamanhoMaximo() {
+        return tamanhoMaximo;
+    }
+
+    public void setTamanhoMaximo(long tamanhoMaximo) {
+        this.tamanhoMaximo = tamanhoMaximo;
+    }
+
+    public Duration getExpiracao() {
+        return expiracao;
+    }
+
+    public void setExpiracao(Duration expiracao) {
+        this.expiracao = expiracao;
+    }
+}
@@ -0,0 +1,73 @@
+package com.biblioteca.biblioteca_api.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+@Configuration
+@ConfigurationProperties(prefix = "cache.segundo-nivel")
+public class CacheSegundoNivelConfig {
+
+    public static final String REGIAO_TIMESTAMPS = "default-update-timestamps-region";
+
+    private Duration expiracao = Duration.ofMinutes(30);
+    private Map<String, Long> regioes = new LinkedHashMap<>(Map.of(
+            "autores", 1_000L,
+            "categorias", 200L,
+            "livros", 10_000L,
+            "consultas-livros", 2_000L,
+            "consultas-categorias", 500L,
+            "default-query-results-region", 100L));
+
+    @Bean(destroyMethod = "close")
+    public CacheManager cacheManagerSegundoNivel() {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("biblioteca-" + UUID.randomUUID()), getClass().getClassLoader());
+        regioes.forEach((regiao, tamanhoMaximo) ->
+                cacheManager.createCache(regiao, configuracao(OptionalLong.of(tamanhoMaximo), OptionalLong.of(expiracao.toNanos()))));
+        cacheManager.createCache(REGIAO_TIMESTAMPS, configuracao(OptionalLong.empty(), OptionalLong.empty()));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer cacheSegundoNivelHibernate(CacheManager cacheManagerSegundoNivel) {
+        return propriedades -> propriedades.put(ConfigSettings.CACHE_MANAGER, cacheManagerSegundoNivel);
+    }
+
+    private CaffeineConfiguration<Object, Object> configuracao(OptionalLong tamanhoMaximo, OptionalLong expiracaoNanos) {
+        CaffeineConfiguration<Object, Object> configuracao = new CaffeineConfiguration<>();
+        configuracao.setMaximumSize(tamanhoMaximo);
+        configuracao.setExpireAfterWrite(expiracaoNanos);
+        configuracao.setStatisticsEnabled(true);
+        return configuracao;
+    }
+
+    public Duration getExpiracao() {
+        return expiracao;
+    }
+
+    public void setExpiracao(Duration expiracao) {
+        this.expiracao = expiracao;
+    }
+
+    public Map<String, Long> getRegioes() {
+        return regioes;
+    }
+
+    public void setRegioes(Map<String, Long> regioes) {
+        this.regioes = regioes;
+    }
+}
@@ -0,0 +1,19 @@
+package com.biblioteca.biblioteca_api.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+@Configuration
+public class EtagConfig {
+
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> filtroEtagListagens() {
+        ShallowEtagHeaderFilter filtro = new ShallowEtagHeaderFilter();
+        filtro.setWriteWeakETag(true);
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registro = new FilterRegistrationBean<>(filtro);
+        registro.addUrlPatterns("/api/*");
+        return registro;
+    }
+}
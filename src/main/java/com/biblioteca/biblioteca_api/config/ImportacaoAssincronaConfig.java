@@ -0,0 +1,48 @@
+package com.biblioteca.biblioteca_api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "importacao.assincrona")
+public class ImportacaoAssincronaConfig {
+
+    private int threads = 4;
+    private int fila = 100;
+    private long tarefasMaximas = 10_000;
+    private Duration retencao = Duration.ofHours(1);
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getFila() {
+        return fila;
+    }
+
+    public void setFila(int fila) {
+        this.fila = fila;
+    }
+
+    public long getTarefasMaximas() {
+        return tarefasMaximas;
+    }
+
+    public void setTarefasMaximas(long tarefasMaximas) {
+        this.tarefasMaximas = tarefasMaximas;
+    }
+
+    public Duration getRetencao() {
+        return retencao;
+    }
+
+    public void setRetencao(Duration retencao) {
+        this.retencao = retencao;
+    }
+}
@@ -0,0 +1,46 @@
+package com.biblioteca.biblioteca_api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "importacao.lote")
+public class ImportacaoLoteConfig {
+
+    private int concorrencia = 8;
+    private int tamanhoMaximo = 500;
+    private int blocoGravacao = 50;
+    private int fila = 64;
+
+    public int getConcorrencia() {
+        return concorrencia;
+    }
+
+    public void setConcorrencia(int concorrencia) {
+        this.concorrencia = concorrencia;
+    }
+
+    public int getTamanhoMaximo() {
+        return tamanhoMaximo;
+    }
+
+    public void setTamanhoMaximo(int tamanhoMaximo) {
+        this.tamanhoMaximo = tamanhoMaximo;
+    }
+
+    public int getBlocoGravacao() {
+        return blocoGravacao;
+    }
+
+    public void setBlocoGravacao(int blocoGravacao) {
+        this.blocoGravacao = blocoGravacao;
+    }
+
+    public int getFila() {
+        return fila;
+    }
+
+    public void setFila(int fila) {
+        this.fila = fila;
+    }
+}
@@ -0,0 +1,51 @@
+package com.biblioteca.biblioteca_api.controller;
+
+import com.biblioteca.biblioteca_api.dto.EstatisticasCacheDTO;
+import com.biblioteca.biblioteca_api.dto.EstatisticasRegiaoDTO;
+import com.biblioteca.biblioteca_api.service.CacheConsultasService;
+import com.biblioteca.biblioteca_api.service.CacheLivroService;
+import com.biblioteca.biblioteca_api.service.CacheSegundoNivelService;
+import com.biblioteca.biblioteca_api.service.LivroService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    @Autowired
+    private LivroService livroService;
+
+    @Autowired
+    private CacheLivroService cacheLivroService;
+
+    @Autowired
+    private CacheConsultasService cacheConsultasService;
+
+    @Autowired
+    private CacheSegundoNivelService cacheSegundoNivelService;
+
+    @PostMapping("/contadores/recalcular")
+    public ResponseEntity<Void> recalcularContadores() {
+        livroService.recalcularTotaisDeLivros();
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/cache/livros")
+    public ResponseEntity<List<EstatisticasCacheDTO>> estatisticasCacheLivros() {
+        return ResponseEntity.ok(cacheLivroService.estatisticas());
+    }
+
+    @GetMapping("/cache/consultas")
+    public ResponseEntity<List<EstatisticasCacheDTO>> estatisticasCacheConsultas() {
+        return ResponseEntity.ok(cacheConsultasService.estatisticas());
+    }
+
+    @GetMapping("/cache/segundo-nivel")
+    public ResponseEntity<List<EstatisticasRegiaoDTO>> estatisticasCacheSegundoNivel() {
+        return ResponseEntity.ok(cacheSegundoNivelService.estatisticas());
+    }
+}
@@ -2,6 +2,7 @@ package com.biblioteca.biblioteca_api.controller;
 
 import com.biblioteca.biblioteca_api.dto.AutorDTO;
 import com.biblioteca.biblioteca_api.dto.LivroDTO;
+import com.biblioteca.biblioteca_api.repository.VersaoRecurso;
 import com.biblioteca.biblioteca_api.service.AutorService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,11 +10,12 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/autores")
@@ -29,7 +31,11 @@ public class AutorController {
     }
 
     @GetMapping(value = "/{id}")
-    public ResponseEntity<AutorDTO> buscarPorId(@PathVariable Long id){
+    public ResponseEntity<AutorDTO> buscarPorId(@PathVariable Long id, WebRequest request){
+        VersaoRecurso versao = autorService.buscarVersao(id);
+        if (request.checkNotModified(versao.etag(), versao.ultimaModificacaoEmMillis())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         return ResponseEntity.ok(autorService.buscarPorId(id));
     }
 
@@ -39,8 +45,19 @@ public class AutorController {
     }
 
     @PutMapping(value = "/{id}")
-    public ResponseEntity<AutorDTO> atualizar(@PathVariable Long id, @Valid @RequestBody AutorDTO autorDTO){
-        return ResponseEntity.ok(autorService.atualizar(id, autorDTO));
+    public ResponseEntity<AutorDTO> atualizar(@PathVariable Long id,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                              @Valid @RequestBody AutorDTO autorDTO){
+        Long versaoEsperada = VersaoRecurso.versaoExigida(ifMatch, id, () -> autorService.buscarVersao(id));
+        return ResponseEntity.ok(autorService.atualizar(id, autorDTO, versaoEsperada));
+    }
+
+    @PatchMapping(value = "/{id}")
+    public ResponseEntity<AutorDTO> atualizarParcialmente(@PathVariable Long id,
+                                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                          @RequestBody AutorDTO autorDTO){
+        Long versaoEsperada = VersaoRecurso.versaoExigida(ifMatch, id, () -> autorService.buscarVersao(id));
+        return ResponseEntity.ok(autorService.atualizarParcialmente(id, autorDTO, versaoEsperada));
     }
 
     @DeleteMapping(value = "/{id}")
@@ -50,7 +67,9 @@ public class AutorController {
     }
 
     @GetMapping("/{id}/livros")
-    public ResponseEntity<List<LivroDTO>> listarLivrosDoAutor(@PathVariable Long id) {
-        return ResponseEntity.ok(autorService.listarLivrosDoAutor(id));
+    public ResponseEntity<Page<LivroDTO>> listarLivrosDoAutor(
+            @PathVariable Long id,
+            @PageableDefault(size = 10, sort = "titulo") Pageable pageable) {
+        return ResponseEntity.ok(autorService.listarLivrosDoAutor(id, pageable));
     }
 }
@@ -4,6 +4,7 @@ import com.biblioteca.biblioteca_api.dto.AutorDTO;
 import com.biblioteca.biblioteca_api.dto.CategoriaDTO;
 import com.biblioteca.biblioteca_api.dto.LivroDTO;
 import com.biblioteca.biblioteca_api.model.Categoria;
+import com.biblioteca.biblioteca_api.repository.VersaoRecurso;
 import com.biblioteca.biblioteca_api.service.CategoriaService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,11 +13,11 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/categorias")
@@ -32,7 +33,11 @@ public class CategoriaController {
     }
 
     @GetMapping(value = "/{id}")
-    public ResponseEntity<CategoriaDTO> buscarPorId(@PathVariable Long id){
+    public ResponseEntity<CategoriaDTO> buscarPorId(@PathVariable Long id, WebRequest request){
+        VersaoRecurso versao = categoriaService.buscarVersao(id);
+        if (request.checkNotModified(versao.etag(), versao.ultimaModificacaoEmMillis())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         return ResponseEntity.ok(categoriaService.buscarPorId(id));
     }
 
@@ -48,8 +53,18 @@ public class CategoriaController {
 
     @PutMapping(value = "/{id}")
     public ResponseEntity<CategoriaDTO> atualizar(@PathVariable Long id,
+                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
                                                   @RequestBody @Valid CategoriaDTO categoriaDTO){
-        return ResponseEntity.ok(categoriaService.atualizar(id, categoriaDTO));
+        Long versaoEsperada = VersaoRecurso.versaoExigida(ifMatch, id, () -> categoriaService.buscarVersao(id));
+        return ResponseEntity.ok(categoriaService.atualizar(id, categoriaDTO, versaoEsperada));
+    }
+
+    @PatchMapping(value = "/{id}")
+    public ResponseEntity<CategoriaDTO> atualizarParcialmente(@PathVariable Long id,
+                                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                              @RequestBody CategoriaDTO categoriaDTO){
+        Long versaoEsperada = VersaoRecurso.versaoExigida(ifMatch, id, () -> categoriaService.buscarVersao(id));
+        return ResponseEntity.ok(categoriaService.atualizarParcialmente(id, categoriaDTO, versaoEsperada));
     }
 
     @DeleteMapping(value = "/{id}")
@@ -59,7 +74,9 @@ public class CategoriaController {
     }
 
     @GetMapping("/{id}/livros")
-    public ResponseEntity<List<LivroDTO>> listarLivrosDaCategoria(@PathVariable Long id) {
-        return ResponseEntity.ok(categoriaService.listarLivrosDaCategoria(id));
+    public ResponseEntity<Page<LivroDTO>> listarLivrosDaCategoria(
+            @PathVariable Long id,
+            @PageableDefault(size = 10, sort = "titulo") Pageable pageable) {
+        return ResponseEntity.ok(categoriaService.listarLivrosDaCategoria(id, pageable));
     }
 }
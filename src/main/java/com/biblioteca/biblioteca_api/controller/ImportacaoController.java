@@ -1,22 +1,85 @@
 package com.biblioteca.biblioteca_api.controller;
 
 import com.biblioteca.biblioteca_api.dto.ImportacaoDTO;
+import com.biblioteca.biblioteca_api.service.ImportacaoAssincronaService;
+import com.biblioteca.biblioteca_api.service.ImportacaoLoteService;
 import com.biblioteca.biblioteca_api.service.ImportacaoService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.List;
 
 @RestController
-@RequestMapping("/api/livros")
+@RequestMapping("/api")
 public class ImportacaoController {
 
     @Autowired
     private ImportacaoService importacaoService;
 
-    @PostMapping("/importar")
-    public ResponseEntity<ImportacaoDTO> importarLivro(@Valid @RequestBody ImportacaoDTO importacaoDTO) {
+    @Autowired
+    private ImportacaoAssincronaService importacaoAssincronaService;
+
+    @Autowired
+    private ImportacaoLoteService importacaoLoteService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PostMapping("/livros/importar")
+    public ResponseEntity<ImportacaoDTO> importarLivro(
+            @Valid @RequestBody ImportacaoDTO importacaoDTO,
+            @RequestParam(defaultValue = "false") boolean assincrono) {
+        if (assincrono) {
+            ImportacaoDTO agendada = importacaoAssincronaService.agendar(importacaoDTO);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/importacoes/" + agendada.getId()))
+                    .body(agendada);
+        }
         ImportacaoDTO resultado = importacaoService.importarLivro(importacaoDTO);
         return ResponseEntity.ok(resultado);
     }
-}
\ No newline at end of file
+
+    @PostMapping("/livros/importar/lote")
+    public ResponseEntity<StreamingResponseBody> importarEmLote(
+            @RequestBody List<ImportacaoDTO> importacoes, HttpServletRequest request) {
+        int reservadas = importacaoLoteService.reservar(importacoes);
+        ShallowEtagHeaderFilter.disableContentCaching(request);
+        StreamingResponseBody corpo = saida -> importacaoLoteService.importarEmLote(importacoes, reservadas,
+                importacao -> escrever(saida, importacao));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(corpo);
+    }
+
+    @GetMapping("/importacoes/{id}")
+    public ResponseEntity<ImportacaoDTO> buscarImportacao(@PathVariable String id) {
+        return ResponseEntity.ok(importacaoAssincronaService.buscar(id));
+    }
+
+    @DeleteMapping("/importacoes/{id}")
+    public ResponseEntity<ImportacaoDTO> cancelarImportacao(@PathVariable String id) {
+        ImportacaoDTO importacao = importacaoAssincronaService.cancelar(id);
+        HttpStatus status = "CANCELADO".equals(importacao.getStatus()) ? HttpStatus.OK : HttpStatus.ACCEPTED;
+        return ResponseEntity.status(status).body(importacao);
+    }
+
+    private void escrever(OutputStream saida, ImportacaoDTO importacao) {
+        try {
+            saida.write(objectMapper.writeValueAsBytes(importacao));
+            saida.write('\n');
+            saida.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
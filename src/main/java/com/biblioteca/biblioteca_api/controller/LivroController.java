@@ -1,15 +1,27 @@
 package com.biblioteca.biblioteca_api.controller;
 
+import com.biblioteca.biblioteca_api.dto.EstrategiaContagem;
 import com.biblioteca.biblioteca_api.dto.LivroDTO;
+import com.biblioteca.biblioteca_api.dto.PaginaCursorDTO;
+import com.biblioteca.biblioteca_api.dto.ResultadoBuscaDTO;
+import com.biblioteca.biblioteca_api.dto.ResultadoLoteDTO;
+import com.biblioteca.biblioteca_api.dto.ResultadoSincronizacaoDTO;
+import com.biblioteca.biblioteca_api.dto.SugestaoDTO;
+import com.biblioteca.biblioteca_api.repository.VersaoRecurso;
+import com.biblioteca.biblioteca_api.service.BuscaService;
 import com.biblioteca.biblioteca_api.service.LivroService;
+import com.biblioteca.biblioteca_api.service.LoteLivroService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Optional;
@@ -21,19 +33,42 @@ public class LivroController {
     @Autowired
     private LivroService livroService;
 
+    @Autowired
+    private BuscaService buscaService;
+
+    @Autowired
+    private LoteLivroService loteLivroService;
+
     @GetMapping
-    public ResponseEntity<Page<LivroDTO>> listarTodos(
+    public ResponseEntity<Slice<LivroDTO>> listarTodos(
+            @RequestParam(required = false) Long categoriaId,
+            @RequestParam(required = false) Integer anoPublicacao,
+            @RequestParam(required = false) Long autorId,
+            @RequestParam(defaultValue = "EXATA") EstrategiaContagem contagem,
+            @PageableDefault(size = 10, sort = "titulo") Pageable pageable) {
+
+        return ResponseEntity.ok(livroService.buscarComFiltros(categoriaId, anoPublicacao, autorId, contagem, pageable));
+    }
+
+    @GetMapping(params = "cursor")
+    public ResponseEntity<PaginaCursorDTO<LivroDTO>> listarPorCursor(
+            @RequestParam String cursor,
             @RequestParam(required = false) Long categoriaId,
             @RequestParam(required = false) Integer anoPublicacao,
             @RequestParam(required = false) Long autorId,
             @PageableDefault(size = 10, sort = "titulo") Pageable pageable) {
 
-        return ResponseEntity.ok(livroService.buscarComFiltros(categoriaId, anoPublicacao, autorId, pageable));
+        return ResponseEntity.ok(livroService.listarPorCursor(categoriaId, anoPublicacao, autorId, cursor, pageable));
     }
 
     @GetMapping(value = "/{id}")
-    public ResponseEntity<LivroDTO> buscarPorId(@PathVariable Long id) {
-        return ResponseEntity.ok(livroService.buscarPorId(id));
+    public ResponseEntity<LivroDTO> buscarPorId(@PathVariable Long id, WebRequest request) {
+        LivroDTO livro = livroService.buscarPorId(id);
+        VersaoRecurso versao = VersaoRecurso.de(livro);
+        if (request.checkNotModified(versao.etag(), versao.ultimaModificacaoEmMillis())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        return ResponseEntity.ok(livro);
     }
 
     @PostMapping
@@ -41,11 +76,32 @@ public class LivroController {
         return ResponseEntity.status(HttpStatus.CREATED).body(livroService.criar(livroDTO));
     }
 
+    @PostMapping("/lote")
+    public ResponseEntity<ResultadoLoteDTO> criarEmLote(@RequestBody List<LivroDTO> livros) {
+        return ResponseEntity.ok(loteLivroService.criarEmLote(livros));
+    }
+
+    @PutMapping("/lote")
+    public ResponseEntity<ResultadoSincronizacaoDTO> sincronizarEmLote(@RequestBody List<LivroDTO> livros) {
+        return ResponseEntity.ok(loteLivroService.sincronizarEmLote(livros));
+    }
+
     @PutMapping(value = "/{id}")
     public ResponseEntity<LivroDTO> atualizar(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody LivroDTO livroDTO) {
-        return ResponseEntity.ok(livroService.atualizar(id, livroDTO));
+        Long versaoEsperada = VersaoRecurso.versaoExigida(ifMatch, id, () -> VersaoRecurso.de(livroService.buscarPorId(id)));
+        return ResponseEntity.ok(livroService.atualizar(id, livroDTO, versaoEsperada));
+    }
+
+    @PatchMapping(value = "/{id}")
+    public ResponseEntity<LivroDTO> atualizarParcialmente(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody LivroDTO livroDTO) {
+        Long versaoEsperada = VersaoRecurso.versaoExigida(ifMatch, id, () -> VersaoRecurso.de(livroService.buscarPorId(id)));
+        return ResponseEntity.ok(livroService.atualizarParcialmente(id, livroDTO, versaoEsperada));
     }
 
     @DeleteMapping(value = "/{id}")
@@ -62,10 +118,24 @@ public class LivroController {
     @GetMapping("/buscar/paginado")
     public ResponseEntity<Page<LivroDTO>> buscarPorTituloPaginado(
             @RequestParam String titulo,
-            @PageableDefault(size = 10, sort = "titulo") Pageable pageable) {
+            @PageableDefault(size = 10) Pageable pageable) {
         return ResponseEntity.ok(livroService.buscarPorTitulo(titulo, pageable));
     }
 
+    @GetMapping("/buscar/aproximado")
+    public ResponseEntity<List<ResultadoBuscaDTO>> buscarAproximado(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limite) {
+        return ResponseEntity.ok(buscaService.buscarAproximado(q, limite));
+    }
+
+    @GetMapping("/sugestoes")
+    public ResponseEntity<List<SugestaoDTO>> sugerir(
+            @RequestParam String prefixo,
+            @RequestParam(defaultValue = "10") int limite) {
+        return ResponseEntity.ok(buscaService.sugerir(prefixo, limite));
+    }
+
     @GetMapping("/isbn/{isbn}")
     public ResponseEntity<LivroDTO> buscarPorIsbn(@PathVariable String isbn) {
         Optional<LivroDTO> livro = livroService.buscarPorIsbn(isbn);
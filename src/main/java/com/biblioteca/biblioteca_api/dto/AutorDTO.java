@@ -1,12 +1,14 @@
 package com.biblioteca.biblioteca_api.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Past;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 public class AutorDTO {
 
@@ -25,6 +27,12 @@ public class AutorDTO {
 
     private Integer totalLivros;
 
+    @JsonIgnore
+    private Long versao;
+
+    @JsonIgnore
+    private LocalDateTime dataAtualizacao;
+
     public AutorDTO() {
     }
 
@@ -75,4 +83,20 @@ public class AutorDTO {
     public void setTotalLivros(Integer totalLivros) {
         this.totalLivros = totalLivros;
     }
-}
\ No newline at end of file
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+
+    public LocalDateTime getDataAtualizacao() {
+        return dataAtualizacao;
+    }
+
+    public void setDataAtualizacao(LocalDateTime dataAtualizacao) {
+        this.dataAtualizacao = dataAtualizacao;
+    }
+}
@@ -1,8 +1,11 @@
 package com.biblioteca.biblioteca_api.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
+import java.time.LocalDateTime;
+
 public class CategoriaDTO {
 
     private Long id;
@@ -16,6 +19,12 @@ public class CategoriaDTO {
 
     private Integer totalLivros;
 
+    @JsonIgnore
+    private Long versao;
+
+    @JsonIgnore
+    private LocalDateTime dataAtualizacao;
+
     public CategoriaDTO() {
     }
 
@@ -57,4 +66,20 @@ public class CategoriaDTO {
     public void setTotalLivros(Integer totalLivros) {
         this.totalLivros = totalLivros;
     }
-}
\ No newline at end of file
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+
+    public LocalDateTime getDataAtualizacao() {
+        return dataAtualizacao;
+    }
+
+    public void setDataAtualizacao(LocalDateTime dataAtualizacao) {
+        this.dataAtualizacao = dataAtualizacao;
+    }
+}
@@ -0,0 +1,71 @@
+package com.biblioteca.biblioteca_api.dto;
+
+public class EstatisticasCacheDTO {
+
+    private String nome;
+    private long tamanho;
+    private long acertos;
+    private long falhas;
+    private long remocoes;
+    private double taxaAcerto;
+
+    public EstatisticasCacheDTO() {
+    }
+
+    public EstatisticasCacheDTO(String nome, long tamanho, long acertos, long falhas, long remocoes, double taxaAcerto) {
+        this.nome = nome;
+        this.tamanho = tamanho;
+        this.acertos = acertos;
+        this.falhas = falhas;
+        this.remocoes = remocoes;
+        this.taxaAcerto = taxaAcerto;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public void setNome(String nome) {
+        this.nome = nome;
+    }
+
+    public long getTamanho() {
+        return tamanho;
+    }
+
+    public void setTamanho(long tamanho) {
+        this.tamanho = tamanho;
+    }
+
+    public long getAcertos() {
+        return acertos;
+    }
+
+    public void setAcertos(long acertos) {
+        this.acertos = acertos;
+    }
+
+    public long getFalhas() {
+        return falhas;
+    }
+
+    public void setFalhas(long falhas) {
+        this.falhas = falhas;
+    }
+
+    public long getRemocoes() {
+        return remocoes;
+    }
+
+    public void setRemocoes(long remocoes) {
+        this.remocoes = remocoes;
+    }
+
+    public double getTaxaAcerto() {
+        return taxaAcerto;
+    }
+
+    public void setTaxaAcerto(double taxaAcerto) {
+        this.taxaAcerto = taxaAcerto;
+    }
+}
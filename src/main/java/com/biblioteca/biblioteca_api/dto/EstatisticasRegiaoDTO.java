@@ -0,0 +1,71 @@
+package com.biblioteca.biblioteca_api.dto;
+
+public class EstatisticasRegiaoDTO {
+
+    private String regiao;
+    private long tamanho;
+    private long acertos;
+    private long falhas;
+    private long insercoes;
+    private double taxaAcerto;
+
+    public EstatisticasRegiaoDTO() {
+    }
+
+    public EstatisticasRegiaoDTO(String regiao, long tamanho, long acertos, long falhas, long insercoes, double taxaAcerto) {
+        this.regiao = regiao;
+        this.tamanho = tamanho;
+        this.acertos = acertos;
+        this.falhas = falhas;
+        this.insercoes = insercoes;
+        this.taxaAcerto = taxaAcerto;
+    }
+
+    public String getRegiao() {
+        return regiao;
+    }
+
+    public void setRegiao(String regiao) {
+        this.regiao = regiao;
+    }
+
+    public long getTamanho() {
+        return tamanho;
+    }
+
+    public void setTamanho(long tamanho) {
+        this.tamanho = tamanho;
+    }
+
+    public long getAcertos() {
+        return acertos;
+    }
+
+    public void setAcertos(long acertos) {
+        this.acertos = acertos;
+    }
+
+    public long getFalhas() {
+        return falhas;
+    }
+
+    public void setFalhas(long falhas) {
+        this.falhas = falhas;
+    }
+
+    public long getInsercoes() {
+        return insercoes;
+    }
+
+    public void setInsercoes(long insercoes) {
+        this.insercoes = insercoes;
+    }
+
+    public double getTaxaAcerto() {
+        return taxaAcerto;
+    }
+
+    public void setTaxaAcerto(double taxaAcerto) {
+        this.taxaAcerto = taxaAcerto;
+    }
+}
@@ -0,0 +1,7 @@
+package com.biblioteca.biblioteca_api.dto;
+
+public enum EstrategiaContagem {
+    EXATA,
+    ESTIMADA,
+    NENHUMA
+}
@@ -1,11 +1,17 @@
 package com.biblioteca.biblioteca_api.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 
 public class ImportacaoDTO {
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String id;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer indice;
+
     @NotBlank(message = "URL é obrigatória")
     @Pattern(regexp = "^https?://.*", message = "URL deve começar com http:// ou https://")
     private String url;
@@ -32,6 +38,22 @@ public class ImportacaoDTO {
         this.mensagem = mensagem;
     }
 
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Integer getIndice() {
+        return indice;
+    }
+
+    public void setIndice(Integer indice) {
+        this.indice = indice;
+    }
+
     public String getUrl() {
         return url;
     }
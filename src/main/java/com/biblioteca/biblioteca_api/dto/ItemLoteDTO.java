@@ -0,0 +1,61 @@
+package com.biblioteca.biblioteca_api.dto;
+
+public class ItemLoteDTO {
+
+    private int indice;
+    private String isbn;
+    private Long id;
+    private String status;
+    private String mensagem;
+
+    public ItemLoteDTO() {
+    }
+
+    public ItemLoteDTO(int indice, String isbn, Long id, String status, String mensagem) {
+        this.indice = indice;
+        this.isbn = isbn;
+        this.id = id;
+        this.status = status;
+        this.mensagem = mensagem;
+    }
+
+    public int getIndice() {
+        return indice;
+    }
+
+    public void setIndice(int indice) {
+        this.indice = indice;
+    }
+
+    public String getIsbn() {
+        return isbn;
+    }
+
+    public void setIsbn(String isbn) {
+        this.isbn = isbn;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getMensagem() {
+        return mensagem;
+    }
+
+    public void setMensagem(String mensagem) {
+        this.mensagem = mensagem;
+    }
+}
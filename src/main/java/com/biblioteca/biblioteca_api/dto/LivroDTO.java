@@ -1,8 +1,10 @@
 package com.biblioteca.biblioteca_api.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.*;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 public class LivroDTO {
@@ -39,6 +41,9 @@ public class LivroDTO {
     private LocalDateTime dataCadastro;
     private LocalDateTime dataAtualizacao;
 
+    @JsonIgnore
+    private Long versao;
+
     private AutorDTO autor;
     private CategoriaDTO categoria;
 
@@ -62,6 +67,22 @@ public class LivroDTO {
         this.categoria = categoria;
     }
 
+    public LivroDTO(Long id, String titulo, String isbn, Integer anoPublicacao, BigDecimal preco,
+                    String urlOrigem, LocalDateTime dataCadastro, LocalDateTime dataAtualizacao, Long versao,
+                    Long autorId, String autorNome, String autorEmail, LocalDate autorDataNascimento,
+                    Integer autorTotalLivros, Long autorVersao, LocalDateTime autorDataAtualizacao,
+                    Long categoriaId, String categoriaNome, String categoriaDescricao,
+                    Integer categoriaTotalLivros, Long categoriaVersao, LocalDateTime categoriaDataAtualizacao) {
+        this(id, titulo, isbn, anoPublicacao, preco, autorId, categoriaId, urlOrigem, dataCadastro, dataAtualizacao,
+                new AutorDTO(autorId, autorNome, autorEmail, autorDataNascimento, autorTotalLivros),
+                new CategoriaDTO(categoriaId, categoriaNome, categoriaDescricao, categoriaTotalLivros));
+        this.versao = versao;
+        autor.setVersao(autorVersao);
+        autor.setDataAtualizacao(autorDataAtualizacao);
+        categoria.setVersao(categoriaVersao);
+        categoria.setDataAtualizacao(categoriaDataAtualizacao);
+    }
+
     public Long getId() {
         return id;
     }
@@ -142,6 +163,14 @@ public class LivroDTO {
         this.dataAtualizacao = dataAtualizacao;
     }
 
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+
     public AutorDTO getAutor() {
         return autor;
     }
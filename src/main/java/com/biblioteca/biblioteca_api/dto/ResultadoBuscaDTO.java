@@ -0,0 +1,51 @@
+package com.biblioteca.biblioteca_api.dto;
+
+public class ResultadoBuscaDTO {
+
+    private String tipo;
+    private Long id;
+    private String texto;
+    private Double pontuacao;
+
+    public ResultadoBuscaDTO() {
+    }
+
+    public ResultadoBuscaDTO(String tipo, Long id, String texto, Double pontuacao) {
+        this.tipo = tipo;
+        this.id = id;
+        this.texto = texto;
+        this.pontuacao = pontuacao;
+    }
+
+    public String getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(String tipo) {
+        this.tipo = tipo;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTexto() {
+        return texto;
+    }
+
+    public void setTexto(String texto) {
+        this.texto = texto;
+    }
+
+    public Double getPontuacao() {
+        return pontuacao;
+    }
+
+    public void setPontuacao(Double pontuacao) {
+        this.pontuacao = pontuacao;
+    }
+}
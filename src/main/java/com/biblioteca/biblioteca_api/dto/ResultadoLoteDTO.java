@@ -0,0 +1,53 @@
+package com.biblioteca.biblioteca_api.dto;
+
+import java.util.List;
+
+public class ResultadoLoteDTO {
+
+    private int total;
+    private int criados;
+    private int falhas;
+    private List<ItemLoteDTO> itens;
+
+    public ResultadoLoteDTO() {
+    }
+
+    public ResultadoLoteDTO(int total, int criados, int falhas, List<ItemLoteDTO> itens) {
+        this.total = total;
+        this.criados = criados;
+        this.falhas = falhas;
+        this.itens = itens;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getCriados() {
+        return criados;
+    }
+
+    public void setCriados(int criados) {
+        this.criados = criados;
+    }
+
+    public int getFalhas() {
+        return falhas;
+    }
+
+    public void setFalhas(int falhas) {
+        this.falhas = falhas;
+    }
+
+    public List<ItemLoteDTO> getItens() {
+        return itens;
+    }
+
+    public void setItens(List<ItemLoteDTO> itens) {
+        this.itens = itens;
+    }
+}
@@ -0,0 +1,74 @@
+package com.biblioteca.biblioteca_api.dto;
+
+import java.util.List;
+
+public class ResultadoSincronizacaoDTO {
+
+    private int total;
+    private int inseridos;
+    private int atualizados;
+    private int inalterados;
+    private int falhas;
+    private List<ItemLoteDTO> erros;
+
+    public ResultadoSincronizacaoDTO() {
+    }
+
+    public ResultadoSincronizacaoDTO(int total, int inseridos, int atualizados, int inalterados, int falhas,
+                                     List<ItemLoteDTO> erros) {
+        this.total = total;
+        this.inseridos = inseridos;
+        this.atualizados = atualizados;
+        this.inalterados = inalterados;
+        this.falhas = falhas;
+        this.erros = erros;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getInseridos() {
+        return inseridos;
+    }
+
+    public void setInseridos(int inseridos) {
+        this.inseridos = inseridos;
+    }
+
+    public int getAtualizados() {
+        return atualizados;
+    }
+
+    public void setAtualizados(int atualizados) {
+        this.atualizados = atualizados;
+    }
+
+    public int getInalterados() {
+        return inalterados;
+    }
+
+    public void setInalterados(int inalterados) {
+        this.inalterados = inalterados;
+    }
+
+    public int getFalhas() {
+        return falhas;
+    }
+
+    public void setFalhas(int falhas) {
+        this.falhas = falhas;
+    }
+
+    public List<ItemLoteDTO> getErros() {
+        return erros;
+    }
+
+    public void setErros(List<ItemLoteDTO> erros) {
+        this.erros = erros;
+    }
+}
@@ -0,0 +1,41 @@
+package com.biblioteca.biblioteca_api.dto;
+
+public class SugestaoDTO {
+
+    private String tipo;
+    private Long id;
+    private String texto;
+
+    public SugestaoDTO() {
+    }
+
+    public SugestaoDTO(String tipo, Long id, String texto) {
+        this.tipo = tipo;
+        this.id = id;
+        this.texto = texto;
+    }
+
+    public String getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(String tipo) {
+        this.tipo = tipo;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTexto() {
+        return texto;
+    }
+
+    public void setTexto(String texto) {
+        this.texto = texto;
+    }
+}
@@ -0,0 +1,8 @@
+package com.biblioteca.biblioteca_api.exception;
+
+public class PrecondicaoFalhouException extends RuntimeException {
+
+    public PrecondicaoFalhouException(String message) {
+        super(message);
+    }
+}
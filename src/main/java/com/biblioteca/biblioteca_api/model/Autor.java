@@ -4,28 +4,50 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "autores")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "autores")
+@Table(name = "autores", uniqueConstraints = {
+        @UniqueConstraint(name = Autor.RESTRICAO_EMAIL_UNICO, columnNames = "email")
+})
 public class Autor {
 
+    public static final String RESTRICAO_EMAIL_UNICO = "uk_autores_email";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "autores_seq")
+    @SequenceGenerator(name = "autores_seq", sequenceName = "autores_seq", allocationSize = 50)
     private Long id;
     @NotBlank(message = "Nome é obrigatório")
     @Column(name = "nome", length = 200, nullable = false)
     private String nome;
     @NotBlank(message = "Email é obrigatório")
     @Email(message = "Email deve ter formato válido")
-    @Column(name = "email", length = 200, nullable = false, unique = true)
+    @Column(name = "email", length = 200, nullable = false)
     private String email;
     @NotNull(message = "Data de nascimento é obrigatório")
     @Column(name = "data_nascimento", nullable = false)
     private LocalDate dataNascimento;
+    @ColumnDefault("0")
+    @Column(name = "total_livros", nullable = false, insertable = false, updatable = false)
+    private Integer totalLivros = 0;
+    @ColumnDefault("CURRENT_TIMESTAMP")
+    @Column(name = "data_atualizacao", nullable = false)
+    private LocalDateTime dataAtualizacao;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "versao", nullable = false)
+    private Long versao;
 
     @OneToMany(mappedBy = "autor", fetch = FetchType.LAZY)
     private List<Livro> livros = new ArrayList<>();
@@ -45,6 +67,12 @@ public class Autor {
 
     }
 
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        dataAtualizacao = LocalDateTime.now();
+    }
+
     public Autor() {
     }
 
@@ -86,6 +114,30 @@ public class Autor {
         this.dataNascimento = dataNascimento;
     }
 
+    public Integer getTotalLivros() {
+        return totalLivros;
+    }
+
+    public void setTotalLivros(Integer totalLivros) {
+        this.totalLivros = totalLivros;
+    }
+
+    public LocalDateTime getDataAtualizacao() {
+        return dataAtualizacao;
+    }
+
+    public void setDataAtualizacao(LocalDateTime dataAtualizacao) {
+        this.dataAtualizacao = dataAtualizacao;
+    }
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+
     public List<Livro> getLivros() {
         return livros;
     }
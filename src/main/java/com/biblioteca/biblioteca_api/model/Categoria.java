@@ -2,23 +2,45 @@ package com.biblioteca.biblioteca_api.model;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
 @Entity
-@Table(name = "categorias")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "categorias")
+@Table(name = "categorias", uniqueConstraints = {
+        @UniqueConstraint(name = Categoria.RESTRICAO_NOME_UNICO, columnNames = "nome")
+})
 public class Categoria {
 
+    public static final String RESTRICAO_NOME_UNICO = "uk_categorias_nome";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "categorias_seq")
+    @SequenceGenerator(name = "categorias_seq", sequenceName = "categorias_seq", allocationSize = 50)
     private Long id;
     @NotBlank(message = "Nome é obrigatório")
-    @Column(name = "nome", length = 100, nullable = false, unique = true)
+    @Column(name = "nome", length = 100, nullable = false)
     private String nome;
     @Column(name = "descricao", length = 500)
     private String descricao;
+    @ColumnDefault("0")
+    @Column(name = "total_livros", nullable = false, insertable = false, updatable = false)
+    private Integer totalLivros = 0;
+    @ColumnDefault("CURRENT_TIMESTAMP")
+    @Column(name = "data_atualizacao", nullable = false)
+    private LocalDateTime dataAtualizacao;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "versao", nullable = false)
+    private Long versao;
 
     @OneToMany(mappedBy = "categoria", fetch = FetchType.LAZY)
     private List<Livro> livros = new ArrayList<>();
@@ -32,6 +54,12 @@ public class Categoria {
         livro.setCategoria(null);
     }
 
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        dataAtualizacao = LocalDateTime.now();
+    }
+
     public Categoria(Long id, String nome, String descricao) {
         this.id = id;
         this.nome = nome;
@@ -65,6 +93,30 @@ public class Categoria {
         this.nome = nome;
     }
 
+    public Integer getTotalLivros() {
+        return totalLivros;
+    }
+
+    public void setTotalLivros(Integer totalLivros) {
+        this.totalLivros = totalLivros;
+    }
+
+    public LocalDateTime getDataAtualizacao() {
+        return dataAtualizacao;
+    }
+
+    public void setDataAtualizacao(LocalDateTime dataAtualizacao) {
+        this.dataAtualizacao = dataAtualizacao;
+    }
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+
     public List<Livro> getLivros() {
         return livros;
     }
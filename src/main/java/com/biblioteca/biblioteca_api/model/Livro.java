@@ -5,24 +5,37 @@ import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Objects;
 
 @Entity
-@Table(name = "livros")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "livros")
+@Table(name = "livros", uniqueConstraints = {
+        @UniqueConstraint(name = Livro.RESTRICAO_ISBN_UNICO, columnNames = "isbn")
+}, indexes = {
+        @Index(name = "idx_livros_categoria_ano_titulo", columnList = "categoria_id, ano_publicacao, titulo"),
+        @Index(name = "idx_livros_autor_ano_titulo", columnList = "autor_id, ano_publicacao, titulo")
+})
 public class Livro {
 
+    public static final String RESTRICAO_ISBN_UNICO = "uk_livros_isbn";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "livros_seq")
+    @SequenceGenerator(name = "livros_seq", sequenceName = "livros_seq", allocationSize = 50)
     private Long id;
     @NotBlank(message = "Título é obrigatório")
     @Column(name = "titulo", length = 200, nullable = false)
     private String titulo;
     @NotBlank(message = "ISBN é obrigatório")
     @Pattern(regexp = "^(\\d{10}|\\d{13})$", message = "ISBN deve ter exatamente 10 ou 13 dígitos numéricos")
-    @Column(name = "isbn", length = 13, nullable = false, unique = true)
+    @Column(name = "isbn", length = 13, nullable = false)
     private String isbn;
     @NotNull(message = "Ano de publicação é obrigatório")
     @Column(name = "ano_publicacao", nullable = false)
@@ -51,6 +64,11 @@ public class Livro {
     @Column(name = "data_atualizacao")
     private LocalDateTime dataAtualizacao;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "versao", nullable = false)
+    private Long versao;
+
     @PrePersist
     protected void onCreate() {
         dataCadastro = LocalDateTime.now();
@@ -156,6 +174,14 @@ public class Livro {
         this.dataAtualizacao = dataAtualizacao;
     }
 
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (o == null || getClass() != o.getClass()) return false;
@@ -0,0 +1,40 @@
+package com.biblioteca.biblioteca_api.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+import java.util.Optional;
+
+@Repository
+public class AtualizacaoCondicional {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional
+    public <T> Optional<T> executar(Class<T> entidade, Long id, Long versao, Map<String, Object> campos) {
+        T atual = entityManager.find(entidade, id, versao == null ? LockModeType.PESSIMISTIC_WRITE : LockModeType.NONE);
+        if (atual == null) {
+            return Optional.empty();
+        }
+        BeanWrapper propriedades = PropertyAccessorFactory.forBeanPropertyAccess(atual);
+        if (versao != null && !versao.equals(propriedades.getPropertyValue("versao"))) {
+            return Optional.empty();
+        }
+
+        propriedades.setPropertyValues(campos);
+        try {
+            entityManager.flush();
+        } catch (OptimisticLockException e) {
+            return Optional.empty();
+        }
+        return Optional.of(atual);
+    }
+}
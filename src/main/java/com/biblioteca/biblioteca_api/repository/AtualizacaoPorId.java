@@ -0,0 +1,40 @@
+package com.biblioteca.biblioteca_api.repository;
+
+import com.biblioteca.biblioteca_api.util.AposCommit;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+
+@Repository
+public class AtualizacaoPorId {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public int executar(Class<?> entidade, Long id, String sql, Object... parametros) {
+        SharedSessionContractImplementor sessao = entityManager.unwrap(SharedSessionContractImplementor.class);
+        CacheImplementor cache = sessao.getFactory().getCache();
+        String[] espacos = (String[]) sessao.getFactory().getMappingMetamodel()
+                .getEntityDescriptor(entidade).getQuerySpaces();
+
+        cache.getTimestampsCache().preInvalidate(espacos, sessao);
+        cache.evictEntityData(entidade, id);
+        int linhas = sessao.doReturningWork(conexao -> {
+            try (PreparedStatement comando = conexao.prepareStatement(sql)) {
+                for (int i = 0; i < parametros.length; i++) {
+                    comando.setObject(i + 1, parametros[i]);
+                }
+                return comando.executeUpdate();
+            }
+        });
+        AposCommit.aoConcluir(() -> {
+            cache.evictEntityData(entidade, id);
+            cache.getTimestampsCache().invalidate(espacos, sessao);
+        });
+        return linhas;
+    }
+}
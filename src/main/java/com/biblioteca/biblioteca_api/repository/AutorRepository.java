@@ -4,14 +4,28 @@ import com.biblioteca.biblioteca_api.model.Autor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface AutorRepository extends JpaRepository<Autor, Long> {
+public interface AutorRepository extends JpaRepository<Autor, Long>, AutorRepositoryCustom {
 
     Optional<Autor> findByEmail(String email);
 
+    @Modifying
+    @Query("UPDATE Autor a SET a.totalLivros = (SELECT COUNT(l) FROM Livro l WHERE l.autor.id = a.id), " +
+            "a.dataAtualizacao = LOCAL DATETIME")
+    int recalcularTotalLivros();
+
+    @Query("SELECT a.id, a.nome FROM Autor a")
+    List<Object[]> listarNomes();
+
+    @Query("SELECT new com.biblioteca.biblioteca_api.repository.VersaoRecurso(a.id, a.versao, a.totalLivros, a.dataAtualizacao) " +
+            "FROM Autor a WHERE a.id = :id")
+    Optional<VersaoRecurso> buscarVersao(@Param("id") Long id);
 }
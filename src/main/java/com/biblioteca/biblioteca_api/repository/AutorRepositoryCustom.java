@@ -0,0 +1,6 @@
+package com.biblioteca.biblioteca_api.repository;
+
+public interface AutorRepositoryCustom {
+
+    int ajustarTotalLivros(Long autorId, int delta);
+}
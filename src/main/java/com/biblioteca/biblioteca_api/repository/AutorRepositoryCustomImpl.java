@@ -0,0 +1,17 @@
+package com.biblioteca.biblioteca_api.repository;
+
+import com.biblioteca.biblioteca_api.model.Autor;
+import org.springframework.beans.factory.annotation.Autowired;
+
+public class AutorRepositoryCustomImpl implements AutorRepositoryCustom {
+
+    @Autowired
+    private AtualizacaoPorId atualizacaoPorId;
+
+    @Override
+    public int ajustarTotalLivros(Long autorId, int delta) {
+        return atualizacaoPorId.executar(Autor.class, autorId,
+                "UPDATE autores SET total_livros = total_livros + ?, data_atualizacao = LOCALTIMESTAMP WHERE id = ?",
+                delta, autorId);
+    }
+}
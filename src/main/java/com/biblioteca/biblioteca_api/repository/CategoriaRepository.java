@@ -1,23 +1,41 @@
 package com.biblioteca.biblioteca_api.repository;
 
 import com.biblioteca.biblioteca_api.model.Categoria;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface CategoriaRepository extends JpaRepository<Categoria, Long> {
+public interface CategoriaRepository extends JpaRepository<Categoria, Long>, CategoriaRepositoryCustom {
 
     Optional<Categoria> findByNome(String nome);
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "consultas-categorias")
+    })
     @Query("SELECT c FROM Categoria c WHERE LOWER(c.nome) LIKE LOWER(CONCAT('%', :nome, '%'))")
     Page<Categoria> buscarPorNomeIgnorandoCase(@Param("nome") String nome, Pageable pageable);
 
-    @Query("SELECT COUNT(l) FROM Livro l WHERE l.categoria.id = :categoriaId")
-    Long contarLivrosPorCategoria(@Param("categoriaId") Long categoriaId);
+    @Modifying
+    @Query("UPDATE Categoria c SET c.totalLivros = (SELECT COUNT(l) FROM Livro l WHERE l.categoria.id = c.id), " +
+            "c.dataAtualizacao = LOCAL DATETIME")
+    int recalcularTotalLivros();
+
+    @Query("SELECT c.id, c.nome FROM Categoria c")
+    List<Object[]> listarNomes();
+
+    @Query("SELECT new com.biblioteca.biblioteca_api.repository.VersaoRecurso(c.id, c.versao, c.totalLivros, c.dataAtualizacao) " +
+            "FROM Categoria c WHERE c.id = :id")
+    Optional<VersaoRecurso> buscarVersao(@Param("id") Long id);
 }
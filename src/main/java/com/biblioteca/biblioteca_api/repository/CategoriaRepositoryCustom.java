@@ -0,0 +1,6 @@
+package com.biblioteca.biblioteca_api.repository;
+
+public interface CategoriaRepositoryCustom {
+
+    int ajustarTotalLivros(Long categoriaId, int delta);
+}
@@ -0,0 +1,17 @@
+package com.biblioteca.biblioteca_api.repository;
+
+import com.biblioteca.biblioteca_api.model.Categoria;
+import org.springframework.beans.factory.annotation.Autowired;
+
+public class CategoriaRepositoryCustomImpl implements CategoriaRepositoryCustom {
+
+    @Autowired
+    private AtualizacaoPorId atualizacaoPorId;
+
+    @Override
+    public int ajustarTotalLivros(Long categoriaId, int delta) {
+        return atualizacaoPorId.executar(Categoria.class, categoriaId,
+                "UPDATE categorias SET total_livros = total_livros + ?, data_atualizacao = LOCALTIMESTAMP WHERE id = ?",
+                delta, categoriaId);
+    }
+}
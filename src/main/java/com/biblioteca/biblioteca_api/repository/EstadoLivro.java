@@ -0,0 +1,16 @@
+package com.biblioteca.biblioteca_api.repository;
+
+import com.biblioteca.biblioteca_api.dto.LivroDTO;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record EstadoLivro(Long id, Long versao, String titulo, String isbn, Integer anoPublicacao, BigDecimal preco,
+                          String urlOrigem, Long autorId, Long categoriaId, LocalDateTime dataCadastro) {
+
+    public static EstadoLivro de(LivroDTO livro) {
+        return new EstadoLivro(livro.getId(), livro.getVersao(), livro.getTitulo(), livro.getIsbn(),
+                livro.getAnoPublicacao(), livro.getPreco(), livro.getUrlOrigem(), livro.getAutor().getId(),
+                livro.getCategoria().getId(), livro.getDataCadastro());
+    }
+}
@@ -1,5 +1,6 @@
 package com.biblioteca.biblioteca_api.repository;
 
+import com.biblioteca.biblioteca_api.dto.LivroDTO;
 import com.biblioteca.biblioteca_api.model.Livro;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -9,30 +10,50 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface LivroRepository extends JpaRepository<Livro, Long> {
+public interface LivroRepository extends JpaRepository<Livro, Long>, LivroRepositoryCustom {
+
+    String PROJECAO_LIVRO_DTO = "l.id, l.titulo, l.isbn, l.anoPublicacao, l.preco, " +
+            "l.urlOrigem, l.dataCadastro, l.dataAtualizacao, l.versao, " +
+            "a.id, a.nome, a.email, a.dataNascimento, a.totalLivros, a.versao, a.dataAtualizacao, " +
+            "c.id, c.nome, c.descricao, c.totalLivros, c.versao, c.dataAtualizacao";
 
     Optional<Livro> findByIsbn(String isbn);
 
-    @Query("SELECT l FROM Livro l WHERE " +
-            "(:categoriaId IS NULL OR l.categoria.id = :categoriaId) AND " +
-            "(:anoPublicacao IS NULL OR l.anoPublicacao = :anoPublicacao) AND " +
-            "(:autorId IS NULL OR l.autor.id = :autorId)")
-    Page<Livro> buscarComFiltros(@Param("categoriaId") Long categoriaId,
-                                 @Param("anoPublicacao") Integer anoPublicacao,
-                                 @Param("autorId") Long autorId,
-                                 Pageable pageable);
+    List<Livro> findByIsbnIn(Collection<String> isbns);
 
-    boolean existsByIsbn(String isbn);
+    @Query("SELECT new com.biblioteca.biblioteca_api.dto.LivroDTO(" + PROJECAO_LIVRO_DTO + ") " +
+            "FROM Livro l JOIN l.autor a JOIN l.categoria c WHERE l.id IN :ids")
+    List<LivroDTO> projetarPorIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT l.id, l.titulo FROM Livro l")
+    List<Object[]> listarTitulos();
+
+    @Query("SELECT new com.biblioteca.biblioteca_api.repository.EstadoLivro(l.id, l.versao, l.titulo, l.isbn, " +
+            "l.anoPublicacao, l.preco, l.urlOrigem, l.autor.id, l.categoria.id, l.dataCadastro) " +
+            "FROM Livro l WHERE l.id = :id")
+    Optional<EstadoLivro> buscarEstado(@Param("id") Long id);
 
-    List<Livro> findByTituloContainingIgnoreCase(String titulo);
+    @Query("SELECT l.id, l.isbn FROM Livro l")
+    List<Object[]> listarIsbns();
 
-    Page<Livro> findByTituloContainingIgnoreCase(String titulo, Pageable pageable);
+    @Query(value = "SELECT new com.biblioteca.biblioteca_api.dto.LivroDTO(" + PROJECAO_LIVRO_DTO + ") " +
+            "FROM Livro l JOIN l.autor a JOIN l.categoria c WHERE a.id = :autorId",
+            countQuery = "SELECT COUNT(l) FROM Livro l WHERE l.autor.id = :autorId")
+    Page<LivroDTO> projetarPorAutor(@Param("autorId") Long autorId, Pageable pageable);
+
+    @Query(value = "SELECT new com.biblioteca.biblioteca_api.dto.LivroDTO(" + PROJECAO_LIVRO_DTO + ") " +
+            "FROM Livro l JOIN l.autor a JOIN l.categoria c WHERE c.id = :categoriaId",
+            countQuery = "SELECT COUNT(l) FROM Livro l WHERE l.categoria.id = :categoriaId")
+    Page<LivroDTO> projetarPorCategoria(@Param("categoriaId") Long categoriaId, Pageable pageable);
+
+    boolean existsByIsbn(String isbn);
 
-    Long countByAutorId(Long autorId);
+    boolean existsByAutorId(Long autorId);
 
-    Long countByCategoriaId(Long categoriaId);
+    boolean existsByCategoriaId(Long categoriaId);
 }
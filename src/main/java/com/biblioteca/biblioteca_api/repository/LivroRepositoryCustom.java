@@ -0,0 +1,23 @@
+package com.biblioteca.biblioteca_api.repository;
+
+import com.biblioteca.biblioteca_api.dto.LivroDTO;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.Map;
+
+public interface LivroRepositoryCustom {
+
+    Page<LivroDTO> projetarComFiltros(Long categoriaId, Integer anoPublicacao, Long autorId, Pageable pageable);
+
+    Slice<LivroDTO> projetarFatiaComFiltros(Long categoriaId, Integer anoPublicacao, Long autorId, Pageable pageable);
+
+    long contarComFiltros(Long categoriaId, Integer anoPublicacao, Long autorId);
+
+    List<LivroDTO> projetarAposCursor(Long categoriaId, Integer anoPublicacao, Long autorId,
+                                      PosicaoCursor posicao, int limite);
+
+    int atualizarSeVersao(Long id, Long versao, Map<String, Object> colunas);
+}
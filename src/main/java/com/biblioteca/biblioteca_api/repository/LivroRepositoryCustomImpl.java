@@ -0,0 +1,197 @@
+package com.biblioteca.biblioteca_api.repository;
+
+import com.biblioteca.biblioteca_api.dto.LivroDTO;
+import com.biblioteca.biblioteca_api.model.Autor;
+import com.biblioteca.biblioteca_api.model.Categoria;
+import com.biblioteca.biblioteca_api.model.Livro;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CompoundSelection;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+public class LivroRepositoryCustomImpl implements LivroRepositoryCustom {
+
+    private static final String REGIAO_CONSULTAS = "consultas-livros";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private AtualizacaoPorId atualizacaoPorId;
+
+    @Override
+    public Page<LivroDTO> projetarComFiltros(Long categoriaId, Integer anoPublicacao, Long autorId, Pageable pageable) {
+        List<LivroDTO> livros = listarComFiltros(categoriaId, anoPublicacao, autorId, pageable, pageable.getPageSize());
+        return PageableExecutionUtils.getPage(livros, pageable,
+                () -> contarComFiltros(categoriaId, anoPublicacao, autorId));
+    }
+
+    @Override
+    public Slice<LivroDTO> projetarFatiaComFiltros(Long categoriaId, Integer anoPublicacao, Long autorId, Pageable pageable) {
+        List<LivroDTO> livros = listarComFiltros(categoriaId, anoPublicacao, autorId, pageable, pageable.getPageSize() + 1);
+        boolean temProxima = pageable.isPaged() && livros.size() > pageable.getPageSize();
+        return new SliceImpl<>(temProxima ? livros.subList(0, pageable.getPageSize()) : livros, pageable, temProxima);
+    }
+
+    @Override
+    public long contarComFiltros(Long categoriaId, Integer anoPublicacao, Long autorId) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Livro> livro = query.from(Livro.class);
+
+        query.select(cb.count(livro));
+        query.where(filtros(cb, livro, categoriaId, anoPublicacao, autorId).toArray(new Predicate[0]));
+
+        return emCache(entityManager.createQuery(query)).getSingleResult();
+    }
+
+    @Override
+    public List<LivroDTO> projetarAposCursor(Long categoriaId, Integer anoPublicacao, Long autorId,
+                                             PosicaoCursor posicao, int limite) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<LivroDTO> query = cb.createQuery(LivroDTO.class);
+        Root<Livro> livro = query.from(Livro.class);
+        Join<Livro, Autor> autor = livro.join("autor");
+        Join<Livro, Categoria> categoria = livro.join("categoria");
+
+        query.select(projecao(cb, livro, autor, categoria));
+
+        List<Predicate> predicados = filtros(cb, livro, categoriaId, anoPublicacao, autorId);
+        boolean ascendente = posicao.direcao().isAscending();
+        Path<Long> id = livro.get("id");
+        Path<Comparable<Object>> chave = livro.get(posicao.campo());
+        if (posicao.id() != null) {
+            predicados.add(aposPosicao(cb, chave, id, posicao, ascendente));
+        }
+        query.where(predicados.toArray(new Predicate[0]));
+
+        List<Order> ordenacao = new ArrayList<>();
+        if (!"id".equals(posicao.campo())) {
+            ordenacao.add(ascendente ? cb.asc(chave) : cb.desc(chave));
+        }
+        ordenacao.add(ascendente ? cb.asc(id) : cb.desc(id));
+        query.orderBy(ordenacao);
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limite)
+                .getResultList();
+    }
+
+    @Override
+    public int atualizarSeVersao(Long id, Long versao, Map<String, Object> colunas) {
+        StringJoiner atribuicoes = new StringJoiner(", ");
+        List<Object> parametros = new ArrayList<>();
+        colunas.forEach((coluna, valor) -> {
+            atribuicoes.add(coluna + " = ?");
+            parametros.add(valor);
+        });
+        parametros.add(id);
+        parametros.add(versao);
+        return atualizacaoPorId.executar(Livro.class, id,
+                "UPDATE livros SET " + atribuicoes + ", versao = versao + 1 WHERE id = ? AND versao = ?",
+                parametros.toArray());
+    }
+
+    private List<LivroDTO> listarComFiltros(Long categoriaId, Integer anoPublicacao, Long autorId,
+                                            Pageable pageable, int limite) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<LivroDTO> query = cb.createQuery(LivroDTO.class);
+        Root<Livro> livro = query.from(Livro.class);
+        Join<Livro, Autor> autor = livro.join("autor");
+        Join<Livro, Categoria> categoria = livro.join("categoria");
+
+        query.select(projecao(cb, livro, autor, categoria));
+        query.where(filtros(cb, livro, categoriaId, anoPublicacao, autorId).toArray(new Predicate[0]));
+        query.orderBy(ordenacao(cb, livro, pageable.getSort()));
+
+        TypedQuery<LivroDTO> consulta = emCache(entityManager.createQuery(query));
+        if (pageable.isPaged()) {
+            consulta.setFirstResult((int) pageable.getOffset());
+            consulta.setMaxResults(limite);
+        }
+        return consulta.getResultList();
+    }
+
+    private <T> TypedQuery<T> emCache(TypedQuery<T> consulta) {
+        return consulta.setHint(HibernateHints.HINT_CACHEABLE, true)
+                .setHint(HibernateHints.HINT_CACHE_REGION, REGIAO_CONSULTAS);
+    }
+
+    private CompoundSelection<LivroDTO> projecao(CriteriaBuilder cb, Root<Livro> livro,
+                                                 Join<Livro, Autor> autor, Join<Livro, Categoria> categoria) {
+        return cb.construct(LivroDTO.class,
+                livro.get("id"), livro.get("titulo"), livro.get("isbn"), livro.get("anoPublicacao"),
+                livro.get("preco"), livro.get("urlOrigem"), livro.get("dataCadastro"), livro.get("dataAtualizacao"),
+                livro.get("versao"),
+                autor.get("id"), autor.get("nome"), autor.get("email"), autor.get("dataNascimento"),
+                autor.get("totalLivros"), autor.get("versao"), autor.get("dataAtualizacao"),
+                categoria.get("id"), categoria.get("nome"), categoria.get("descricao"), categoria.get("totalLivros"),
+                categoria.get("versao"), categoria.get("dataAtualizacao"));
+    }
+
+    private List<Predicate> filtros(CriteriaBuilder cb, Root<Livro> livro,
+                                    Long categoriaId, Integer anoPublicacao, Long autorId) {
+        List<Predicate> predicados = new ArrayList<>();
+        if (categoriaId != null) {
+            predicados.add(cb.equal(livro.get("categoria").get("id"), categoriaId));
+        }
+        if (anoPublicacao != null) {
+            predicados.add(cb.equal(livro.get("anoPublicacao"), anoPublicacao));
+        }
+        if (autorId != null) {
+            predicados.add(cb.equal(livro.get("autor").get("id"), autorId));
+        }
+        return predicados;
+    }
+
+    private List<Order> ordenacao(CriteriaBuilder cb, Root<Livro> livro, Sort sort) {
+        List<Order> ordenacao = new ArrayList<>();
+        for (Sort.Order ordem : sort) {
+            Path<?> caminho = caminho(livro, ordem.getProperty());
+            ordenacao.add(ordem.isAscending() ? cb.asc(caminho) : cb.desc(caminho));
+        }
+        return ordenacao;
+    }
+
+    private Path<?> caminho(From<?, ?> origem, String propriedade) {
+        Path<?> caminho = origem;
+        for (String parte : propriedade.split("\\.")) {
+            caminho = caminho.get(parte);
+        }
+        return caminho;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Predicate aposPosicao(CriteriaBuilder cb, Expression<Comparable<Object>> chave, Path<Long> id,
+                                  PosicaoCursor posicao, boolean ascendente) {
+        Predicate aposId = ascendente ? cb.greaterThan(id, posicao.id()) : cb.lessThan(id, posicao.id());
+        if ("id".equals(posicao.campo())) {
+            return aposId;
+        }
+        Comparable<Object> valor = (Comparable<Object>) posicao.valor();
+        Predicate aposValor = ascendente ? cb.greaterThan(chave, valor) : cb.lessThan(chave, valor);
+        return cb.or(aposValor, cb.and(cb.equal(chave, valor), aposId));
+    }
+}
@@ -0,0 +1,59 @@
+package com.biblioteca.biblioteca_api.repository;
+
+import com.biblioteca.biblioteca_api.dto.LivroDTO;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+public record PosicaoCursor(String campo, Sort.Direction direcao, Comparable<?> valor, Long id) {
+
+    public static final Set<String> CAMPOS_ORDENAVEIS = Set.of("titulo", "anoPublicacao", "preco", "dataCadastro", "id");
+
+    private static final String SEPARADOR = "|";
+
+    public static PosicaoCursor apos(LivroDTO livro, String campo, Sort.Direction direcao) {
+        Comparable<?> valor = switch (campo) {
+            case "titulo" -> livro.getTitulo();
+            case "anoPublicacao" -> livro.getAnoPublicacao();
+            case "preco" -> livro.getPreco();
+            case "dataCadastro" -> livro.getDataCadastro();
+            default -> livro.getId();
+        };
+        return new PosicaoCursor(campo, direcao, valor, livro.getId());
+    }
+
+    public static PosicaoCursor decodificar(String cursor) {
+        try {
+            String texto = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] partes = texto.split(Pattern.quote(SEPARADOR), 4);
+            if (partes.length != 4 || !CAMPOS_ORDENAVEIS.contains(partes[0])) {
+                throw new IllegalArgumentException("Cursor inválido: " + cursor);
+            }
+            String campo = partes[0];
+            Sort.Direction direcao = Sort.Direction.valueOf(partes[1]);
+            Long id = Long.valueOf(partes[2]);
+            Comparable<?> valor = switch (campo) {
+                case "titulo" -> partes[3];
+                case "anoPublicacao" -> Integer.valueOf(partes[3]);
+                case "preco" -> new BigDecimal(partes[3]);
+                case "dataCadastro" -> LocalDateTime.parse(partes[3]);
+                default -> id;
+            };
+            return new PosicaoCursor(campo, direcao, valor, id);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursor inválido: " + cursor, e);
+        }
+    }
+
+    public String codificar() {
+        String valorTexto = valor instanceof BigDecimal decimal ? decimal.toPlainString() : String.valueOf(valor);
+        String texto = campo + SEPARADOR + direcao.name() + SEPARADOR + id + SEPARADOR + valorTexto;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.getBytes(StandardCharsets.UTF_8));
+    }
+}
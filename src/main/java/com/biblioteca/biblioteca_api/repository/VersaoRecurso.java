@@ -0,0 +1,62 @@
+package com.biblioteca.biblioteca_api.repository;
+
+import com.biblioteca.biblioteca_api.dto.LivroDTO;
+import com.biblioteca.biblioteca_api.exception.PrecondicaoFalhouException;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public record VersaoRecurso(String etag, Long versao, LocalDateTime ultimaModificacao) {
+
+    public VersaoRecurso(Long id, Long versao, Integer totalLivros, LocalDateTime dataAtualizacao) {
+        this(etag(id, versao, totalLivros), versao, dataAtualizacao);
+    }
+
+    public VersaoRecurso(Long id, Long versao, LocalDateTime dataAtualizacao,
+                         Long autorVersao, Integer autorTotalLivros, LocalDateTime autorDataAtualizacao,
+                         Long categoriaVersao, Integer categoriaTotalLivros, LocalDateTime categoriaDataAtualizacao) {
+        this(etag(id, versao, autorVersao, autorTotalLivros, categoriaVersao, categoriaTotalLivros), versao,
+                maisRecente(dataAtualizacao, autorDataAtualizacao, categoriaDataAtualizacao));
+    }
+
+    public static VersaoRecurso de(LivroDTO livro) {
+        return new VersaoRecurso(livro.getId(), livro.getVersao(), livro.getDataAtualizacao(),
+                livro.getAutor().getVersao(), livro.getAutor().getTotalLivros(), livro.getAutor().getDataAtualizacao(),
+                livro.getCategoria().getVersao(), livro.getCategoria().getTotalLivros(),
+                livro.getCategoria().getDataAtualizacao());
+    }
+
+    public long ultimaModificacaoEmMillis() {
+        return ultimaModificacao == null ? -1 : ultimaModificacao.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    public static Long versaoExigida(String ifMatch, Long id, Supplier<VersaoRecurso> atual) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        VersaoRecurso versaoAtual = atual.get();
+        for (String etag : ifMatch.split(",")) {
+            if (etag.trim().equals(versaoAtual.etag())) {
+                return versaoAtual.versao();
+            }
+        }
+        throw new PrecondicaoFalhouException("If-Match não corresponde à versão atual do recurso com ID: " + id);
+    }
+
+    private static String etag(Object... partes) {
+        return Stream.of(partes).map(String::valueOf).collect(Collectors.joining("-", "\"", "\""));
+    }
+
+    private static LocalDateTime maisRecente(LocalDateTime... datas) {
+        LocalDateTime maisRecente = null;
+        for (LocalDateTime data : datas) {
+            if (data != null && (maisRecente == null || data.isAfter(maisRecente))) {
+                maisRecente = data;
+            }
+        }
+        return maisRecente;
+    }
+}
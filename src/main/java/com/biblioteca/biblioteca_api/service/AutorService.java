@@ -2,17 +2,29 @@ package com.biblioteca.biblioteca_api.service;
 
 import com.biblioteca.biblioteca_api.dto.AutorDTO;
 import com.biblioteca.biblioteca_api.dto.LivroDTO;
+import com.biblioteca.biblioteca_api.exception.PrecondicaoFalhouException;
 import com.biblioteca.biblioteca_api.model.Autor;
-import com.biblioteca.biblioteca_api.model.Livro;
+import com.biblioteca.biblioteca_api.repository.AtualizacaoCondicional;
 import com.biblioteca.biblioteca_api.repository.AutorRepository;
+import com.biblioteca.biblioteca_api.repository.LivroRepository;
+import com.biblioteca.biblioteca_api.repository.VersaoRecurso;
+import com.biblioteca.biblioteca_api.util.RestricaoViolada;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class AutorService {
@@ -20,6 +32,27 @@ public class AutorService {
     @Autowired
     private AutorRepository autorRepository;
 
+    @Autowired
+    private LivroRepository livroRepository;
+
+    @Autowired
+    private BuscaService buscaService;
+
+    @Autowired
+    private CacheLivroService cacheLivroService;
+
+    @Autowired
+    private CacheConsultasService cacheConsultasService;
+
+    @Autowired
+    private ReferenciaService referenciaService;
+
+    @Autowired
+    private AtualizacaoCondicional atualizacaoCondicional;
+
+    @Autowired
+    private Validator validator;
+
     public Page<AutorDTO> listarTodos(Pageable pageable){
         Page<Autor> autores = autorRepository.findAll(pageable);
         return autores.map(this::converterParaDTO);
@@ -31,44 +64,117 @@ public class AutorService {
         return converterParaDTO(autor);
     }
 
+    public VersaoRecurso buscarVersao(Long id) {
+        return autorRepository.buscarVersao(id)
+                .orElseThrow(() -> new EntityNotFoundException("Autor não encontrado com ID: " + id));
+    }
+
     public AutorDTO criar(AutorDTO autorDTO){
         validarEmailUnico(autorDTO.getEmail(), null);
 
         Autor autor = converterParaEntidade(autorDTO);
         Autor autorSalvo = autorRepository.save(autor);
+        buscaService.indexarAutor(autorSalvo.getId(), autorSalvo.getNome());
+        referenciaService.publicarAutor(autorSalvo);
         return converterParaDTO(autorSalvo);
     }
 
-    public AutorDTO atualizar(Long id, AutorDTO autorDTO) {
-        Autor autorExistente = autorRepository.findById(id)
+    @Transactional
+    public AutorDTO atualizar(Long id, AutorDTO autorDTO, Long versaoEsperada) {
+        return alterar(id, autorDTO, versaoEsperada, false);
+    }
+
+    @Transactional
+    public AutorDTO atualizarParcialmente(Long id, AutorDTO alteracoes, Long versaoEsperada) {
+        return alterar(id, alteracoes, versaoEsperada, true);
+    }
+
+    private AutorDTO alterar(Long id, AutorDTO alteracoes, Long versaoEsperada, boolean parcial) {
+        AutorDTO atual = referenciaService.buscarAutor(id)
                 .orElseThrow(() -> new EntityNotFoundException("Autor não encontrado com ID: " + id));
 
-        validarEmailUnico(autorDTO.getEmail(), id);
+        AutorDTO autorDTO = new AutorDTO(id,
+                valor(alteracoes.getNome(), atual.getNome(), parcial),
+                valor(alteracoes.getEmail(), atual.getEmail(), parcial),
+                valor(alteracoes.getDataNascimento(), atual.getDataNascimento(), parcial),
+                atual.getTotalLivros());
+        if (parcial) {
+            validar(autorDTO);
+        }
 
-        autorExistente.setNome(autorDTO.getNome());
-        autorExistente.setEmail(autorDTO.getEmail());
-        autorExistente.setDataNascimento(autorDTO.getDataNascimento());
+        Map<String, Object> campos = new LinkedHashMap<>();
+        if (!parcial || alteracoes.getNome() != null) {
+            campos.put("nome", autorDTO.getNome());
+        }
+        if (!parcial || alteracoes.getEmail() != null) {
+            campos.put("email", autorDTO.getEmail());
+        }
+        if (!parcial || alteracoes.getDataNascimento() != null) {
+            campos.put("dataNascimento", autorDTO.getDataNascimento());
+        }
+        campos.put("dataAtualizacao", LocalDateTime.now());
+        Autor autor = gravarAlteracoes(id, versaoEsperada, campos, autorDTO.getEmail());
 
-        Autor autorAtualizado = autorRepository.save(autorExistente);
-        return converterParaDTO(autorAtualizado);
+        if (campos.containsKey("nome")) {
+            buscaService.indexarAutor(id, autor.getNome());
+        }
+        Map<String, Object> publicados = new LinkedHashMap<>(campos);
+        publicados.put("versao", autor.getVersao());
+        referenciaService.publicarAlteracoesDoAutor(id, publicados);
+        cacheLivroService.invalidarPorAutor(id);
+        cacheConsultasService.invalidarOrdenadasPor("autor");
+        return converterParaDTO(autor);
     }
 
     public void deletar(Long id) {
         Autor autor = autorRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Autor não encontrado com ID: " + id));
 
-        if (!autor.getLivros().isEmpty()) {
+        if (livroRepository.existsByAutorId(id)) {
             throw new IllegalStateException("Não é possível deletar autor que possui livros cadastrados");
         }
 
         autorRepository.delete(autor);
+        buscaService.removerAutor(id);
+        referenciaService.removerAutor(id);
     }
 
-    public List<LivroDTO> listarLivrosDoAutor(Long autorId){
-        Autor autor = autorRepository.findById(autorId)
-                .orElseThrow(() -> new EntityNotFoundException("Autor não encontrado com ID: " + autorId));
+    public Page<LivroDTO> listarLivrosDoAutor(Long autorId, Pageable pageable){
+        if (!autorRepository.existsById(autorId)) {
+            throw new EntityNotFoundException("Autor não encontrado com ID: " + autorId);
+        }
 
-        return autor.getLivros().stream().map(this::converterLivroParaDTO).toList();
+        return livroRepository.projetarPorAutor(autorId, pageable);
+    }
+
+    private Autor gravarAlteracoes(Long id, Long versaoEsperada, Map<String, Object> campos, String email) {
+        Optional<Autor> alterado;
+        try {
+            alterado = atualizacaoCondicional.executar(Autor.class, id, versaoEsperada, campos);
+        } catch (DataIntegrityViolationException e) {
+            if (RestricaoViolada.envolve(e, Autor.RESTRICAO_EMAIL_UNICO)) {
+                throw new IllegalArgumentException("Já existe um autor com este email: " + email);
+            }
+            throw e;
+        }
+        if (alterado.isEmpty()) {
+            if (versaoEsperada != null) {
+                throw new PrecondicaoFalhouException("Autor foi alterado desde a versão informada: " + id);
+            }
+            throw new EntityNotFoundException("Autor não encontrado com ID: " + id);
+        }
+        return alterado.get();
+    }
+
+    private static <T> T valor(T informado, T atual, boolean parcial) {
+        return parcial && informado == null ? atual : informado;
+    }
+
+    private void validar(AutorDTO autorDTO) {
+        Set<ConstraintViolation<AutorDTO>> violacoes = validator.validate(autorDTO);
+        if (!violacoes.isEmpty()) {
+            throw new ConstraintViolationException(violacoes);
+        }
     }
 
     private void validarEmailUnico(String email, Long id) {
@@ -84,11 +190,7 @@ public class AutorService {
         autorDTO.setNome(autor.getNome());
         autorDTO.setEmail(autor.getEmail());
         autorDTO.setDataNascimento(autor.getDataNascimento());
-        try {
-            autorDTO.setTotalLivros(autor.getLivros() != null ? autor.getLivros().size() : 0);
-        } catch (Exception e) {
-            autorDTO.setTotalLivros(0);
-        }
+        autorDTO.setTotalLivros(autor.getTotalLivros());
         return autorDTO;
     }
 
@@ -99,17 +201,4 @@ public class AutorService {
         autor.setDataNascimento(dto.getDataNascimento());
         return autor;
     }
-
-    private LivroDTO converterLivroParaDTO(Livro livro){
-        LivroDTO livroDTO = new LivroDTO();
-        livroDTO.setId(livro.getId());
-        livroDTO.setTitulo(livro.getTitulo());
-        livroDTO.setIsbn(livro.getIsbn());
-        livroDTO.setAnoPublicacao(livro.getAnoPublicacao());
-        livroDTO.setPreco(livro.getPreco());
-        livroDTO.setUrlOrigem(livro.getUrlOrigem());
-        livroDTO.setDataCadastro(livro.getDataCadastro());
-        livroDTO.setDataAtualizacao(livro.getDataAtualizacao());
-        return livroDTO;
-    }
 }
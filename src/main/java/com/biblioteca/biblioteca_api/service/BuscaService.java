@@ -0,0 +1,171 @@
+package com.biblioteca.biblioteca_api.service;
+
+import com.biblioteca.biblioteca_api.busca.IndiceInvertido;
+import com.biblioteca.biblioteca_api.busca.IndiceTrigramas;
+import com.biblioteca.biblioteca_api.busca.TrieSugestoes;
+import com.biblioteca.biblioteca_api.dto.ResultadoBuscaDTO;
+import com.biblioteca.biblioteca_api.dto.SugestaoDTO;
+import com.biblioteca.biblioteca_api.repository.AutorRepository;
+import com.biblioteca.biblioteca_api.repository.CategoriaRepository;
+import com.biblioteca.biblioteca_api.repository.LivroRepository;
+import com.biblioteca.biblioteca_api.util.AposCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+@Service
+public class BuscaService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BuscaService.class);
+
+    private static final double SIMILARIDADE_MINIMA = 0.5;
+    private static final int LIMITE_MAXIMO = 50;
+
+    private static final String LIVRO = "LIVRO";
+    private static final String AUTOR = "AUTOR";
+    private static final String CATEGORIA = "CATEGORIA";
+
+    private final Object alteracoes = new Object();
+    private volatile Indices indices = new Indices();
+    private List<Consumer<Indices>> alteracoesDuranteReconstrucao;
+
+    @Autowired
+    private LivroRepository livroRepository;
+
+    @Autowired
+    private AutorRepository autorRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruirIndices() {
+        synchronized (alteracoes) {
+            alteracoesDuranteReconstrucao = new ArrayList<>();
+        }
+        Indices novos = new Indices();
+        try {
+            for (Object[] linha : livroRepository.listarTitulos()) {
+                novos.indexarLivro((Long) linha[0], (String) linha[1]);
+            }
+            for (Object[] linha : autorRepository.listarNomes()) {
+                novos.indexarAutor((Long) linha[0], (String) linha[1]);
+            }
+            for (Object[] linha : categoriaRepository.listarNomes()) {
+                novos.sugestoes().indexar(CATEGORIA, (Long) linha[0], (String) linha[1]);
+            }
+            synchronized (alteracoes) {
+                alteracoesDuranteReconstrucao.forEach(alteracao -> alteracao.accept(novos));
+                indices = novos;
+            }
+        } finally {
+            synchronized (alteracoes) {
+                alteracoesDuranteReconstrucao = null;
+            }
+        }
+        logger.info("Índices de busca reconstruídos com {} livros e {} autores ({} sugestões)",
+                novos.titulos().tamanho(), novos.trigramasAutores().tamanho(), novos.sugestoes().tamanho());
+    }
+
+    public void indexarLivro(Long id, String titulo) {
+        alterarAposCommit(atuais -> atuais.indexarLivro(id, titulo));
+    }
+
+    public void removerLivro(Long id) {
+        alterarAposCommit(atuais -> {
+            atuais.titulos().remover(id);
+            atuais.trigramasTitulos().remover(id);
+            atuais.sugestoes().remover(LIVRO, id);
+        });
+    }
+
+    public void indexarAutor(Long id, String nome) {
+        alterarAposCommit(atuais -> atuais.indexarAutor(id, nome));
+    }
+
+    public void removerAutor(Long id) {
+        alterarAposCommit(atuais -> {
+            atuais.trigramasAutores().remover(id);
+            atuais.sugestoes().remover(AUTOR, id);
+        });
+    }
+
+    public void indexarCategoria(Long id, String nome) {
+        alterarAposCommit(atuais -> atuais.sugestoes().indexar(CATEGORIA, id, nome));
+    }
+
+    public void removerCategoria(Long id) {
+        alterarAposCommit(atuais -> atuais.sugestoes().remover(CATEGORIA, id));
+    }
+
+    public List<Long> buscarIdsPorTitulo(String titulo) {
+        return indices.titulos().buscar(titulo);
+    }
+
+    public List<ResultadoBuscaDTO> buscarAproximado(String consulta, int limite) {
+        validarLimite(limite);
+
+        List<ResultadoBuscaDTO> resultados = new ArrayList<>();
+        Indices atuais = indices;
+        for (IndiceTrigramas.Similaridade similar : atuais.trigramasTitulos().buscar(consulta, SIMILARIDADE_MINIMA, limite)) {
+            resultados.add(new ResultadoBuscaDTO(LIVRO, similar.id(), similar.texto(), similar.similaridade()));
+        }
+        for (IndiceTrigramas.Similaridade similar : atuais.trigramasAutores().buscar(consulta, SIMILARIDADE_MINIMA, limite)) {
+            resultados.add(new ResultadoBuscaDTO(AUTOR, similar.id(), similar.texto(), similar.similaridade()));
+        }
+
+        resultados.sort(Comparator.comparing(ResultadoBuscaDTO::getPontuacao).reversed());
+        return resultados.size() > limite ? new ArrayList<>(resultados.subList(0, limite)) : resultados;
+    }
+
+    public List<SugestaoDTO> sugerir(String prefixo, int limite) {
+        validarLimite(limite);
+        return indices.sugestoes().sugerir(prefixo, limite).stream()
+                .map(sugestao -> new SugestaoDTO(sugestao.tipo(), sugestao.id(), sugestao.texto()))
+                .toList();
+    }
+
+    private void alterarAposCommit(Consumer<Indices> alteracao) {
+        AposCommit.executar(() -> {
+            synchronized (alteracoes) {
+                alteracao.accept(indices);
+                if (alteracoesDuranteReconstrucao != null) {
+                    alteracoesDuranteReconstrucao.add(alteracao);
+                }
+            }
+        });
+    }
+
+    private void validarLimite(int limite) {
+        if (limite < 1 || limite > LIMITE_MAXIMO) {
+            throw new IllegalArgumentException("Limite deve estar entre 1 e " + LIMITE_MAXIMO);
+        }
+    }
+
+    private record Indices(IndiceInvertido titulos, IndiceTrigramas trigramasTitulos,
+                           IndiceTrigramas trigramasAutores, TrieSugestoes sugestoes) {
+
+        Indices() {
+            this(new IndiceInvertido(), new IndiceTrigramas(), new IndiceTrigramas(), new TrieSugestoes());
+        }
+
+        void indexarLivro(Long id, String titulo) {
+            titulos.indexar(id, titulo);
+            trigramasTitulos.indexar(id, titulo);
+            sugestoes.indexar(LIVRO, id, titulo);
+        }
+
+        void indexarAutor(Long id, String nome) {
+            trigramasAutores.indexar(id, nome);
+            sugestoes.indexar(AUTOR, id, nome);
+        }
+    }
+}
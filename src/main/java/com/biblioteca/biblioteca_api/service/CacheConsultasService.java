@@ -0,0 +1,261 @@
+package com.biblioteca.biblioteca_api.service;
+
+import com.biblioteca.biblioteca_api.busca.NormalizadorTexto;
+import com.biblioteca.biblioteca_api.config.CacheConsultasConfig;
+import com.biblioteca.biblioteca_api.dto.EstatisticasCacheDTO;
+import com.biblioteca.biblioteca_api.dto.EstrategiaContagem;
+import com.biblioteca.biblioteca_api.dto.LivroDTO;
+import com.biblioteca.biblioteca_api.util.AposCommit;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class CacheConsultasService {
+
+    private final Cache<ChaveFiltros, ResultadoFiltros> porFiltros;
+    private final Cache<String, List<Long>> porTitulo;
+    private final Map<FiltroIndexado, Set<ChaveFiltros>> chavesPorFiltro = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> consultasPorTermo = new ConcurrentHashMap<>();
+    private final AtomicLong geracao = new AtomicLong();
+
+    public CacheConsultasService(CacheConsultasConfig config) {
+        this.porFiltros = Caffeine.newBuilder()
+                .maximumWeight(config.getIdsMaximos())
+                .weigher((ChaveFiltros chave, ResultadoFiltros resultado) -> resultado.ids().size() + 1)
+                .expireAfterWrite(config.getExpiracao())
+                .evictionListener((ChaveFiltros chave, ResultadoFiltros resultado, RemovalCause causa) ->
+                        desindexar(chavesPorFiltro, chave.filtroIndexado(), chave))
+                .recordStats()
+                .build();
+        this.porTitulo = Caffeine.newBuilder()
+                .maximumWeight(config.getIdsMaximos())
+                .weigher((String chave, List<Long> ids) -> ids.size() + 1)
+                .expireAfterWrite(config.getExpiracao())
+                .evictionListener((String consulta, List<Long> ids, RemovalCause causa) ->
+                        desindexar(consultasPorTermo, primeiroTermo(consulta), consulta))
+                .recordStats()
+                .build();
+    }
+
+    public long geracaoAtual() {
+        return geracao.get();
+    }
+
+    public ResultadoFiltros buscarPorFiltros(ChaveFiltros chave) {
+        return porFiltros.getIfPresent(chave);
+    }
+
+    public void armazenarPorFiltros(ChaveFiltros chave, Slice<LivroDTO> fatia, long geracaoDaLeitura) {
+        if (geracao.get() == geracaoDaLeitura) {
+            ResultadoFiltros resultado = ResultadoFiltros.de(fatia);
+            porFiltros.asMap().compute(chave, (k, anterior) -> {
+                indexar(chavesPorFiltro, chave.filtroIndexado(), chave);
+                return resultado;
+            });
+        }
+    }
+
+    public Optional<List<Long>> buscarPorTitulo(String titulo) {
+        return Optional.ofNullable(porTitulo.getIfPresent(NormalizadorTexto.normalizar(titulo)));
+    }
+
+    public void armazenarPorTitulo(String titulo, List<Long> ids, long geracaoDaLeitura) {
+        if (geracao.get() == geracaoDaLeitura) {
+            String consulta = NormalizadorTexto.normalizar(titulo);
+            List<Long> copia = List.copyOf(ids);
+            porTitulo.asMap().compute(consulta, (k, anterior) -> {
+                indexar(consultasPorTermo, primeiroTermo(consulta), consulta);
+                return copia;
+            });
+        }
+    }
+
+    public void invalidarLivro(Long categoriaId, Long autorId, Integer anoPublicacao, String titulo) {
+        List<String> tokensTitulo = NormalizadorTexto.tokenizar(titulo);
+        List<FiltroIndexado> filtros = List.of(FiltroIndexado.NENHUM,
+                new FiltroIndexado("categoriaId", categoriaId),
+                new FiltroIndexado("autorId", autorId),
+                new FiltroIndexado("anoPublicacao", anoPublicacao));
+        List<String> prefixos = prefixos(tokensTitulo);
+        invalidarAgoraEAposCommit(() -> {
+            for (FiltroIndexado filtro : filtros) {
+                for (ChaveFiltros chave : copiar(chavesPorFiltro.get(filtro))) {
+                    if (chave.inclui(categoriaId, autorId, anoPublicacao)) {
+                        removerPorFiltros(chave);
+                    }
+                }
+            }
+            for (String prefixo : prefixos) {
+                for (String consulta : copiar(consultasPorTermo.get(prefixo))) {
+                    if (corresponde(consulta, tokensTitulo)) {
+                        removerPorTitulo(consulta);
+                    }
+                }
+            }
+        });
+    }
+
+    public void invalidarOrdenadasPor(String associacao) {
+        invalidarAgoraEAposCommit(() -> {
+            for (ChaveFiltros chave : List.copyOf(porFiltros.asMap().keySet())) {
+                if (chave.ordenacao().contains(associacao + ".")) {
+                    removerPorFiltros(chave);
+                }
+            }
+        });
+    }
+
+    public void invalidarTudo() {
+        invalidarAgoraEAposCommit(() -> {
+            List.copyOf(porFiltros.asMap().keySet()).forEach(this::removerPorFiltros);
+            List.copyOf(porTitulo.asMap().keySet()).forEach(this::removerPorTitulo);
+        });
+    }
+
+    public List<EstatisticasCacheDTO> estatisticas() {
+        return List.of(estatisticas("consultas-por-filtros", porFiltros), estatisticas("consultas-por-titulo", porTitulo));
+    }
+
+    static boolean corresponde(String consulta, List<String> tokensTitulo) {
+        if (consulta.isEmpty()) {
+            return true;
+        }
+        for (String termo : consulta.split(" ")) {
+            if (tokensTitulo.stream().noneMatch(token -> token.startsWith(termo))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void removerPorFiltros(ChaveFiltros chave) {
+        porFiltros.asMap().computeIfPresent(chave, (k, resultado) -> {
+            desindexar(chavesPorFiltro, chave.filtroIndexado(), chave);
+            return null;
+        });
+    }
+
+    private void removerPorTitulo(String consulta) {
+        porTitulo.asMap().computeIfPresent(consulta, (k, ids) -> {
+            desindexar(consultasPorTermo, primeiroTermo(consulta), consulta);
+            return null;
+        });
+    }
+
+    private static String primeiroTermo(String consulta) {
+        int espaco = consulta.indexOf(' ');
+        return espaco < 0 ? consulta : consulta.substring(0, espaco);
+    }
+
+    private static List<String> prefixos(List<String> tokens) {
+        List<String> prefixos = new ArrayList<>();
+        prefixos.add("");
+        for (String token : tokens) {
+            for (int tamanho = 1; tamanho <= token.length(); tamanho++) {
+                prefixos.add(token.substring(0, tamanho));
+            }
+        }
+        return prefixos;
+    }
+
+    private static <K, V> void indexar(Map<K, Set<V>> indice, K chave, V valor) {
+        indice.compute(chave, (k, valores) -> {
+            Set<V> atualizados = valores != null ? valores : ConcurrentHashMap.newKeySet();
+            atualizados.add(valor);
+            return atualizados;
+        });
+    }
+
+    private static <K, V> void desindexar(Map<K, Set<V>> indice, K chave, V valor) {
+        indice.computeIfPresent(chave, (k, valores) -> {
+            valores.remove(valor);
+            return valores.isEmpty() ? null : valores;
+        });
+    }
+
+    private static <V> List<V> copiar(Collection<V> valores) {
+        return valores == null ? List.of() : List.copyOf(valores);
+    }
+
+    private void invalidarAgoraEAposCommit(Runnable invalidacao) {
+        geracao.incrementAndGet();
+        invalidacao.run();
+        AposCommit.aoConcluir(() -> {
+            geracao.incrementAndGet();
+            invalidacao.run();
+        });
+    }
+
+    private EstatisticasCacheDTO estatisticas(String nome, Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        return new EstatisticasCacheDTO(nome, cache.estimatedSize(), stats.hitCount(), stats.missCount(),
+                stats.evictionCount(), stats.hitRate());
+    }
+
+    public record ChaveFiltros(Long categoriaId, Integer anoPublicacao, Long autorId, EstrategiaContagem contagem,
+                               long deslocamento, int tamanho, String ordenacao) {
+
+        public static ChaveFiltros de(Long categoriaId, Integer anoPublicacao, Long autorId,
+                                      EstrategiaContagem contagem, Pageable pageable) {
+            return new ChaveFiltros(categoriaId, anoPublicacao, autorId, contagem,
+                    pageable.isPaged() ? pageable.getOffset() : -1,
+                    pageable.isPaged() ? pageable.getPageSize() : -1,
+                    pageable.getSort().toString());
+        }
+
+        FiltroIndexado filtroIndexado() {
+            if (categoriaId != null) {
+                return new FiltroIndexado("categoriaId", categoriaId);
+            }
+            if (autorId != null) {
+                return new FiltroIndexado("autorId", autorId);
+            }
+            if (anoPublicacao != null) {
+                return new FiltroIndexado("anoPublicacao", anoPublicacao);
+            }
+            return FiltroIndexado.NENHUM;
+        }
+
+        boolean inclui(Long categoriaDoLivro, Long autorDoLivro, Integer anoDoLivro) {
+            return (categoriaId == null || Objects.equals(categoriaId, categoriaDoLivro))
+                    && (autorId == null || Objects.equals(autorId, autorDoLivro))
+                    && (anoPublicacao == null || Objects.equals(anoPublicacao, anoDoLivro));
+        }
+    }
+
+    record FiltroIndexado(String campo, Object valor) {
+
+        static final FiltroIndexado NENHUM = new FiltroIndexado(null, null);
+    }
+
+    public record ResultadoFiltros(List<Long> ids, long total, boolean temProxima) {
+
+        static ResultadoFiltros de(Slice<LivroDTO> fatia) {
+            List<Long> ids = fatia.getContent().stream().map(LivroDTO::getId).toList();
+            long total = fatia instanceof Page<LivroDTO> pagina ? pagina.getTotalElements() : -1;
+            return new ResultadoFiltros(ids, total, fatia.hasNext());
+        }
+
+        public Slice<LivroDTO> paraFatia(List<LivroDTO> conteudo, Pageable pageable) {
+            return total >= 0 ? new PageImpl<>(conteudo, pageable, total) : new SliceImpl<>(conteudo, pageable, temProxima);
+        }
+    }
+}
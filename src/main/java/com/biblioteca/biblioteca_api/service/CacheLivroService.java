@@ -0,0 +1,162 @@
+package com.biblioteca.biblioteca_api.service;
+
+import com.biblioteca.biblioteca_api.config.CacheLivrosConfig;
+import com.biblioteca.biblioteca_api.dto.EstatisticasCacheDTO;
+import com.biblioteca.biblioteca_api.dto.LivroDTO;
+import com.biblioteca.biblioteca_api.util.AposCommit;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class CacheLivroService {
+
+    private final Cache<Long, LivroDTO> porId;
+    private final Cache<String, Long> porIsbn;
+    private final Map<Long, Set<Long>> idsPorAutor = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> idsPorCategoria = new ConcurrentHashMap<>();
+    private final AtomicLong geracao = new AtomicLong();
+
+    public CacheLivroService(CacheLivrosConfig config) {
+        this.porId = Caffeine.newBuilder()
+                .maximumSize(config.getTamanhoMaximo())
+                .expireAfterWrite(config.getExpiracao())
+                .evictionListener((Long id, LivroDTO livro, RemovalCause causa) -> desindexar(id, livro))
+                .recordStats()
+                .build();
+        this.porIsbn = Caffeine.newBuilder()
+                .maximumSize(config.getTamanhoMaximo())
+                .expireAfterWrite(config.getExpiracao())
+                .recordStats()
+                .build();
+    }
+
+    public long geracaoAtual() {
+        return geracao.get();
+    }
+
+    public LivroDTO buscarPorId(Long id) {
+        return porId.getIfPresent(id);
+    }
+
+    public LivroDTO buscarPorIsbn(String isbn) {
+        Long id = porIsbn.getIfPresent(isbn);
+        LivroDTO livro = id != null ? porId.asMap().get(id) : null;
+        return livro != null && isbn.equals(livro.getIsbn()) ? livro : null;
+    }
+
+    public void armazenar(LivroDTO livro, long geracaoDaLeitura) {
+        if (geracao.get() != geracaoDaLeitura) {
+            return;
+        }
+        porId.asMap().compute(livro.getId(), (id, anterior) -> {
+            desindexar(id, anterior);
+            indexar(idsPorAutor, livro.getAutorId(), id);
+            indexar(idsPorCategoria, livro.getCategoriaId(), id);
+            return livro;
+        });
+        porIsbn.put(livro.getIsbn(), livro.getId());
+    }
+
+    public void invalidarLivro(Long id, String isbn) {
+        invalidarAgoraEAoConcluir(() -> {
+            LivroDTO anterior = remover(id);
+            if (anterior != null) {
+                porIsbn.invalidate(anterior.getIsbn());
+            }
+            if (isbn != null) {
+                porIsbn.invalidate(isbn);
+            }
+        });
+    }
+
+    public void invalidarPorAutor(Long autorId) {
+        invalidarAgoraEAoConcluir(() -> removerIndexados(idsPorAutor.get(autorId)));
+    }
+
+    public void invalidarPorCategoria(Long categoriaId) {
+        invalidarAgoraEAoConcluir(() -> removerIndexados(idsPorCategoria.get(categoriaId)));
+    }
+
+    public void invalidarTudo() {
+        invalidarAgoraEAoConcluir(() -> {
+            removerIndexados(porId.asMap().keySet());
+            porIsbn.invalidateAll();
+        });
+    }
+
+    public List<EstatisticasCacheDTO> estatisticas() {
+        return List.of(estatisticas("livros-por-id", porId), estatisticas("livros-por-isbn", porIsbn));
+    }
+
+    private void invalidarAgoraEAoConcluir(Runnable invalidacao) {
+        geracao.incrementAndGet();
+        invalidacao.run();
+        AposCommit.aoConcluir(() -> {
+            geracao.incrementAndGet();
+            invalidacao.run();
+        });
+    }
+
+    private void removerIndexados(Set<Long> ids) {
+        if (ids == null) {
+            return;
+        }
+        for (Long id : List.copyOf(ids)) {
+            remover(id);
+        }
+    }
+
+    private LivroDTO remover(Long id) {
+        LivroDTO[] removido = new LivroDTO[1];
+        porId.asMap().computeIfPresent(id, (chave, livro) -> {
+            desindexar(chave, livro);
+            removido[0] = livro;
+            return null;
+        });
+        return removido[0];
+    }
+
+    private void desindexar(Long id, LivroDTO livro) {
+        if (id == null || livro == null) {
+            return;
+        }
+        desindexar(idsPorAutor, livro.getAutorId(), id);
+        desindexar(idsPorCategoria, livro.getCategoriaId(), id);
+    }
+
+    private static void indexar(Map<Long, Set<Long>> indice, Long chave, Long id) {
+        if (chave == null) {
+            return;
+        }
+        indice.compute(chave, (k, ids) -> {
+            Set<Long> atualizados = ids != null ? ids : ConcurrentHashMap.newKeySet();
+            atualizados.add(id);
+            return atualizados;
+        });
+    }
+
+    private static void desindexar(Map<Long, Set<Long>> indice, Long chave, Long id) {
+        if (chave == null) {
+            return;
+        }
+        indice.computeIfPresent(chave, (k, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private EstatisticasCacheDTO estatisticas(String nome, Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        return new EstatisticasCacheDTO(nome, cache.estimatedSize(), stats.hitCount(), stats.missCount(),
+                stats.evictionCount(), stats.hitRate());
+    }
+}
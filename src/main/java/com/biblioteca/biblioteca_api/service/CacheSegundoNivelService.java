@@ -0,0 +1,50 @@
+package com.biblioteca.biblioteca_api.service;
+
+import com.biblioteca.biblioteca_api.config.CacheSegundoNivelConfig;
+import com.biblioteca.biblioteca_api.dto.EstatisticasRegiaoDTO;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.cache.CacheManager;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class CacheSegundoNivelService {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManagerSegundoNivel;
+
+    public List<EstatisticasRegiaoDTO> estatisticas() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<EstatisticasRegiaoDTO> estatisticas = new ArrayList<>();
+        for (String regiao : cacheManagerSegundoNivel.getCacheNames()) {
+            if (CacheSegundoNivelConfig.REGIAO_TIMESTAMPS.equals(regiao)) {
+                continue;
+            }
+            CacheRegionStatistics regiaoStats = statistics.getCacheRegionStatistics(regiao);
+            if (regiaoStats == null) {
+                continue;
+            }
+            long acertos = regiaoStats.getHitCount();
+            long falhas = regiaoStats.getMissCount();
+            long consultas = acertos + falhas;
+            estatisticas.add(new EstatisticasRegiaoDTO(regiao, tamanho(regiao), acertos, falhas,
+                    regiaoStats.getPutCount(), consultas == 0 ? 0 : (double) acertos / consultas));
+        }
+        return estatisticas;
+    }
+
+    private long tamanho(String regiao) {
+        return cacheManagerSegundoNivel.getCache(regiao)
+                .unwrap(com.github.benmanes.caffeine.cache.Cache.class)
+                .estimatedSize();
+    }
+}
@@ -2,18 +2,29 @@ package com.biblioteca.biblioteca_api.service;
 
 import com.biblioteca.biblioteca_api.dto.CategoriaDTO;
 import com.biblioteca.biblioteca_api.dto.LivroDTO;
+import com.biblioteca.biblioteca_api.exception.PrecondicaoFalhouException;
 import com.biblioteca.biblioteca_api.model.Categoria;
-import com.biblioteca.biblioteca_api.model.Livro;
+import com.biblioteca.biblioteca_api.repository.AtualizacaoCondicional;
 import com.biblioteca.biblioteca_api.repository.CategoriaRepository;
+import com.biblioteca.biblioteca_api.repository.LivroRepository;
+import com.biblioteca.biblioteca_api.repository.VersaoRecurso;
+import com.biblioteca.biblioteca_api.util.RestricaoViolada;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @Transactional
@@ -22,6 +33,27 @@ public class CategoriaService {
     @Autowired
     private CategoriaRepository categoriaRepository;
 
+    @Autowired
+    private LivroRepository livroRepository;
+
+    @Autowired
+    private BuscaService buscaService;
+
+    @Autowired
+    private CacheLivroService cacheLivroService;
+
+    @Autowired
+    private CacheConsultasService cacheConsultasService;
+
+    @Autowired
+    private ReferenciaService referenciaService;
+
+    @Autowired
+    private AtualizacaoCondicional atualizacaoCondicional;
+
+    @Autowired
+    private Validator validator;
+
     public Page<CategoriaDTO> listarTodos(Pageable pageable) {
         return categoriaRepository.findAll(pageable)
                 .map(this::converterParaDTO);
@@ -33,38 +65,79 @@ public class CategoriaService {
         return converterParaDTO(categoria);
     }
 
+    public VersaoRecurso buscarVersao(Long id) {
+        return categoriaRepository.buscarVersao(id)
+                .orElseThrow(() -> new EntityNotFoundException("Categoria não encontrada com ID: " + id));
+    }
+
     public CategoriaDTO criar(CategoriaDTO categoriaDTO) {
         Categoria categoria = converterParaEntidade(categoriaDTO);
         Categoria categoriaSalva = categoriaRepository.save(categoria);
+        buscaService.indexarCategoria(categoriaSalva.getId(), categoriaSalva.getNome());
+        referenciaService.publicarCategoria(categoriaSalva);
         return converterParaDTO(categoriaSalva);
     }
 
-    public CategoriaDTO atualizar(Long id, CategoriaDTO categoriaDTO) {
-        Categoria categoriaExistente = categoriaRepository.findById(id)
+    public CategoriaDTO atualizar(Long id, CategoriaDTO categoriaDTO, Long versaoEsperada) {
+        return alterar(id, categoriaDTO, versaoEsperada, false);
+    }
+
+    public CategoriaDTO atualizarParcialmente(Long id, CategoriaDTO alteracoes, Long versaoEsperada) {
+        return alterar(id, alteracoes, versaoEsperada, true);
+    }
+
+    private CategoriaDTO alterar(Long id, CategoriaDTO alteracoes, Long versaoEsperada, boolean parcial) {
+        CategoriaDTO atual = referenciaService.buscarCategoria(id)
                 .orElseThrow(() -> new EntityNotFoundException("Categoria não encontrada com ID: " + id));
 
-        categoriaExistente.setNome(categoriaDTO.getNome());
-        categoriaExistente.setDescricao(categoriaDTO.getDescricao());
+        CategoriaDTO categoriaDTO = new CategoriaDTO(id,
+                valor(alteracoes.getNome(), atual.getNome(), parcial),
+                valor(alteracoes.getDescricao(), atual.getDescricao(), parcial),
+                atual.getTotalLivros());
+        if (parcial) {
+            validar(categoriaDTO);
+        }
+
+        Map<String, Object> campos = new LinkedHashMap<>();
+        if (!parcial || alteracoes.getNome() != null) {
+            campos.put("nome", categoriaDTO.getNome());
+        }
+        if (!parcial || alteracoes.getDescricao() != null) {
+            campos.put("descricao", categoriaDTO.getDescricao());
+        }
+        campos.put("dataAtualizacao", LocalDateTime.now());
+        Categoria categoria = gravarAlteracoes(id, versaoEsperada, campos, categoriaDTO.getNome());
 
-        Categoria categoriaAtualizada = categoriaRepository.save(categoriaExistente);
-        return converterParaDTO(categoriaAtualizada);
+        if (campos.containsKey("nome")) {
+            buscaService.indexarCategoria(id, categoria.getNome());
+        }
+        Map<String, Object> publicados = new LinkedHashMap<>(campos);
+        publicados.put("versao", categoria.getVersao());
+        referenciaService.publicarAlteracoesDaCategoria(id, publicados);
+        cacheLivroService.invalidarPorCategoria(id);
+        cacheConsultasService.invalidarOrdenadasPor("categoria");
+        return converterParaDTO(categoria);
     }
 
     public void deletar(Long id) {
         Categoria categoria = categoriaRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Categoria não encontrada com ID: " + id));
 
-        if (!categoria.getLivros().isEmpty()) {
+        if (livroRepository.existsByCategoriaId(id)) {
             throw new IllegalStateException("Não é possível deletar categoria que possui livros cadastrados");
         }
 
         categoriaRepository.delete(categoria);
+        buscaService.removerCategoria(id);
+        referenciaService.removerCategoria(id);
     }
 
-    public List<LivroDTO> listarLivrosDaCategoria(Long categoriaId) {
-        Categoria categoria = categoriaRepository.findById(categoriaId)
-                .orElseThrow(() -> new EntityNotFoundException("Categoria não encontrada com ID: " + categoriaId));
-        return categoria.getLivros().stream().map(this::converterLivroParaDTO).toList();
+    @Transactional(readOnly = true)
+    public Page<LivroDTO> listarLivrosDaCategoria(Long categoriaId, Pageable pageable) {
+        if (!categoriaRepository.existsById(categoriaId)) {
+            throw new EntityNotFoundException("Categoria não encontrada com ID: " + categoriaId);
+        }
+        return livroRepository.projetarPorCategoria(categoriaId, pageable);
     }
 
     public Page<CategoriaDTO> buscarPorNome(String nome, Pageable pageable) {
@@ -72,16 +145,42 @@ public class CategoriaService {
                 .map(this::converterParaDTO);
     }
 
+    private Categoria gravarAlteracoes(Long id, Long versaoEsperada, Map<String, Object> campos, String nome) {
+        Optional<Categoria> alterada;
+        try {
+            alterada = atualizacaoCondicional.executar(Categoria.class, id, versaoEsperada, campos);
+        } catch (DataIntegrityViolationException e) {
+            if (RestricaoViolada.envolve(e, Categoria.RESTRICAO_NOME_UNICO)) {
+                throw new IllegalArgumentException("Já existe uma categoria com este nome: " + nome);
+            }
+            throw e;
+        }
+        if (alterada.isEmpty()) {
+            if (versaoEsperada != null) {
+                throw new PrecondicaoFalhouException("Categoria foi alterada desde a versão informada: " + id);
+            }
+            throw new EntityNotFoundException("Categoria não encontrada com ID: " + id);
+        }
+        return alterada.get();
+    }
+
+    private static <T> T valor(T informado, T atual, boolean parcial) {
+        return parcial && informado == null ? atual : informado;
+    }
+
+    private void validar(CategoriaDTO categoriaDTO) {
+        Set<ConstraintViolation<CategoriaDTO>> violacoes = validator.validate(categoriaDTO);
+        if (!violacoes.isEmpty()) {
+            throw new ConstraintViolationException(violacoes);
+        }
+    }
+
     private CategoriaDTO converterParaDTO(Categoria categoria) {
         CategoriaDTO categoriaDTO = new CategoriaDTO();
         categoriaDTO.setId(categoria.getId());
         categoriaDTO.setNome(categoria.getNome());
         categoriaDTO.setDescricao(categoria.getDescricao());
-        try {
-            categoriaDTO.setTotalLivros(categoria.getLivros() != null ? categoria.getLivros().size() : 0);
-        } catch (Exception e) {
-            categoriaDTO.setTotalLivros(0);
-        }
+        categoriaDTO.setTotalLivros(categoria.getTotalLivros());
         return categoriaDTO;
     }
 
@@ -91,17 +190,4 @@ public class CategoriaService {
         categoria.setDescricao(categoriaDTO.getDescricao());
         return categoria;
     }
-
-    private LivroDTO converterLivroParaDTO(Livro livro) {
-        LivroDTO livroDTO = new LivroDTO();
-        livroDTO.setId(livro.getId());
-        livroDTO.setTitulo(livro.getTitulo());
-        livroDTO.setIsbn(livro.getIsbn());
-        livroDTO.setAnoPublicacao(livro.getAnoPublicacao());
-        livroDTO.setPreco(livro.getPreco());
-        livroDTO.setUrlOrigem(livro.getUrlOrigem());
-        livroDTO.setDataCadastro(livro.getDataCadastro());
-        livroDTO.setDataAtualizacao(livro.getDataAtualizacao());
-        return livroDTO;
-    }
 }
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.biblioteca.biblioteca_api.service;
+
+import com.biblioteca.biblioteca_api.dto.AutorDTO;
+import com.biblioteca.biblioteca_api.dto.CategoriaDTO;
+import com.biblioteca.biblioteca_api.repository.LivroRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+
+@Service
+public class ContagemService {
+
+    private static final Duration VALIDADE = Duration.ofMinutes(1);
+    private static final int MAXIMO_ANOS = 1_000;
+
+    private final Cache<Integer, Long> livrosPorAno = Caffeine.newBuilder()
+            .maximumSize(MAXIMO_ANOS)
+            .expireAfterWrite(VALIDADE)
+            .build();
+
+    @Autowired
+    private LivroRepository livroRepository;
+
+    @Autowired
+    private ReferenciaService referenciaService;
+
+    @Transactional(readOnly = true)
+    public long estimarLivros(Long categoriaId, Integer anoPublicacao, Long autorId) {
+        long total = referenciaService.contarLivros();
+        if (total <= 0) {
+            return 0;
+        }
+
+        double estimativa = total;
+        if (categoriaId != null) {
+            estimativa *= (double) referenciaService.buscarCategoria(categoriaId)
+                    .map(CategoriaDTO::getTotalLivros).orElse(0) / total;
+        }
+        if (autorId != null) {
+            estimativa *= (double) referenciaService.buscarAutor(autorId)
+                    .map(AutorDTO::getTotalLivros).orElse(0) / total;
+        }
+        if (anoPublicacao != null) {
+            estimativa *= (double) livrosPorAno.get(anoPublicacao,
+                    ano -> livroRepository.contarComFiltros(null, ano, null)) / total;
+        }
+        return Math.round(estimativa);
+    }
+}
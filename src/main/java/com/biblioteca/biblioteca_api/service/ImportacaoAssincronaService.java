@@ -0,0 +1,165 @@
+package com.biblioteca.biblioteca_api.service;
+
+import com.biblioteca.biblioteca_api.config.ImportacaoAssincronaConfig;
+import com.biblioteca.biblioteca_api.dto.ImportacaoDTO;
+import com.biblioteca.biblioteca_api.dto.LivroDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Service
+public class ImportacaoAssincronaService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportacaoAssincronaService.class);
+
+    static final String PENDENTE = "PENDENTE";
+    static final String PROCESSANDO = "PROCESSANDO";
+    static final String CANCELADO = "CANCELADO";
+    static final String ERRO = "ERRO";
+
+    private final ImportacaoService importacaoService;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, Tarefa> ativas = new ConcurrentHashMap<>();
+    private final Cache<String, Tarefa> concluidas;
+
+    public ImportacaoAssincronaService(ImportacaoAssincronaConfig config, ImportacaoService importacaoService) {
+        this.importacaoService = importacaoService;
+        this.executor = new ThreadPoolExecutor(config.getThreads(), config.getThreads(), 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(config.getFila()), threads(), new ThreadPoolExecutor.AbortPolicy());
+        this.concluidas = Caffeine.newBuilder()
+                .maximumSize(config.getTarefasMaximas())
+                .expireAfterWrite(config.getRetencao())
+                .build();
+    }
+
+    public ImportacaoDTO agendar(ImportacaoDTO importacaoDTO) {
+        Tarefa tarefa = new Tarefa(UUID.randomUUID().toString(), copiar(importacaoDTO));
+        ImportacaoDTO agendada = tarefa.paraDTO();
+        ativas.put(tarefa.id, tarefa);
+        try {
+            tarefa.futuro = executor.submit(() -> executar(tarefa));
+        } catch (RejectedExecutionException e) {
+            ativas.remove(tarefa.id);
+            throw new RejectedExecutionException("Fila de importações cheia, tente novamente mais tarde");
+        }
+        logger.info("Importação {} agendada para a URL: {}", tarefa.id, importacaoDTO.getUrl());
+        return agendada;
+    }
+
+    public ImportacaoDTO buscar(String id) {
+        return buscarTarefa(id).paraDTO();
+    }
+
+    public ImportacaoDTO cancelar(String id) {
+        Tarefa tarefa = buscarTarefa(id);
+        if (tarefa.status.compareAndSet(PENDENTE, CANCELADO)) {
+            tarefa.mensagem = "Importação cancelada antes do início";
+            Future<?> futuro = tarefa.futuro;
+            if (futuro != null) {
+                futuro.cancel(false);
+            }
+            executor.purge();
+            concluir(tarefa);
+            logger.info("Importação {} cancelada antes do início", id);
+        } else if (PROCESSANDO.equals(tarefa.status.get())) {
+            tarefa.cancelamentoSolicitado = true;
+            logger.info("Cancelamento solicitado para a importação {} em andamento", id);
+        } else {
+            throw new IllegalStateException("Importação já concluída com status: " + tarefa.status.get());
+        }
+        return tarefa.paraDTO();
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+
+    private void executar(Tarefa tarefa) {
+        if (!tarefa.status.compareAndSet(PENDENTE, PROCESSANDO)) {
+            return;
+        }
+        try {
+            ImportacaoDTO resultado = importacaoService.importarLivro(copiar(tarefa.requisicao),
+                    () -> tarefa.cancelamentoSolicitado);
+            tarefa.livroImportado = resultado.getLivroImportado();
+            tarefa.mensagem = resultado.getMensagem();
+            tarefa.status.set(resultado.getStatus());
+        } catch (RuntimeException e) {
+            logger.error("Erro inesperado na importação {}", tarefa.id, e);
+            tarefa.mensagem = "Erro na importação: " + e.getMessage();
+            tarefa.status.set(ERRO);
+        }
+        concluir(tarefa);
+    }
+
+    private void concluir(Tarefa tarefa) {
+        concluidas.put(tarefa.id, tarefa);
+        ativas.remove(tarefa.id);
+    }
+
+    private Tarefa buscarTarefa(String id) {
+        Tarefa tarefa = ativas.get(id);
+        if (tarefa == null) {
+            tarefa = concluidas.getIfPresent(id);
+        }
+        if (tarefa == null) {
+            throw new EntityNotFoundException("Importação não encontrada com ID: " + id);
+        }
+        return tarefa;
+    }
+
+    private static ImportacaoDTO copiar(ImportacaoDTO importacaoDTO) {
+        return new ImportacaoDTO(importacaoDTO.getUrl(), importacaoDTO.getAutorId(), importacaoDTO.getCategoriaId(),
+                null, null, null);
+    }
+
+    private static ThreadFactory threads() {
+        AtomicInteger contador = new AtomicInteger();
+        return tarefa -> {
+            Thread thread = new Thread(tarefa, "importacao-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static final class Tarefa {
+
+        private final String id;
+        private final ImportacaoDTO requisicao;
+        private final AtomicReference<String> status = new AtomicReference<>(PENDENTE);
+        private volatile boolean cancelamentoSolicitado;
+        private volatile String mensagem;
+        private volatile LivroDTO livroImportado;
+        private volatile Future<?> futuro;
+
+        private Tarefa(String id, ImportacaoDTO requisicao) {
+            this.id = id;
+            this.requisicao = requisicao;
+        }
+
+        private ImportacaoDTO paraDTO() {
+            String statusAtual = status.get();
+            ImportacaoDTO dto = new ImportacaoDTO(requisicao.getUrl(), requisicao.getAutorId(),
+                    requisicao.getCategoriaId(), livroImportado, statusAtual, mensagem);
+            dto.setId(id);
+            return dto;
+        }
+    }
+}
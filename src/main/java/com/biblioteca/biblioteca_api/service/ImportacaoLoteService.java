@@ -0,0 +1,264 @@
+package com.biblioteca.biblioteca_api.service;
+
+import com.biblioteca.biblioteca_api.config.ImportacaoLoteConfig;
+import com.biblioteca.biblioteca_api.dto.ImportacaoDTO;
+import com.biblioteca.biblioteca_api.dto.ItemLoteDTO;
+import com.biblioteca.biblioteca_api.dto.LivroDTO;
+import com.biblioteca.biblioteca_api.dto.ResultadoLoteDTO;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class ImportacaoLoteService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportacaoLoteService.class);
+
+    private static final String SUCESSO = "SUCESSO";
+    private static final String ERRO = "ERRO";
+    private static final String CRIADO = "CRIADO";
+
+    private final ImportacaoLoteConfig config;
+    private final LivroScrapingService scrapingService;
+    private final LoteLivroService loteLivroService;
+    private final LivroService livroService;
+    private final ReferenciaService referenciaService;
+    private final Validator validator;
+    private final ExecutorService executor;
+    private final Semaphore vagas;
+
+    public ImportacaoLoteService(ImportacaoLoteConfig config, LivroScrapingService scrapingService,
+                                 LoteLivroService loteLivroService, LivroService livroService,
+                                 ReferenciaService referenciaService, Validator validator) {
+        this.config = config;
+        this.scrapingService = scrapingService;
+        this.loteLivroService = loteLivroService;
+        this.livroService = livroService;
+        this.referenciaService = referenciaService;
+        this.validator = validator;
+        int capacidade = config.getConcorrencia() + config.getFila();
+        AtomicInteger contador = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(config.getConcorrencia(), config.getConcorrencia(),
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(capacidade), tarefa -> {
+            Thread thread = new Thread(tarefa, "importacao-lote-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+        this.vagas = new Semaphore(capacidade);
+    }
+
+    public void validarLote(List<ImportacaoDTO> importacoes) {
+        if (importacoes == null || importacoes.isEmpty() || importacoes.size() > config.getTamanhoMaximo()) {
+            throw new IllegalArgumentException("O lote deve conter entre 1 e " + config.getTamanhoMaximo() + " importações");
+        }
+    }
+
+    public int reservar(List<ImportacaoDTO> importacoes) {
+        validarLote(importacoes);
+        int reservadas = Math.min(config.getConcorrencia(), importacoes.size());
+        if (!vagas.tryAcquire(reservadas)) {
+            throw new RejectedExecutionException("Fila de importações em lote cheia, tente novamente mais tarde");
+        }
+        return reservadas;
+    }
+
+    public void importarEmLote(List<ImportacaoDTO> importacoes, Consumer<ImportacaoDTO> aoConcluir) {
+        importarEmLote(importacoes, reservar(importacoes), aoConcluir);
+    }
+
+    public void importarEmLote(List<ImportacaoDTO> importacoes, int reservadas, Consumer<ImportacaoDTO> aoConcluir) {
+        try {
+            importarReservado(importacoes, reservadas, aoConcluir);
+        } finally {
+            vagas.release(reservadas);
+        }
+    }
+
+    private void importarReservado(List<ImportacaoDTO> importacoes, int reservadas, Consumer<ImportacaoDTO> aoConcluir) {
+        logger.info("Iniciando importação em lote de {} URLs", importacoes.size());
+
+        AtomicInteger importadas = new AtomicInteger();
+        Consumer<ImportacaoDTO> publicar = importacao -> {
+            if (SUCESSO.equals(importacao.getStatus())) {
+                importadas.incrementAndGet();
+            }
+            aoConcluir.accept(importacao);
+        };
+
+        CompletionService<Extracao> conclusoes = new ExecutorCompletionService<>(executor);
+        List<Future<Extracao>> futuros = new ArrayList<>();
+        List<Extracao> extraidas = new ArrayList<>(config.getBlocoGravacao());
+        int emAndamento = 0;
+        try {
+            for (int indice = 0; indice < importacoes.size(); indice++) {
+                ImportacaoDTO importacao = iniciar(indice, importacoes.get(indice));
+                String erro = validar(importacoes.get(indice));
+                if (erro != null) {
+                    publicar.accept(falhar(importacao, erro));
+                    continue;
+                }
+                while (emAndamento >= reservadas) {
+                    receber(proxima(conclusoes, extraidas, publicar), extraidas, publicar);
+                    emAndamento--;
+                }
+                futuros.add(conclusoes.submit(() -> extrair(importacao)));
+                emAndamento++;
+            }
+            while (emAndamento > 0) {
+                receber(proxima(conclusoes, extraidas, publicar), extraidas, publicar);
+                emAndamento--;
+            }
+            if (!extraidas.isEmpty()) {
+                gravar(extraidas, publicar);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Importação em lote interrompida");
+        } finally {
+            futuros.forEach(futuro -> futuro.cancel(true));
+        }
+
+        logger.info("Importação em lote de {} URLs concluída: {} importadas, {} com erro",
+                importacoes.size(), importadas.get(), importacoes.size() - importadas.get());
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+
+    private ImportacaoDTO iniciar(int indice, ImportacaoDTO requisicao) {
+        ImportacaoDTO importacao = requisicao == null ? new ImportacaoDTO()
+                : new ImportacaoDTO(requisicao.getUrl(), requisicao.getAutorId(), requisicao.getCategoriaId(), null, null, null);
+        importacao.setIndice(indice);
+        return importacao;
+    }
+
+    private String validar(ImportacaoDTO importacao) {
+        if (importacao == null) {
+            return "Importação não informada";
+        }
+
+        Set<ConstraintViolation<ImportacaoDTO>> violacoes = validator.validate(importacao);
+        if (!violacoes.isEmpty()) {
+            return violacoes.stream()
+                    .map(violacao -> violacao.getPropertyPath() + ": " + violacao.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        if (referenciaService.buscarAutor(importacao.getAutorId()).isEmpty()) {
+            return "Erro de relacionamento: Autor não encontrado com ID: " + importacao.getAutorId();
+        }
+        if (referenciaService.buscarCategoria(importacao.getCategoriaId()).isEmpty()) {
+            return "Erro de relacionamento: Categoria não encontrada com ID: " + importacao.getCategoriaId();
+        }
+        return null;
+    }
+
+    private Extracao extrair(ImportacaoDTO importacao) {
+        try {
+            LivroDTO livro = scrapingService.extrairDadosLivro(importacao.getUrl());
+            livro.setAutorId(importacao.getAutorId());
+            livro.setCategoriaId(importacao.getCategoriaId());
+            return new Extracao(importacao, livro, null);
+        } catch (RuntimeException e) {
+            return new Extracao(importacao, null, "Erro na importação: " + e.getMessage());
+        }
+    }
+
+    private Future<Extracao> proxima(CompletionService<Extracao> conclusoes, List<Extracao> extraidas,
+                                     Consumer<ImportacaoDTO> publicar) throws InterruptedException {
+        Future<Extracao> pronta = conclusoes.poll();
+        if (pronta != null) {
+            return pronta;
+        }
+        if (!extraidas.isEmpty()) {
+            gravar(extraidas, publicar);
+        }
+        return conclusoes.take();
+    }
+
+    private void receber(Future<Extracao> futuro, List<Extracao> extraidas, Consumer<ImportacaoDTO> publicar)
+            throws InterruptedException {
+        Extracao extracao;
+        try {
+            extracao = futuro.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha inesperada na importação em lote", e.getCause());
+        }
+
+        if (extracao.erro() != null) {
+            publicar.accept(falhar(extracao.importacao(), extracao.erro()));
+            return;
+        }
+        extraidas.add(extracao);
+        if (extraidas.size() >= config.getBlocoGravacao()) {
+            gravar(extraidas, publicar);
+        }
+    }
+
+    private void gravar(List<Extracao> extraidas, Consumer<ImportacaoDTO> publicar) {
+        List<ImportacaoDTO> concluidas = new ArrayList<>(extraidas.size());
+        try {
+            ResultadoLoteDTO resultado = loteLivroService.criarEmLote(extraidas.stream().map(Extracao::livro).toList());
+            Map<Long, LivroDTO> gravados = livroService.buscarPorIds(resultado.getItens().stream()
+                            .filter(item -> CRIADO.equals(item.getStatus()))
+                            .map(ItemLoteDTO::getId)
+                            .toList())
+                    .stream()
+                    .collect(Collectors.toMap(LivroDTO::getId, Function.identity()));
+            for (ItemLoteDTO item : resultado.getItens()) {
+                Extracao extracao = extraidas.get(item.getIndice());
+                ImportacaoDTO importacao = extracao.importacao();
+                if (CRIADO.equals(item.getStatus())) {
+                    extracao.livro().setId(item.getId());
+                    importacao.setLivroImportado(gravados.getOrDefault(item.getId(), extracao.livro()));
+                    importacao.setStatus(SUCESSO);
+                    importacao.setMensagem("Livro importado com sucesso: " + extracao.livro().getTitulo());
+                } else {
+                    falhar(importacao, item.getMensagem());
+                }
+                concluidas.add(importacao);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Erro ao gravar bloco de {} livros importados", extraidas.size(), e);
+            concluidas.clear();
+            extraidas.forEach(extracao -> concluidas.add(
+                    falhar(extracao.importacao(), "Erro na importação: " + e.getMessage())));
+        }
+        extraidas.clear();
+        concluidas.forEach(publicar);
+    }
+
+    private ImportacaoDTO falhar(ImportacaoDTO importacao, String mensagem) {
+        importacao.setLivroImportado(null);
+        importacao.setStatus(ERRO);
+        importacao.setMensagem(mensagem);
+        return importacao;
+    }
+
+    private record Extracao(ImportacaoDTO importacao, LivroDTO livro, String erro) {
+    }
+}
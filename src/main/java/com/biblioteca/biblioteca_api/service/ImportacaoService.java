@@ -2,23 +2,15 @@ package com.biblioteca.biblioteca_api.service;
 
 import com.biblioteca.biblioteca_api.dto.ImportacaoDTO;
 import com.biblioteca.biblioteca_api.dto.LivroDTO;
-import com.biblioteca.biblioteca_api.model.Autor;
-import com.biblioteca.biblioteca_api.model.Categoria;
-import com.biblioteca.biblioteca_api.repository.AutorRepository;
-import com.biblioteca.biblioteca_api.repository.CategoriaRepository;
-import com.biblioteca.biblioteca_api.repository.LivroRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
-import java.util.Optional;
+import java.util.function.BooleanSupplier;
 
 @Service
-@Transactional
 public class ImportacaoService {
 
     private static final Logger logger = LoggerFactory.getLogger(ImportacaoService.class);
@@ -30,15 +22,16 @@ public class ImportacaoService {
     private LivroService livroService;
 
     @Autowired
-    private AutorRepository autorRepository;
+    private ReferenciaService referenciaService;
 
     @Autowired
-    private CategoriaRepository categoriaRepository;
-
-    @Autowired
-    private LivroRepository livroRepository;
+    private IsbnService isbnService;
 
     public ImportacaoDTO importarLivro(ImportacaoDTO importacaoDTO) {
+        return importarLivro(importacaoDTO, () -> false);
+    }
+
+    public ImportacaoDTO importarLivro(ImportacaoDTO importacaoDTO, BooleanSupplier cancelada) {
         logger.info("Iniciando importação de livro da URL: {}", importacaoDTO.getUrl());
 
         try {
@@ -49,7 +42,14 @@ public class ImportacaoService {
             livroExtraido.setAutorId(importacaoDTO.getAutorId());
             livroExtraido.setCategoriaId(importacaoDTO.getCategoriaId());
 
-            if (livroRepository.existsByIsbn(livroExtraido.getIsbn())) {
+            if (cancelada.getAsBoolean()) {
+                importacaoDTO.setStatus("CANCELADO");
+                importacaoDTO.setMensagem("Importação cancelada antes da gravação do livro");
+                logger.info("Importação cancelada antes da gravação: {}", importacaoDTO.getUrl());
+                return importacaoDTO;
+            }
+
+            if (isbnService.existe(livroExtraido.getIsbn())) {
                 importacaoDTO.setStatus("ERRO");
                 importacaoDTO.setMensagem("Livro já existe na biblioteca com ISBN: " + livroExtraido.getIsbn());
                 logger.warn("Tentativa de importar livro duplicado: {}", livroExtraido.getIsbn());
@@ -81,13 +81,11 @@ public class ImportacaoService {
     }
 
     private void validarRelacionamentos(Long autorId, Long categoriaId) {
-        Optional<Autor> autor = autorRepository.findById(autorId);
-        if (autor.isEmpty()) {
+        if (referenciaService.buscarAutor(autorId).isEmpty()) {
             throw new EntityNotFoundException("Autor não encontrado com ID: " + autorId);
         }
 
-        Optional<Categoria> categoria = categoriaRepository.findById(categoriaId);
-        if (categoria.isEmpty()) {
+        if (referenciaService.buscarCategoria(categoriaId).isEmpty()) {
             throw new EntityNotFoundException("Categoria não encontrada com ID: " + categoriaId);
         }
     }
@@ -0,0 +1,53 @@
+package com.biblioteca.biblioteca_api.service;
+
+import com.biblioteca.biblioteca_api.busca.IndiceIsbn;
+import com.biblioteca.biblioteca_api.repository.LivroRepository;
+import com.biblioteca.biblioteca_api.util.AposCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.OptionalLong;
+
+@Service
+public class IsbnService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IsbnService.class);
+
+    private volatile IndiceIsbn indice = new IndiceIsbn();
+
+    @Autowired
+    private LivroRepository livroRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recarregar() {
+        List<Object[]> linhas = livroRepository.listarIsbns();
+        IndiceIsbn novoIndice = new IndiceIsbn(linhas.size());
+        for (Object[] linha : linhas) {
+            novoIndice.registrar((String) linha[1], (Long) linha[0]);
+        }
+        indice = novoIndice;
+        logger.info("Índice de ISBN carregado com {} livros", novoIndice.tamanho());
+    }
+
+    public boolean existe(String isbn) {
+        return indice.contem(isbn);
+    }
+
+    public OptionalLong buscarId(String isbn) {
+        long id = indice.buscar(isbn);
+        return id == IndiceIsbn.AUSENTE ? OptionalLong.empty() : OptionalLong.of(id);
+    }
+
+    public void registrar(Long id, String isbn) {
+        AposCommit.executar(() -> indice.registrar(isbn, id));
+    }
+
+    public void remover(Long id, String isbn) {
+        AposCommit.executar(() -> indice.remover(isbn, id));
+    }
+}
@@ -2,28 +2,64 @@ package com.biblioteca.biblioteca_api.service;
 
 import com.biblioteca.biblioteca_api.dto.AutorDTO;
 import com.biblioteca.biblioteca_api.dto.CategoriaDTO;
+import com.biblioteca.biblioteca_api.dto.EstrategiaContagem;
 import com.biblioteca.biblioteca_api.dto.LivroDTO;
+import com.biblioteca.biblioteca_api.dto.PaginaCursorDTO;
+import com.biblioteca.biblioteca_api.exception.PrecondicaoFalhouException;
 import com.biblioteca.biblioteca_api.model.Autor;
 import com.biblioteca.biblioteca_api.model.Categoria;
 import com.biblioteca.biblioteca_api.model.Livro;
 import com.biblioteca.biblioteca_api.repository.AutorRepository;
 import com.biblioteca.biblioteca_api.repository.CategoriaRepository;
+import com.biblioteca.biblioteca_api.repository.EstadoLivro;
 import com.biblioteca.biblioteca_api.repository.LivroRepository;
+import com.biblioteca.biblioteca_api.repository.PosicaoCursor;
+import com.biblioteca.biblioteca_api.util.AposCommit;
+import com.biblioteca.biblioteca_api.util.ChamadaUnica;
+import com.biblioteca.biblioteca_api.util.RestricaoViolada;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Supplier;
 
 @Service
 @Transactional
 public class LivroService {
 
+    private static final int TAMANHO_LOTE_CONSULTA = 500;
+
+    private final ChamadaUnica<Long, LivroDTO> leiturasPorId = new ChamadaUnica<>();
+    private final ChamadaUnica<String, Optional<LivroDTO>> leiturasPorIsbn = new ChamadaUnica<>();
+    private final ChamadaUnica<CacheConsultasService.ChaveFiltros, Slice<LivroDTO>> leiturasPorFiltros =
+            new ChamadaUnica<>();
+    private final ChamadaUnica<List<Long>, List<LivroDTO>> carregamentos = new ChamadaUnica<>();
+
     @Autowired
     private LivroRepository livroRepository;
 
@@ -33,37 +69,178 @@ public class LivroService {
     @Autowired
     private CategoriaRepository categoriaRepository;
 
-    public Page<LivroDTO> listarTodos(Pageable pageable) {
-        return livroRepository.findAll(pageable)
-                .map(this::converterParaDTO);
-    }
+    @Autowired
+    private BuscaService buscaService;
+
+    @Autowired
+    private ContagemService contagemService;
 
+    @Autowired
+    private CacheLivroService cacheLivroService;
+
+    @Autowired
+    private ReferenciaService referenciaService;
+
+    @Autowired
+    private IsbnService isbnService;
+
+    @Autowired
+    private CacheConsultasService cacheConsultasService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private Validator validator;
+
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public LivroDTO buscarPorId(Long id) {
+        LivroDTO emCache = cacheLivroService.buscarPorId(id);
+        if (emCache != null) {
+            return emCache;
+        }
+        return leiturasPorId.executar(id, () -> lerEmTransacao(() -> carregarPorId(id)));
+    }
+
+    private LivroDTO carregarPorId(Long id) {
+        LivroDTO emCache = cacheLivroService.buscarPorId(id);
+        if (emCache != null) {
+            return emCache;
+        }
+
+        long geracao = cacheLivroService.geracaoAtual();
         Livro livro = livroRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Livro não encontrado com ID: " + id));
-        return converterParaDTO(livro);
+        LivroDTO livroDTO = converterParaDTO(livro);
+        cacheLivroService.armazenar(livroDTO, geracao);
+        return livroDTO;
     }
 
     public LivroDTO criar(LivroDTO livroDTO) {
         validarIsbnUnico(livroDTO.getIsbn(), null);
-        validarRelacionamentos(livroDTO.getAutorId(), livroDTO.getCategoriaId());
+        AutorDTO autor = buscarAutor(livroDTO.getAutorId());
+        CategoriaDTO categoria = buscarCategoria(livroDTO.getCategoriaId());
 
         Livro livro = converterParaEntidade(livroDTO);
-        Livro livroSalvo = livroRepository.save(livro);
-        return converterParaDTO(livroSalvo);
+        Livro livroSalvo = salvar(livro);
+        ajustarTotalLivros(autor, 1);
+        ajustarTotalLivros(categoria, 1);
+        cacheLivroService.invalidarPorAutor(autor.getId());
+        cacheLivroService.invalidarPorCategoria(categoria.getId());
+        isbnService.registrar(livroSalvo.getId(), livroSalvo.getIsbn());
+        buscaService.indexarLivro(livroSalvo.getId(), livroSalvo.getTitulo());
+        cacheConsultasService.invalidarLivro(categoria.getId(), autor.getId(), livroSalvo.getAnoPublicacao(),
+                livroSalvo.getTitulo());
+        return converterParaDTO(livroSalvo, autor, categoria);
     }
 
-    public LivroDTO atualizar(Long id, LivroDTO livroDTO) {
-        Livro livroExistente = livroRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Livro não encontrado com ID: " + id));
+    public LivroDTO atualizar(Long id, LivroDTO livroDTO, Long versaoEsperada) {
+        return alterar(id, livroDTO, versaoEsperada, false);
+    }
 
-        validarIsbnUnico(livroDTO.getIsbn(), id);
-        validarRelacionamentos(livroDTO.getAutorId(), livroDTO.getCategoriaId());
+    public LivroDTO atualizarParcialmente(Long id, LivroDTO alteracoes, Long versaoEsperada) {
+        return alterar(id, alteracoes, versaoEsperada, true);
+    }
 
-        atualizarCampos(livroExistente, livroDTO);
+    private LivroDTO alterar(Long id, LivroDTO alteracoes, Long versaoEsperada, boolean parcial) {
+        LivroDTO emCache = cacheLivroService.buscarPorId(id);
+        EstadoLivro anterior = emCache != null ? EstadoLivro.de(emCache) : buscarEstado(id);
+        LocalDateTime dataAtualizacao = LocalDateTime.now();
+        LivroDTO livroDTO;
+        AutorDTO autor;
+        CategoriaDTO categoria;
+        while (true) {
+            if (versaoEsperada != null && !versaoEsperada.equals(anterior.versao())) {
+                throw new PrecondicaoFalhouException("Livro foi alterado desde a versão informada: " + id);
+            }
+
+            livroDTO = mesclar(anterior, alteracoes, parcial);
+            if (parcial) {
+                validar(livroDTO);
+            }
+            validarIsbnUnico(livroDTO.getIsbn(), id);
+            autor = buscarAutor(livroDTO.getAutorId());
+            categoria = buscarCategoria(livroDTO.getCategoriaId());
+
+            Map<String, Object> colunas = new LinkedHashMap<>();
+            if (!parcial || alteracoes.getTitulo() != null) {
+                colunas.put("titulo", livroDTO.getTitulo());
+            }
+            if (!parcial || alteracoes.getIsbn() != null) {
+                colunas.put("isbn", livroDTO.getIsbn());
+            }
+            if (!parcial || alteracoes.getAnoPublicacao() != null) {
+                colunas.put("ano_publicacao", livroDTO.getAnoPublicacao());
+            }
+            if (!parcial || alteracoes.getPreco() != null) {
+                colunas.put("preco", livroDTO.getPreco());
+            }
+            if (!parcial || alteracoes.getUrlOrigem() != null) {
+                colunas.put("url_origem", livroDTO.getUrlOrigem());
+            }
+            if (!parcial || alteracoes.getAutorId() != null) {
+                colunas.put("autor_id", autor.getId());
+            }
+            if (!parcial || alteracoes.getCategoriaId() != null) {
+                colunas.put("categoria_id", categoria.getId());
+            }
+            colunas.put("data_atualizacao", dataAtualizacao);
+            if (gravarAlteracoes(id, anterior.versao(), colunas, livroDTO.getIsbn())) {
+                break;
+            }
+            if (versaoEsperada != null) {
+                throw new PrecondicaoFalhouException("Livro foi alterado desde a versão informada: " + id);
+            }
+            anterior = buscarEstado(id);
+        }
 
-        Livro livroAtualizado = livroRepository.save(livroExistente);
-        return converterParaDTO(livroAtualizado);
+        Long autorAnteriorId = anterior.autorId();
+        Long categoriaAnteriorId = anterior.categoriaId();
+        Map<Long, Integer> deltaPorAutor = new TreeMap<>();
+        Map<Long, Integer> deltaPorCategoria = new TreeMap<>();
+        if (!autorAnteriorId.equals(autor.getId())) {
+            deltaPorAutor.put(autorAnteriorId, -1);
+            deltaPorAutor.put(autor.getId(), 1);
+        }
+        if (!categoriaAnteriorId.equals(categoria.getId())) {
+            deltaPorCategoria.put(categoriaAnteriorId, -1);
+            deltaPorCategoria.put(categoria.getId(), 1);
+        }
+        deltaPorAutor.forEach((autorId, delta) -> {
+            autorRepository.ajustarTotalLivros(autorId, delta);
+            referenciaService.ajustarTotalLivrosDoAutor(autorId, delta);
+        });
+        deltaPorCategoria.forEach((categoriaId, delta) -> {
+            categoriaRepository.ajustarTotalLivros(categoriaId, delta);
+            referenciaService.ajustarTotalLivrosDaCategoria(categoriaId, delta);
+        });
+        autor.setTotalLivros(autor.getTotalLivros() + deltaPorAutor.getOrDefault(autor.getId(), 0));
+        categoria.setTotalLivros(categoria.getTotalLivros() + deltaPorCategoria.getOrDefault(categoria.getId(), 0));
+
+        cacheLivroService.invalidarLivro(id, anterior.isbn());
+        if (!autorAnteriorId.equals(autor.getId())) {
+            cacheLivroService.invalidarPorAutor(autorAnteriorId);
+            cacheLivroService.invalidarPorAutor(autor.getId());
+        }
+        if (!categoriaAnteriorId.equals(categoria.getId())) {
+            cacheLivroService.invalidarPorCategoria(categoriaAnteriorId);
+            cacheLivroService.invalidarPorCategoria(categoria.getId());
+        }
+        if (!anterior.isbn().equals(livroDTO.getIsbn())) {
+            isbnService.remover(id, anterior.isbn());
+            isbnService.registrar(id, livroDTO.getIsbn());
+        }
+        buscaService.indexarLivro(id, livroDTO.getTitulo());
+        cacheConsultasService.invalidarLivro(categoriaAnteriorId, autorAnteriorId, anterior.anoPublicacao(),
+                anterior.titulo());
+        cacheConsultasService.invalidarLivro(categoria.getId(), autor.getId(), livroDTO.getAnoPublicacao(),
+                livroDTO.getTitulo());
+
+        livroDTO.setDataAtualizacao(dataAtualizacao);
+        livroDTO.setVersao(anterior.versao() + 1);
+        livroDTO.setAutor(autor);
+        livroDTO.setCategoria(categoria);
+        return livroDTO;
     }
 
     public void deletar(Long id) {
@@ -71,116 +248,320 @@ public class LivroService {
                 .orElseThrow(() -> new EntityNotFoundException("Livro não encontrado com ID: " + id));
 
         livroRepository.delete(livro);
+        autorRepository.ajustarTotalLivros(livro.getAutor().getId(), -1);
+        categoriaRepository.ajustarTotalLivros(livro.getCategoria().getId(), -1);
+        referenciaService.ajustarTotalLivrosDoAutor(livro.getAutor().getId(), -1);
+        referenciaService.ajustarTotalLivrosDaCategoria(livro.getCategoria().getId(), -1);
+        cacheLivroService.invalidarLivro(id, livro.getIsbn());
+        cacheLivroService.invalidarPorAutor(livro.getAutor().getId());
+        cacheLivroService.invalidarPorCategoria(livro.getCategoria().getId());
+        isbnService.remover(id, livro.getIsbn());
+        buscaService.removerLivro(id);
+        cacheConsultasService.invalidarLivro(livro.getCategoria().getId(), livro.getAutor().getId(),
+                livro.getAnoPublicacao(), livro.getTitulo());
     }
 
-    public Page<LivroDTO> buscarComFiltros(Long categoriaId, Integer anoPublicacao, Long autorId, Pageable pageable) {
-        return livroRepository.buscarComFiltros(categoriaId, anoPublicacao, autorId, pageable)
-                .map(this::converterParaDTO);
+    public void recalcularTotaisDeLivros() {
+        autorRepository.recalcularTotalLivros();
+        categoriaRepository.recalcularTotalLivros();
+        cacheLivroService.invalidarTudo();
+        AposCommit.executar(referenciaService::recarregar);
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Slice<LivroDTO> buscarComFiltros(Long categoriaId, Integer anoPublicacao, Long autorId,
+                                            EstrategiaContagem contagem, Pageable pageable) {
+        CacheConsultasService.ChaveFiltros chave =
+                CacheConsultasService.ChaveFiltros.de(categoriaId, anoPublicacao, autorId, contagem, pageable);
+        CacheConsultasService.ResultadoFiltros emCache = cacheConsultasService.buscarPorFiltros(chave);
+        if (emCache != null) {
+            return emCache.paraFatia(carregarNaOrdem(emCache.ids()), pageable);
+        }
+
+        return leiturasPorFiltros.executar(chave, () -> lerEmTransacao(() -> {
+            long geracao = cacheConsultasService.geracaoAtual();
+            Slice<LivroDTO> fatia = consultarComFiltros(categoriaId, anoPublicacao, autorId, contagem, pageable);
+            cacheConsultasService.armazenarPorFiltros(chave, fatia, geracao);
+            return fatia;
+        }));
+    }
+
+    @Transactional(readOnly = true)
+    public PaginaCursorDTO<LivroDTO> listarPorCursor(Long categoriaId, Integer anoPublicacao, Long autorId,
+                                                     String cursor, Pageable pageable) {
+        PosicaoCursor posicao = cursor.isBlank() ? posicaoInicial(pageable.getSort()) : PosicaoCursor.decodificar(cursor);
+        int tamanho = pageable.getPageSize();
+
+        List<LivroDTO> livros = livroRepository.projetarAposCursor(categoriaId, anoPublicacao, autorId, posicao, tamanho + 1);
+        if (livros.size() <= tamanho) {
+            return new PaginaCursorDTO<>(livros, livros.size(), null);
+        }
+
+        List<LivroDTO> pagina = livros.subList(0, tamanho);
+        String proximoCursor = PosicaoCursor.apos(pagina.get(tamanho - 1), posicao.campo(), posicao.direcao()).codificar();
+        return new PaginaCursorDTO<>(List.copyOf(pagina), tamanho, proximoCursor);
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<LivroDTO> buscarPorTitulo(String titulo) {
-        List<Livro> livros = livroRepository.findByTituloContainingIgnoreCase(titulo);
-        return livros.stream()
-                .map(this::converterParaDTO)
-                .toList();
+        return carregarNaOrdem(buscarIdsPorTitulo(titulo));
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Page<LivroDTO> buscarPorTitulo(String titulo, Pageable pageable) {
-        return livroRepository.findByTituloContainingIgnoreCase(titulo, pageable)
-                .map(this::converterParaDTO);
+        if (pageable.getSort().isSorted()) {
+            throw new IllegalArgumentException("Ordenação não suportada na busca por título: os resultados seguem a ordem de relevância");
+        }
+        List<Long> ids = buscarIdsPorTitulo(titulo);
+        int inicio = (int) Math.min(pageable.getOffset(), ids.size());
+        int fim = Math.min(inicio + pageable.getPageSize(), ids.size());
+        return new PageImpl<>(carregarNaOrdem(ids.subList(inicio, fim)), pageable, ids.size());
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Optional<LivroDTO> buscarPorIsbn(String isbn) {
-        return livroRepository.findByIsbn(isbn)
+        LivroDTO emCache = cacheLivroService.buscarPorIsbn(isbn);
+        if (emCache != null) {
+            return Optional.of(emCache);
+        }
+        if (!isbnService.existe(isbn)) {
+            return Optional.empty();
+        }
+        return leiturasPorIsbn.executar(isbn, () -> lerEmTransacao(() -> carregarPorIsbn(isbn)));
+    }
+
+    private Optional<LivroDTO> carregarPorIsbn(String isbn) {
+        LivroDTO emCache = cacheLivroService.buscarPorIsbn(isbn);
+        if (emCache != null) {
+            return Optional.of(emCache);
+        }
+
+        long geracao = cacheLivroService.geracaoAtual();
+        Optional<LivroDTO> livroDTO = livroRepository.findByIsbn(isbn)
                 .map(this::converterParaDTO);
+        livroDTO.ifPresent(livro -> cacheLivroService.armazenar(livro, geracao));
+        return livroDTO;
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<LivroDTO> buscarPorIds(List<Long> ids) {
+        return ids.isEmpty() ? List.of() : carregarNaOrdem(ids);
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public boolean existePorIsbn(String isbn) {
-        return livroRepository.existsByIsbn(isbn);
+        return isbnService.existe(isbn);
     }
 
-    private void validarIsbnUnico(String isbn, Long id) {
-        Optional<Livro> livroExistente = livroRepository.findByIsbn(isbn);
-        if (livroExistente.isPresent() && !livroExistente.get().getId().equals(id)) {
-            throw new IllegalArgumentException("Já existe um livro com este ISBN: " + isbn);
+    private Slice<LivroDTO> consultarComFiltros(Long categoriaId, Integer anoPublicacao, Long autorId,
+                                                EstrategiaContagem contagem, Pageable pageable) {
+        if (contagem == EstrategiaContagem.EXATA) {
+            return livroRepository.projetarComFiltros(categoriaId, anoPublicacao, autorId, pageable);
+        }
+
+        Slice<LivroDTO> fatia = livroRepository.projetarFatiaComFiltros(categoriaId, anoPublicacao, autorId, pageable);
+        if (contagem == EstrategiaContagem.NENHUMA) {
+            return fatia;
+        }
+
+        long lidos = pageable.isPaged() ? pageable.getOffset() + fatia.getNumberOfElements() : fatia.getNumberOfElements();
+        long total = fatia.hasNext()
+                ? Math.max(contagemService.estimarLivros(categoriaId, anoPublicacao, autorId), lidos + 1)
+                : lidos;
+        return new PageImpl<>(fatia.getContent(), pageable, total);
+    }
+
+    private List<Long> buscarIdsPorTitulo(String titulo) {
+        Optional<List<Long>> emCache = cacheConsultasService.buscarPorTitulo(titulo);
+        if (emCache.isPresent()) {
+            return emCache.get();
         }
+        long geracao = cacheConsultasService.geracaoAtual();
+        List<Long> ids = buscaService.buscarIdsPorTitulo(titulo);
+        cacheConsultasService.armazenarPorTitulo(titulo, ids, geracao);
+        return ids;
     }
 
-    private void validarRelacionamentos(Long autorId, Long categoriaId) {
-        if (autorRepository.findById(autorId).isEmpty()) {
-            throw new EntityNotFoundException("Autor não encontrado com ID: " + autorId);
+    private PosicaoCursor posicaoInicial(Sort sort) {
+        Sort.Order ordem = sort.stream().findFirst().orElse(Sort.Order.asc("titulo"));
+        if (!PosicaoCursor.CAMPOS_ORDENAVEIS.contains(ordem.getProperty())) {
+            throw new IllegalArgumentException("Ordenação por cursor não suportada para o campo: " + ordem.getProperty());
         }
+        return new PosicaoCursor(ordem.getProperty(), ordem.getDirection(), null, null);
+    }
 
-        if (categoriaRepository.findById(categoriaId).isEmpty()) {
-            throw new EntityNotFoundException("Categoria não encontrada com ID: " + categoriaId);
+    private Livro salvar(Livro livro) {
+        try {
+            return livroRepository.saveAndFlush(livro);
+        } catch (DataIntegrityViolationException e) {
+            if (RestricaoViolada.envolve(e, Livro.RESTRICAO_ISBN_UNICO)) {
+                throw new IllegalArgumentException("Já existe um livro com este ISBN: " + livro.getIsbn());
+            }
+            throw e;
         }
     }
 
-    private void atualizarCampos(Livro livroExistente, LivroDTO livroDTO) {
-        livroExistente.setTitulo(livroDTO.getTitulo());
-        livroExistente.setIsbn(livroDTO.getIsbn());
-        livroExistente.setAnoPublicacao(livroDTO.getAnoPublicacao());
-        livroExistente.setPreco(livroDTO.getPreco());
-        livroExistente.setUrlOrigem(livroDTO.getUrlOrigem());
+    private EstadoLivro buscarEstado(Long id) {
+        return livroRepository.buscarEstado(id)
+                .orElseThrow(() -> new EntityNotFoundException("Livro não encontrado com ID: " + id));
+    }
 
-        if (!livroExistente.getAutor().getId().equals(livroDTO.getAutorId())) {
-            Autor novoAutor = autorRepository.findById(livroDTO.getAutorId())
-                    .orElseThrow(() -> new EntityNotFoundException("Autor não encontrado"));
-            livroExistente.setAutor(novoAutor);
+    private boolean gravarAlteracoes(Long id, Long versao, Map<String, Object> colunas, String isbn) {
+        try {
+            return livroRepository.atualizarSeVersao(id, versao, colunas) == 1;
+        } catch (DataIntegrityViolationException e) {
+            if (RestricaoViolada.envolve(e, Livro.RESTRICAO_ISBN_UNICO)) {
+                throw new IllegalArgumentException("Já existe um livro com este ISBN: " + isbn);
+            }
+            throw e;
         }
+    }
+
+    private LivroDTO mesclar(EstadoLivro anterior, LivroDTO alteracoes, boolean parcial) {
+        LivroDTO livroDTO = new LivroDTO();
+        livroDTO.setId(anterior.id());
+        livroDTO.setTitulo(valor(alteracoes.getTitulo(), anterior.titulo(), parcial));
+        livroDTO.setIsbn(valor(alteracoes.getIsbn(), anterior.isbn(), parcial));
+        livroDTO.setAnoPublicacao(valor(alteracoes.getAnoPublicacao(), anterior.anoPublicacao(), parcial));
+        livroDTO.setPreco(valor(alteracoes.getPreco(), anterior.preco(), parcial));
+        livroDTO.setUrlOrigem(valor(alteracoes.getUrlOrigem(), anterior.urlOrigem(), parcial));
+        livroDTO.setAutorId(valor(alteracoes.getAutorId(), anterior.autorId(), parcial));
+        livroDTO.setCategoriaId(valor(alteracoes.getCategoriaId(), anterior.categoriaId(), parcial));
+        livroDTO.setDataCadastro(anterior.dataCadastro());
+        return livroDTO;
+    }
 
-        if (!livroExistente.getCategoria().getId().equals(livroDTO.getCategoriaId())) {
-            Categoria novaCategoria = categoriaRepository.findById(livroDTO.getCategoriaId())
-                    .orElseThrow(() -> new EntityNotFoundException("Categoria não encontrada"));
-            livroExistente.setCategoria(novaCategoria);
+    private static <T> T valor(T informado, T atual, boolean parcial) {
+        return parcial && informado == null ? atual : informado;
+    }
+
+    private void validar(LivroDTO livroDTO) {
+        Set<ConstraintViolation<LivroDTO>> violacoes = validator.validate(livroDTO);
+        if (!violacoes.isEmpty()) {
+            throw new ConstraintViolationException(violacoes);
         }
     }
 
-    private Integer contarLivrosPorAutor(Long autorId) {
-        try {
-            return Math.toIntExact(livroRepository.countByAutorId(autorId));
-        } catch (Exception e) {
-            return 0;
+    private void validarIsbnUnico(String isbn, Long id) {
+        OptionalLong idExistente = isbnService.buscarId(isbn);
+        if (idExistente.isPresent() && (id == null || idExistente.getAsLong() != id)) {
+            throw new IllegalArgumentException("Já existe um livro com este ISBN: " + isbn);
         }
     }
 
-    private Integer contarLivrosPorCategoria(Long categoriaId) {
-        try {
-            return Math.toIntExact(livroRepository.countByCategoriaId(categoriaId));
-        } catch (Exception e) {
-            return 0;
+    private AutorDTO buscarAutor(Long autorId) {
+        return referenciaService.buscarAutor(autorId)
+                .orElseThrow(() -> new EntityNotFoundException("Autor não encontrado com ID: " + autorId));
+    }
+
+    private CategoriaDTO buscarCategoria(Long categoriaId) {
+        return referenciaService.buscarCategoria(categoriaId)
+                .orElseThrow(() -> new EntityNotFoundException("Categoria não encontrada com ID: " + categoriaId));
+    }
+
+    private List<LivroDTO> carregarNaOrdem(List<Long> ids) {
+        Map<Long, LivroDTO> livrosPorId = new HashMap<>();
+        List<Long> ausentes = new ArrayList<>();
+        for (Long id : ids) {
+            LivroDTO emCache = cacheLivroService.buscarPorId(id);
+            if (emCache != null) {
+                livrosPorId.put(id, emCache);
+            } else {
+                ausentes.add(id);
+            }
         }
+
+        if (!ausentes.isEmpty()) {
+            List<LivroDTO> carregados = carregamentos.executar(ausentes,
+                    () -> lerEmTransacao(() -> projetarEArmazenar(ausentes)));
+            for (LivroDTO livro : carregados) {
+                livrosPorId.put(livro.getId(), livro);
+            }
+        }
+        return ids.stream()
+                .map(livrosPorId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private List<LivroDTO> projetarEArmazenar(List<Long> ids) {
+        long geracao = cacheLivroService.geracaoAtual();
+        List<LivroDTO> livros = new ArrayList<>(ids.size());
+        for (int inicio = 0; inicio < ids.size(); inicio += TAMANHO_LOTE_CONSULTA) {
+            List<Long> lote = ids.subList(inicio, Math.min(inicio + TAMANHO_LOTE_CONSULTA, ids.size()));
+            for (LivroDTO livro : livroRepository.projetarPorIds(lote)) {
+                livros.add(livro);
+                cacheLivroService.armazenar(livro, geracao);
+            }
+        }
+        return livros;
+    }
+
+    private <T> T lerEmTransacao(Supplier<T> leitura) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template.execute(status -> leitura.get());
+    }
+
+    private void ajustarTotalLivros(AutorDTO autor, int delta) {
+        autorRepository.ajustarTotalLivros(autor.getId(), delta);
+        referenciaService.ajustarTotalLivrosDoAutor(autor.getId(), delta);
+        autor.setTotalLivros(autor.getTotalLivros() + delta);
+    }
+
+    private void ajustarTotalLivros(CategoriaDTO categoria, int delta) {
+        categoriaRepository.ajustarTotalLivros(categoria.getId(), delta);
+        referenciaService.ajustarTotalLivrosDaCategoria(categoria.getId(), delta);
+        categoria.setTotalLivros(categoria.getTotalLivros() + delta);
     }
 
     LivroDTO converterParaDTO(Livro livro) {
+        AutorDTO autorDTO = referenciaService.buscarAutor(livro.getAutor().getId())
+                .orElseGet(() -> converterAutor(livro.getAutor()));
+        CategoriaDTO categoriaDTO = referenciaService.buscarCategoria(livro.getCategoria().getId())
+                .orElseGet(() -> converterCategoria(livro.getCategoria()));
+        return converterParaDTO(livro, autorDTO, categoriaDTO);
+    }
+
+    private LivroDTO converterParaDTO(Livro livro, AutorDTO autorDTO, CategoriaDTO categoriaDTO) {
         LivroDTO dto = new LivroDTO();
         dto.setId(livro.getId());
         dto.setTitulo(livro.getTitulo());
         dto.setIsbn(livro.getIsbn());
         dto.setAnoPublicacao(livro.getAnoPublicacao());
         dto.setPreco(livro.getPreco());
-        dto.setAutorId(livro.getAutor().getId());
-        dto.setCategoriaId(livro.getCategoria().getId());
+        dto.setAutorId(autorDTO.getId());
+        dto.setCategoriaId(categoriaDTO.getId());
         dto.setUrlOrigem(livro.getUrlOrigem());
         dto.setDataCadastro(livro.getDataCadastro());
         dto.setDataAtualizacao(livro.getDataAtualizacao());
+        dto.setVersao(livro.getVersao());
+        dto.setAutor(autorDTO);
+        dto.setCategoria(categoriaDTO);
+        return dto;
+    }
 
+    private AutorDTO converterAutor(Autor autor) {
         AutorDTO autorDTO = new AutorDTO();
-        autorDTO.setId(livro.getAutor().getId());
-        autorDTO.setNome(livro.getAutor().getNome());
-        autorDTO.setEmail(livro.getAutor().getEmail());
-        autorDTO.setDataNascimento(livro.getAutor().getDataNascimento());
-        autorDTO.setTotalLivros(contarLivrosPorAutor(livro.getAutor().getId()));
-        dto.setAutor(autorDTO);
+        autorDTO.setId(autor.getId());
+        autorDTO.setNome(autor.getNome());
+        autorDTO.setEmail(autor.getEmail());
+        autorDTO.setDataNascimento(autor.getDataNascimento());
+        autorDTO.setTotalLivros(autor.getTotalLivros());
+        autorDTO.setVersao(autor.getVersao());
+        autorDTO.setDataAtualizacao(autor.getDataAtualizacao());
+        return autorDTO;
+    }
 
+    private CategoriaDTO converterCategoria(Categoria categoria) {
         CategoriaDTO categoriaDTO = new CategoriaDTO();
-        categoriaDTO.setId(livro.getCategoria().getId());
-        categoriaDTO.setNome(livro.getCategoria().getNome());
-        categoriaDTO.setDescricao(livro.getCategoria().getDescricao());
-        categoriaDTO.setTotalLivros(contarLivrosPorCategoria(livro.getCategoria().getId()));
-        dto.setCategoria(categoriaDTO);
-
-        return dto;
+        categoriaDTO.setId(categoria.getId());
+        categoriaDTO.setNome(categoria.getNome());
+        categoriaDTO.setDescricao(categoria.getDescricao());
+        categoriaDTO.setTotalLivros(categoria.getTotalLivros());
+        categoriaDTO.setVersao(categoria.getVersao());
+        categoriaDTO.setDataAtualizacao(categoria.getDataAtualizacao());
+        return categoriaDTO;
     }
 
     private Livro converterParaEntidade(LivroDTO dto) {
@@ -190,15 +571,8 @@ public class LivroService {
         livro.setAnoPublicacao(dto.getAnoPublicacao());
         livro.setPreco(dto.getPreco());
         livro.setUrlOrigem(dto.getUrlOrigem());
-
-        Autor autor = autorRepository.findById(dto.getAutorId())
-                .orElseThrow(() -> new EntityNotFoundException("Autor não encontrado"));
-        livro.setAutor(autor);
-
-        Categoria categoria = categoriaRepository.findById(dto.getCategoriaId())
-                .orElseThrow(() -> new EntityNotFoundException("Categoria não encontrada"));
-        livro.setCategoria(categoria);
-
+        livro.setAutor(autorRepository.getReferenceById(dto.getAutorId()));
+        livro.setCategoria(categoriaRepository.getReferenceById(dto.getCategoriaId()));
         return livro;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,334 @@
+package com.biblioteca.biblioteca_api.service;
+
+import com.biblioteca.biblioteca_api.dto.ItemLoteDTO;
+import com.biblioteca.biblioteca_api.dto.LivroDTO;
+import com.biblioteca.biblioteca_api.dto.ResultadoLoteDTO;
+import com.biblioteca.biblioteca_api.dto.ResultadoSincronizacaoDTO;
+import com.biblioteca.biblioteca_api.model.Livro;
+import com.biblioteca.biblioteca_api.repository.AutorRepository;
+import com.biblioteca.biblioteca_api.repository.CategoriaRepository;
+import com.biblioteca.biblioteca_api.repository.LivroRepository;
+import com.biblioteca.biblioteca_api.util.RestricaoViolada;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class LoteLivroService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoteLivroService.class);
+
+    private static final int TAMANHO_MAXIMO_LOTE = 5000;
+    private static final int TAMANHO_BLOCO = 500;
+    private static final String CRIADO = "CRIADO";
+    private static final String INSERIDO = "INSERIDO";
+    private static final String ATUALIZADO = "ATUALIZADO";
+    private static final String INALTERADO = "INALTERADO";
+    private static final String ERRO = "ERRO";
+    private static final Set<String> GRAVADOS = Set.of(CRIADO, INSERIDO, ATUALIZADO);
+
+    @Autowired
+    private LivroRepository livroRepository;
+
+    @Autowired
+    private AutorRepository autorRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private ReferenciaService referenciaService;
+
+    @Autowired
+    private IsbnService isbnService;
+
+    @Autowired
+    private BuscaService buscaService;
+
+    @Autowired
+    private CacheLivroService cacheLivroService;
+
+    @Autowired
+    private CacheConsultasService cacheConsultasService;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ResultadoLoteDTO criarEmLote(List<LivroDTO> livros) {
+        List<ItemLoteDTO> itens = processarEmBlocos(livros, true, this::inserir);
+
+        int criados = contar(itens, CRIADO);
+        logger.info("Lote de {} livros processado: {} criados, {} com erro", itens.size(), criados, itens.size() - criados);
+        return new ResultadoLoteDTO(itens.size(), criados, itens.size() - criados, itens);
+    }
+
+    public ResultadoSincronizacaoDTO sincronizarEmLote(List<LivroDTO> livros) {
+        List<ItemLoteDTO> itens = processarEmBlocos(livros, false, this::sincronizar);
+
+        List<ItemLoteDTO> erros = itens.stream().filter(item -> ERRO.equals(item.getStatus())).toList();
+        ResultadoSincronizacaoDTO resultado = new ResultadoSincronizacaoDTO(itens.size(), contar(itens, INSERIDO),
+                contar(itens, ATUALIZADO), contar(itens, INALTERADO), erros.size(), erros);
+        logger.info("Sincronização de {} livros: {} inseridos, {} atualizados, {} inalterados, {} com erro",
+                resultado.getTotal(), resultado.getInseridos(), resultado.getAtualizados(),
+                resultado.getInalterados(), resultado.getFalhas());
+        return resultado;
+    }
+
+    private List<ItemLoteDTO> processarEmBlocos(List<LivroDTO> livros, boolean rejeitarIsbnExistente,
+                                                Function<List<Pendente>, List<String>> gravacao) {
+        if (livros == null || livros.isEmpty() || livros.size() > TAMANHO_MAXIMO_LOTE) {
+            throw new IllegalArgumentException("O lote deve conter entre 1 e " + TAMANHO_MAXIMO_LOTE + " livros");
+        }
+
+        List<ItemLoteDTO> itens = new ArrayList<>(livros.size());
+        List<Pendente> pendentes = new ArrayList<>(livros.size());
+        Set<String> isbnsDoLote = new HashSet<>();
+        for (int indice = 0; indice < livros.size(); indice++) {
+            LivroDTO livro = livros.get(indice);
+            ItemLoteDTO item = new ItemLoteDTO(indice, livro == null ? null : livro.getIsbn(), null, null, null);
+            itens.add(item);
+
+            String erro = validar(livro, isbnsDoLote, rejeitarIsbnExistente);
+            if (erro != null) {
+                falhar(item, erro);
+            } else {
+                pendentes.add(new Pendente(livro, item));
+            }
+        }
+
+        for (int inicio = 0; inicio < pendentes.size(); inicio += TAMANHO_BLOCO) {
+            List<Pendente> bloco = pendentes.subList(inicio, Math.min(inicio + TAMANHO_BLOCO, pendentes.size()));
+            try {
+                gravar(bloco, gravacao);
+            } catch (RuntimeException e) {
+                logger.warn("Falha ao gravar bloco de {} livros, gravando individualmente: {}", bloco.size(), e.getMessage());
+                for (Pendente pendente : bloco) {
+                    gravarIsolado(pendente, gravacao);
+                }
+            }
+        }
+        if (itens.stream().map(ItemLoteDTO::getStatus).anyMatch(GRAVADOS::contains)) {
+            cacheConsultasService.invalidarTudo();
+        }
+        return itens;
+    }
+
+    private String validar(LivroDTO livro, Set<String> isbnsDoLote, boolean rejeitarIsbnExistente) {
+        if (livro == null) {
+            return "Livro não informado";
+        }
+
+        Set<ConstraintViolation<LivroDTO>> violacoes = validator.validate(livro);
+        if (!violacoes.isEmpty()) {
+            return violacoes.stream()
+                    .map(violacao -> violacao.getPropertyPath() + ": " + violacao.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        if (!isbnsDoLote.add(livro.getIsbn())) {
+            return "ISBN repetido no lote: " + livro.getIsbn();
+        }
+        if (rejeitarIsbnExistente && isbnService.existe(livro.getIsbn())) {
+            return "Já existe um livro com este ISBN: " + livro.getIsbn();
+        }
+        if (referenciaService.buscarAutor(livro.getAutorId()).isEmpty()) {
+            return "Autor não encontrado com ID: " + livro.getAutorId();
+        }
+        if (referenciaService.buscarCategoria(livro.getCategoriaId()).isEmpty()) {
+            return "Categoria não encontrada com ID: " + livro.getCategoriaId();
+        }
+        return null;
+    }
+
+    private void gravar(List<Pendente> bloco, Function<List<Pendente>, List<String>> gravacao) {
+        List<String> situacoes = new TransactionTemplate(transactionManager).execute(status -> {
+            List<String> resultado = gravacao.apply(bloco);
+            entityManager.clear();
+            return resultado;
+        });
+
+        for (int i = 0; i < bloco.size(); i++) {
+            bloco.get(i).item().setStatus(situacoes.get(i));
+        }
+    }
+
+    private void gravarIsolado(Pendente pendente, Function<List<Pendente>, List<String>> gravacao) {
+        try {
+            gravar(List.of(pendente), gravacao);
+        } catch (DataIntegrityViolationException e) {
+            falhar(pendente.item(), RestricaoViolada.envolve(e, Livro.RESTRICAO_ISBN_UNICO)
+                    ? "Já existe um livro com este ISBN: " + pendente.livro().getIsbn()
+                    : "Erro ao salvar livro: " + e.getMostSpecificCause().getMessage());
+        } catch (RuntimeException e) {
+            falhar(pendente.item(), "Erro ao salvar livro: " + e.getMessage());
+        }
+    }
+
+    private List<String> inserir(List<Pendente> bloco) {
+        List<Livro> entidades = bloco.stream().map(pendente -> converterParaEntidade(pendente.livro())).toList();
+        livroRepository.saveAll(entidades);
+        livroRepository.flush();
+
+        Map<Long, Integer> deltaPorAutor = new TreeMap<>();
+        Map<Long, Integer> deltaPorCategoria = new TreeMap<>();
+        for (int i = 0; i < bloco.size(); i++) {
+            Livro livro = entidades.get(i);
+            deltaPorAutor.merge(bloco.get(i).livro().getAutorId(), 1, Integer::sum);
+            deltaPorCategoria.merge(bloco.get(i).livro().getCategoriaId(), 1, Integer::sum);
+            isbnService.registrar(livro.getId(), livro.getIsbn());
+            buscaService.indexarLivro(livro.getId(), livro.getTitulo());
+            bloco.get(i).item().setId(livro.getId());
+        }
+        ajustarTotaisDeLivros(deltaPorAutor, deltaPorCategoria);
+        return Collections.nCopies(bloco.size(), CRIADO);
+    }
+
+    private List<String> sincronizar(List<Pendente> bloco) {
+        Map<String, Livro> existentes = new HashMap<>();
+        for (Livro livro : livroRepository.findByIsbnIn(bloco.stream().map(pendente -> pendente.livro().getIsbn()).toList())) {
+            existentes.put(livro.getIsbn(), livro);
+        }
+
+        List<String> situacoes = new ArrayList<>(bloco.size());
+        List<Livro> novos = new ArrayList<>();
+        List<Pendente> pendentesNovos = new ArrayList<>();
+        List<Livro> alterados = new ArrayList<>();
+        Map<Long, Integer> deltaPorAutor = new TreeMap<>();
+        Map<Long, Integer> deltaPorCategoria = new TreeMap<>();
+        for (Pendente pendente : bloco) {
+            LivroDTO dto = pendente.livro();
+            Livro existente = existentes.get(dto.getIsbn());
+            if (existente == null) {
+                novos.add(converterParaEntidade(dto));
+                pendentesNovos.add(pendente);
+                deltaPorAutor.merge(dto.getAutorId(), 1, Integer::sum);
+                deltaPorCategoria.merge(dto.getCategoriaId(), 1, Integer::sum);
+                situacoes.add(INSERIDO);
+            } else if (alterado(existente, dto)) {
+                Long autorAnterior = existente.getAutor().getId();
+                Long categoriaAnterior = existente.getCategoria().getId();
+                if (!autorAnterior.equals(dto.getAutorId())) {
+                    deltaPorAutor.merge(autorAnterior, -1, Integer::sum);
+                    deltaPorAutor.merge(dto.getAutorId(), 1, Integer::sum);
+                }
+                if (!categoriaAnterior.equals(dto.getCategoriaId())) {
+                    deltaPorCategoria.merge(categoriaAnterior, -1, Integer::sum);
+                    deltaPorCategoria.merge(dto.getCategoriaId(), 1, Integer::sum);
+                }
+                aplicar(existente, dto);
+                alterados.add(existente);
+                pendente.item().setId(existente.getId());
+                situacoes.add(ATUALIZADO);
+            } else {
+                pendente.item().setId(existente.getId());
+                situacoes.add(INALTERADO);
+            }
+        }
+
+        livroRepository.saveAll(novos);
+        livroRepository.flush();
+
+        for (int i = 0; i < novos.size(); i++) {
+            Livro livro = novos.get(i);
+            isbnService.registrar(livro.getId(), livro.getIsbn());
+            buscaService.indexarLivro(livro.getId(), livro.getTitulo());
+            pendentesNovos.get(i).item().setId(livro.getId());
+        }
+        for (Livro livro : alterados) {
+            buscaService.indexarLivro(livro.getId(), livro.getTitulo());
+            cacheLivroService.invalidarLivro(livro.getId(), livro.getIsbn());
+        }
+        ajustarTotaisDeLivros(deltaPorAutor, deltaPorCategoria);
+        return situacoes;
+    }
+
+    private boolean alterado(Livro existente, LivroDTO dto) {
+        return !Objects.equals(existente.getTitulo(), dto.getTitulo())
+                || existente.getPreco().compareTo(dto.getPreco()) != 0
+                || !Objects.equals(existente.getAnoPublicacao(), dto.getAnoPublicacao())
+                || !Objects.equals(existente.getUrlOrigem(), dto.getUrlOrigem())
+                || !Objects.equals(existente.getAutor().getId(), dto.getAutorId())
+                || !Objects.equals(existente.getCategoria().getId(), dto.getCategoriaId());
+    }
+
+    private void aplicar(Livro existente, LivroDTO dto) {
+        existente.setTitulo(dto.getTitulo());
+        existente.setPreco(dto.getPreco());
+        existente.setAnoPublicacao(dto.getAnoPublicacao());
+        existente.setUrlOrigem(dto.getUrlOrigem());
+        if (!Objects.equals(existente.getAutor().getId(), dto.getAutorId())) {
+            existente.setAutor(autorRepository.getReferenceById(dto.getAutorId()));
+        }
+        if (!Objects.equals(existente.getCategoria().getId(), dto.getCategoriaId())) {
+            existente.setCategoria(categoriaRepository.getReferenceById(dto.getCategoriaId()));
+        }
+    }
+
+    private void ajustarTotaisDeLivros(Map<Long, Integer> deltaPorAutor, Map<Long, Integer> deltaPorCategoria) {
+        deltaPorAutor.forEach((autorId, delta) -> {
+            if (delta != 0) {
+                autorRepository.ajustarTotalLivros(autorId, delta);
+                referenciaService.ajustarTotalLivrosDoAutor(autorId, delta);
+            }
+            cacheLivroService.invalidarPorAutor(autorId);
+        });
+        deltaPorCategoria.forEach((categoriaId, delta) -> {
+            if (delta != 0) {
+                categoriaRepository.ajustarTotalLivros(categoriaId, delta);
+                referenciaService.ajustarTotalLivrosDaCategoria(categoriaId, delta);
+            }
+            cacheLivroService.invalidarPorCategoria(categoriaId);
+        });
+    }
+
+    private Livro converterParaEntidade(LivroDTO dto) {
+        Livro livro = new Livro();
+        livro.setTitulo(dto.getTitulo());
+        livro.setIsbn(dto.getIsbn());
+        livro.setAnoPublicacao(dto.getAnoPublicacao());
+        livro.setPreco(dto.getPreco());
+        livro.setUrlOrigem(dto.getUrlOrigem());
+        livro.setAutor(autorRepository.getReferenceById(dto.getAutorId()));
+        livro.setCategoria(categoriaRepository.getReferenceById(dto.getCategoriaId()));
+        return livro;
+    }
+
+    private int contar(List<ItemLoteDTO> itens, String status) {
+        return (int) itens.stream().filter(item -> status.equals(item.getStatus())).count();
+    }
+
+    private void falhar(ItemLoteDTO item, String mensagem) {
+        item.setId(null);
+        item.setStatus(ERRO);
+        item.setMensagem(mensagem);
+    }
+
+    private record Pendente(LivroDTO livro, ItemLoteDTO item) {
+    }
+}
@@ -0,0 +1,223 @@
+package com.biblioteca.biblioteca_api.service;
+
+import com.biblioteca.biblioteca_api.dto.AutorDTO;
+import com.biblioteca.biblioteca_api.dto.CategoriaDTO;
+import com.biblioteca.biblioteca_api.model.Autor;
+import com.biblioteca.biblioteca_api.model.Categoria;
+import com.biblioteca.biblioteca_api.repository.AutorRepository;
+import com.biblioteca.biblioteca_api.repository.CategoriaRepository;
+import com.biblioteca.biblioteca_api.util.AposCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+@Service
+public class ReferenciaService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReferenciaService.class);
+
+    private final Referencias<AutorReferencia> autores = new Referencias<>();
+    private final Referencias<CategoriaReferencia> categorias = new Referencias<>();
+
+    @Autowired
+    private AutorRepository autorRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recarregar() {
+        Map<Long, AutorReferencia> novosAutores = new HashMap<>();
+        for (Autor autor : autorRepository.findAll()) {
+            novosAutores.put(autor.getId(), AutorReferencia.de(autor));
+        }
+        Map<Long, CategoriaReferencia> novasCategorias = new HashMap<>();
+        for (Categoria categoria : categoriaRepository.findAll()) {
+            novasCategorias.put(categoria.getId(), CategoriaReferencia.de(categoria));
+        }
+        autores.substituir(novosAutores);
+        categorias.substituir(novasCategorias);
+        logger.info("Referências carregadas: {} autores e {} categorias", novosAutores.size(), novasCategorias.size());
+    }
+
+    public Optional<AutorDTO> buscarAutor(Long id) {
+        return autores.buscar(id, () -> autorRepository.findById(id).map(AutorReferencia::de))
+                .map(AutorReferencia::paraDTO);
+    }
+
+    public Optional<CategoriaDTO> buscarCategoria(Long id) {
+        return categorias.buscar(id, () -> categoriaRepository.findById(id).map(CategoriaReferencia::de))
+                .map(CategoriaReferencia::paraDTO);
+    }
+
+    public long contarLivros() {
+        return categorias.valores().stream().mapToLong(CategoriaReferencia::totalLivros).sum();
+    }
+
+    public void publicarAutor(Autor autor) {
+        AutorReferencia referencia = AutorReferencia.de(autor);
+        autores.alterar(mapa -> comEntrada(mapa, referencia.id(), referencia));
+    }
+
+    public void publicarAlteracoesDoAutor(Long id, Map<String, Object> campos) {
+        autores.alterarEntrada(id, atual -> atual.comAlteracoes(campos));
+    }
+
+    public void removerAutor(Long id) {
+        autores.alterar(mapa -> semEntrada(mapa, id));
+    }
+
+    public void publicarCategoria(Categoria categoria) {
+        CategoriaReferencia referencia = CategoriaReferencia.de(categoria);
+        categorias.alterar(mapa -> comEntrada(mapa, referencia.id(), referencia));
+    }
+
+    public void publicarAlteracoesDaCategoria(Long id, Map<String, Object> campos) {
+        categorias.alterarEntrada(id, atual -> atual.comAlteracoes(campos));
+    }
+
+    public void removerCategoria(Long id) {
+        categorias.alterar(mapa -> semEntrada(mapa, id));
+    }
+
+    public void ajustarTotalLivrosDoAutor(Long id, int delta) {
+        autores.alterarEntrada(id, atual -> atual.comTotalLivros(atual.totalLivros() + delta));
+    }
+
+    public void ajustarTotalLivrosDaCategoria(Long id, int delta) {
+        categorias.alterarEntrada(id, atual -> atual.comTotalLivros(atual.totalLivros() + delta));
+    }
+
+    private static <V> Map<Long, V> comEntrada(Map<Long, V> mapa, Long id, V valor) {
+        Map<Long, V> copia = new HashMap<>(mapa);
+        copia.put(id, valor);
+        return Map.copyOf(copia);
+    }
+
+    private static <V> Map<Long, V> semEntrada(Map<Long, V> mapa, Long id) {
+        if (!mapa.containsKey(id)) {
+            return mapa;
+        }
+        Map<Long, V> copia = new HashMap<>(mapa);
+        copia.remove(id);
+        return Map.copyOf(copia);
+    }
+
+    private static final class Referencias<V> {
+
+        private final AtomicReference<Map<Long, V>> mapa = new AtomicReference<>(Map.of());
+        private final AtomicLong geracao = new AtomicLong();
+        private final AtomicInteger escritasPendentes = new AtomicInteger();
+
+        Optional<V> buscar(Long id, Supplier<Optional<V>> carregar) {
+            V atual = mapa.get().get(id);
+            if (atual != null) {
+                return Optional.of(atual);
+            }
+            long geracaoDaLeitura = geracao.get();
+            Optional<V> carregado = carregar.get();
+            carregado.ifPresent(valor -> mapa.updateAndGet(referencias ->
+                    referencias.containsKey(id) || escritasPendentes.get() > 0 || geracao.get() != geracaoDaLeitura
+                            ? referencias : comEntrada(referencias, id, valor)));
+            return carregado;
+        }
+
+        void alterar(UnaryOperator<Map<Long, V>> alteracao) {
+            escritasPendentes.incrementAndGet();
+            AposCommit.executar(() -> mapa.updateAndGet(alteracao));
+            AposCommit.aoConcluir(() -> {
+                geracao.incrementAndGet();
+                escritasPendentes.decrementAndGet();
+            });
+        }
+
+        void alterarEntrada(Long id, Function<V, V> alteracao) {
+            alterar(referencias -> {
+                V atual = referencias.get(id);
+                return atual == null ? referencias : comEntrada(referencias, id, alteracao.apply(atual));
+            });
+        }
+
+        Collection<V> valores() {
+            return mapa.get().values();
+        }
+
+        void substituir(Map<Long, V> referencias) {
+            geracao.incrementAndGet();
+            mapa.set(Map.copyOf(referencias));
+        }
+    }
+
+    private record AutorReferencia(Long id, String nome, String email, LocalDate dataNascimento, int totalLivros,
+                                   Long versao, LocalDateTime dataAtualizacao) {
+
+        static AutorReferencia de(Autor autor) {
+            return new AutorReferencia(autor.getId(), autor.getNome(), autor.getEmail(), autor.getDataNascimento(),
+                    autor.getTotalLivros() == null ? 0 : autor.getTotalLivros(), autor.getVersao(),
+                    autor.getDataAtualizacao());
+        }
+
+        AutorReferencia comTotalLivros(int novoTotal) {
+            return new AutorReferencia(id, nome, email, dataNascimento, novoTotal, versao, dataAtualizacao);
+        }
+
+        AutorReferencia comAlteracoes(Map<String, Object> campos) {
+            return new AutorReferencia(id, (String) campos.getOrDefault("nome", nome),
+                    (String) campos.getOrDefault("email", email),
+                    (LocalDate) campos.getOrDefault("dataNascimento", dataNascimento), totalLivros,
+                    (Long) campos.getOrDefault("versao", versao),
+                    (LocalDateTime) campos.getOrDefault("dataAtualizacao", dataAtualizacao));
+        }
+
+        AutorDTO paraDTO() {
+            AutorDTO autor = new AutorDTO(id, nome, email, dataNascimento, totalLivros);
+            autor.setVersao(versao);
+            autor.setDataAtualizacao(dataAtualizacao);
+            return autor;
+        }
+    }
+
+    private record CategoriaReferencia(Long id, String nome, String descricao, int totalLivros,
+                                       Long versao, LocalDateTime dataAtualizacao) {
+
+        static CategoriaReferencia de(Categoria categoria) {
+            return new CategoriaReferencia(categoria.getId(), categoria.getNome(), categoria.getDescricao(),
+                    categoria.getTotalLivros() == null ? 0 : categoria.getTotalLivros(), categoria.getVersao(),
+                    categoria.getDataAtualizacao());
+        }
+
+        CategoriaReferencia comTotalLivros(int novoTotal) {
+            return new CategoriaReferencia(id, nome, descricao, novoTotal, versao, dataAtualizacao);
+        }
+
+        CategoriaReferencia comAlteracoes(Map<String, Object> campos) {
+            return new CategoriaReferencia(id, (String) campos.getOrDefault("nome", nome),
+                    (String) campos.getOrDefault("descricao", descricao), totalLivros,
+                    (Long) campos.getOrDefault("versao", versao),
+                    (LocalDateTime) campos.getOrDefault("dataAtualizacao", dataAtualizacao));
+        }
+
+        CategoriaDTO paraDTO() {
+            CategoriaDTO categoria = new CategoriaDTO(id, nome, descricao, totalLivros);
+            categoria.setVersao(versao);
+            categoria.setDataAtualizacao(dataAtualizacao);
+            return categoria;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.biblioteca.biblioteca_api.util;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+
+public final class RestricaoViolada {
+
+    private RestricaoViolada() {
+    }
+
+    public static boolean envolve(DataIntegrityViolationException excecao, String restricao) {
+        Throwable causa = excecao;
+        while (causa != null) {
+            if (causa instanceof ConstraintViolationException violacao && violacao.getConstraintName() != null) {
+                return violacao.getConstraintName().toLowerCase(Locale.ROOT).contains(restricao);
+            }
+            causa = causa.getCause();
+        }
+        return false;
+    }
+}
@@ -0,0 +1,77 @@
+package com.biblioteca.biblioteca_api.busca;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TESTES UNITÁRIOS DA CLASSE - IndiceInvertidoTest")
+public class IndiceInvertidoTest {
+
+    private IndiceInvertido indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndiceInvertido();
+        indice.indexar(1L, "Sapiens: Uma Breve História da Humanidade");
+        indice.indexar(2L, "O Poder do Hábito");
+        indice.indexar(3L, "Hábitos Atômicos");
+        indice.indexar(4L, "Pai Rico, Pai Pobre");
+    }
+
+    @Test
+    @DisplayName("buscar deve ignorar acentos e maiúsculas")
+    void buscar_quandoConsultaSemAcento_entaoEncontraTituloAcentuado() {
+        assertEquals(List.of(1L), indice.buscar("HISTORIA"));
+    }
+
+    @Test
+    @DisplayName("buscar deve exigir todos os termos da consulta")
+    void buscar_quandoVariosTermos_entaoRetornaIntersecao() {
+        assertEquals(List.of(2L), indice.buscar("poder habito"));
+        assertTrue(indice.buscar("poder rico").isEmpty());
+    }
+
+    @Test
+    @DisplayName("buscar deve ordenar correspondências exatas antes de prefixos")
+    void buscar_quandoPrefixo_entaoOrdenaPorRelevancia() {
+        assertEquals(List.of(2L, 3L), indice.buscar("hábito"));
+        assertEquals(List.of(3L, 2L), indice.buscar("hab"));
+    }
+
+    @Test
+    @DisplayName("buscar deve rejeitar consultas sem nenhum termo com o tamanho mínimo")
+    void buscar_quandoConsultaCurtaDemais_entaoLancaExcecao() {
+        assertThrows(IllegalArgumentException.class, () -> indice.buscar(""));
+        assertThrows(IllegalArgumentException.class, () -> indice.buscar("a"));
+        assertThrows(IllegalArgumentException.class, () -> indice.buscar("o p"));
+    }
+
+    @Test
+    @DisplayName("buscar deve usar termos curtos apenas para filtrar os candidatos dos termos indexáveis")
+    void buscar_quandoTermoCurtoAcompanhado_entaoFiltraCandidatos() {
+        assertEquals(List.of(2L), indice.buscar("o poder"));
+        assertTrue(indice.buscar("x poder").isEmpty());
+    }
+
+    @Test
+    @DisplayName("indexar deve substituir os termos de um livro já indexado")
+    void indexar_quandoTituloAlterado_entaoSubstituiTermos() {
+        indice.indexar(4L, "Pai Rico");
+
+        assertTrue(indice.buscar("pobre").isEmpty());
+        assertEquals(List.of(4L), indice.buscar("rico"));
+    }
+
+    @Test
+    @DisplayName("remover deve retirar o livro dos resultados")
+    void remover_quandoLivroIndexado_entaoNaoRetornaMais() {
+        indice.remover(1L);
+
+        assertTrue(indice.buscar("sapiens").isEmpty());
+        assertEquals(3, indice.tamanho());
+    }
+}
@@ -0,0 +1,68 @@
+package com.biblioteca.biblioteca_api.busca;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TESTES UNITÁRIOS DA CLASSE - IndiceIsbnTest")
+public class IndiceIsbnTest {
+
+    private IndiceIsbn indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndiceIsbn();
+        indice.registrar("9788535914849", 1L);
+        indice.registrar("8535914846", 2L);
+    }
+
+    @Test
+    @DisplayName("buscar deve retornar o ID registrado e AUSENTE para ISBNs desconhecidos ou inválidos")
+    void buscar_quandoIsbnRegistrado_entaoRetornaId() {
+        assertEquals(1L, indice.buscar("9788535914849"));
+        assertEquals(2L, indice.buscar("8535914846"));
+        assertEquals(IndiceIsbn.AUSENTE, indice.buscar("9788535914850"));
+        assertEquals(IndiceIsbn.AUSENTE, indice.buscar("978-85-359"));
+        assertEquals(IndiceIsbn.AUSENTE, indice.buscar(null));
+    }
+
+    @Test
+    @DisplayName("ISBN-10 e ISBN-13 com o mesmo valor numérico devem ser chaves distintas")
+    void codificar_quandoMesmoValorEmTamanhosDiferentes_entaoChavesDistintas() {
+        indice.registrar("0000000012", 3L);
+
+        assertEquals(3L, indice.buscar("0000000012"));
+        assertFalse(indice.contem("0000000000012"));
+        assertNotEquals(IndiceIsbn.codificar("0000000012"), IndiceIsbn.codificar("0000000000012"));
+    }
+
+    @Test
+    @DisplayName("remover deve ignorar o ISBN quando ele já pertence a outro livro")
+    void remover_quandoIdDiferente_entaoMantemRegistro() {
+        indice.remover("9788535914849", 99L);
+        assertTrue(indice.contem("9788535914849"));
+
+        indice.remover("9788535914849", 1L);
+        assertFalse(indice.contem("9788535914849"));
+        assertEquals(1, indice.tamanho());
+    }
+
+    @Test
+    @DisplayName("o índice deve crescer e manter as chaves encontráveis após remoções intercaladas")
+    void registrar_quandoMuitosIsbns_entaoTodosPermanecemEncontraveis() {
+        for (long i = 0; i < 10_000; i++) {
+            indice.registrar(String.format("978%010d", i), 100 + i);
+        }
+        for (long i = 0; i < 10_000; i += 2) {
+            indice.remover(String.format("978%010d", i), 100 + i);
+        }
+
+        for (long i = 0; i < 10_000; i++) {
+            long esperado = i % 2 == 0 ? IndiceIsbn.AUSENTE : 100 + i;
+            assertEquals(esperado, indice.buscar(String.format("978%010d", i)));
+        }
+        assertEquals(5_002, indice.tamanho());
+    }
+}
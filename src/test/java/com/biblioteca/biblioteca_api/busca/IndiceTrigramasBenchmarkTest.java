@@ -0,0 +1,110 @@
+package com.biblioteca.biblioteca_api.busca;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("BENCHMARK - Busca aproximada por trigramas")
+public class IndiceTrigramasBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(IndiceTrigramasBenchmarkTest.class);
+
+    private static final int TOTAL_TITULOS = Integer.getInteger("benchmark.titulos", 1_000_000);
+    private static final int TOTAL_PALAVRAS = 20_000;
+    private static final int AQUECIMENTO = 200;
+    private static final int EXECUCOES = 500;
+    private static final String[] SILABAS = {"ba", "be", "ca", "co", "da", "de", "fa", "ga", "la", "le", "li", "ma",
+            "me", "mo", "na", "no", "pa", "pe", "ra", "re", "ri", "sa", "se", "ta", "te", "to", "va", "vi", "tra", "pro"};
+
+    private final Random random = new Random(42);
+    private final IndiceTrigramas indice = new IndiceTrigramas();
+    private final String[] palavras = new String[TOTAL_PALAVRAS];
+    private final List<String> titulos = new ArrayList<>();
+
+    @BeforeAll
+    void gerarIndice() {
+        for (int i = 0; i < TOTAL_PALAVRAS; i++) {
+            StringBuilder palavra = new StringBuilder();
+            int silabas = 2 + random.nextInt(3);
+            for (int s = 0; s < silabas; s++) {
+                palavra.append(SILABAS[random.nextInt(SILABAS.length)]);
+            }
+            palavras[i] = palavra.toString();
+        }
+        for (int i = 0; i < TOTAL_TITULOS; i++) {
+            StringBuilder titulo = new StringBuilder();
+            int total = 2 + random.nextInt(5);
+            for (int p = 0; p < total; p++) {
+                titulo.append(p == 0 ? "" : " ").append(palavras[palavraFrequente()]);
+            }
+            titulos.add(titulo.toString());
+            indice.indexar((long) i, titulo.toString());
+        }
+    }
+
+    private int palavraFrequente() {
+        double u = random.nextDouble();
+        return (int) Math.min(TOTAL_PALAVRAS - 1, Math.floor(Math.pow(TOTAL_PALAVRAS, u)) - 1);
+    }
+
+    private String comErroDeDigitacao(String texto) {
+        char[] letras = texto.toCharArray();
+        int posicao = random.nextInt(letras.length - 1);
+        if (letras[posicao] != ' ' && letras[posicao + 1] != ' ') {
+            char troca = letras[posicao];
+            letras[posicao] = letras[posicao + 1];
+            letras[posicao + 1] = troca;
+        }
+        return new String(letras);
+    }
+
+    @Test
+    @DisplayName("mede a latência da busca aproximada em um índice grande")
+    void buscar_quandoIndiceGrande_entaoRegistraLatencia() {
+        StringBuilder relatorio = new StringBuilder(String.format("%nÍndice com %d títulos%n", indice.tamanho()));
+        relatorio.append(String.format("%-28s %12s %12s%n", "Consulta", "mediana (ms)", "p95 (ms)"));
+        relatorio.append(medir("uma palavra", 1));
+        relatorio.append(medir("duas palavras", 2));
+        relatorio.append(medir("título completo", 0));
+        logger.info(relatorio.toString());
+
+        assertFalse(indice.buscar(titulos.get(0), 0.5, 10).isEmpty());
+    }
+
+    private String medir(String descricao, int palavrasPorConsulta) {
+        String[] consultas = new String[AQUECIMENTO + EXECUCOES];
+        for (int i = 0; i < consultas.length; i++) {
+            String titulo = titulos.get(random.nextInt(titulos.size()));
+            if (palavrasPorConsulta > 0) {
+                String[] tokens = titulo.split(" ");
+                titulo = String.join(" ", Arrays.copyOf(tokens, Math.min(palavrasPorConsulta, tokens.length)));
+            }
+            consultas[i] = comErroDeDigitacao(titulo);
+        }
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            indice.buscar(consultas[i], 0.5, 10);
+        }
+        long[] tempos = new long[EXECUCOES];
+        for (int i = 0; i < EXECUCOES; i++) {
+            long inicio = System.nanoTime();
+            indice.buscar(consultas[AQUECIMENTO + i], 0.5, 10);
+            tempos[i] = System.nanoTime() - inicio;
+        }
+        Arrays.sort(tempos);
+        return String.format("%-28s %12.3f %12.3f%n", descricao,
+                tempos[EXECUCOES / 2] / 1_000_000.0, tempos[EXECUCOES * 95 / 100] / 1_000_000.0);
+    }
+}
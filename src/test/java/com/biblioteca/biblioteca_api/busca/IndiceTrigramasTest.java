@@ -0,0 +1,128 @@
+package com.biblioteca.biblioteca_api.busca;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TESTES UNITÁRIOS DA CLASSE - IndiceTrigramasTest")
+public class IndiceTrigramasTest {
+
+    private IndiceTrigramas indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndiceTrigramas();
+        indice.indexar(1L, "Sapiens: Uma Breve História da Humanidade");
+        indice.indexar(2L, "O Poder do Hábito");
+        indice.indexar(3L, "Hábitos Atômicos");
+        indice.indexar(4L, "Pai Rico, Pai Pobre");
+    }
+
+    private List<Long> ids(List<IndiceTrigramas.Similaridade> resultados) {
+        return resultados.stream().map(IndiceTrigramas.Similaridade::id).toList();
+    }
+
+    @Test
+    @DisplayName("buscar deve encontrar títulos com erros de digitação")
+    void buscar_quandoConsultaComErroDeDigitacao_entaoEncontraTitulo() {
+        assertEquals(List.of(1L), ids(indice.buscar("sapeins", 0.4, 10)));
+        assertEquals(List.of(2L, 3L), ids(indice.buscar("habto", 0.4, 10)));
+    }
+
+    @Test
+    @DisplayName("buscar deve ordenar pela similaridade e preferir textos mais curtos no empate")
+    void buscar_quandoVariosCandidatos_entaoOrdenaPorSimilaridade() {
+        List<IndiceTrigramas.Similaridade> resultados = indice.buscar("habitos", 0.4, 10);
+
+        assertEquals(List.of(3L, 2L), ids(resultados));
+        assertEquals(1.0, resultados.get(0).similaridade());
+        assertTrue(resultados.get(1).similaridade() < 1.0);
+    }
+
+    @Test
+    @DisplayName("buscar deve respeitar a similaridade mínima e o limite")
+    void buscar_quandoLimiteEMinimo_entaoFiltraResultados() {
+        assertTrue(indice.buscar("xyzw", 0.3, 10).isEmpty());
+        assertEquals(1, indice.buscar("habito", 0.3, 1).size());
+    }
+
+    @Test
+    @DisplayName("remover e reindexar devem refletir o texto atual do documento")
+    void indexar_quandoDocumentoAtualizado_entaoSubstituiTextoAnterior() {
+        indice.indexar(4L, "Sapiens em Quadrinhos");
+        indice.remover(1L);
+
+        assertEquals(List.of(4L), ids(indice.buscar("sapiens", 0.5, 10)));
+        assertTrue(indice.buscar("pobre", 0.5, 10).isEmpty());
+        assertEquals(3, indice.tamanho());
+    }
+
+    @Test
+    @DisplayName("compactação deve preservar os documentos ativos após muitas remoções")
+    void remover_quandoMuitasRemocoes_entaoCompactaSemPerderDocumentos() {
+        for (long id = 100; id < 200; id++) {
+            indice.indexar(id, "Livro Temporario " + id);
+        }
+        for (long id = 100; id < 200; id++) {
+            indice.remover(id);
+        }
+
+        assertEquals(4, indice.tamanho());
+        assertEquals(List.of(4L), ids(indice.buscar("pai rico", 0.5, 10)));
+        assertTrue(indice.buscar("temporario", 0.5, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("buscar deve devolver o mesmo top-k que a comparação exaustiva com todos os títulos")
+    void buscar_quandoIndiceAleatorio_entaoEquivaleAComparacaoExaustiva() {
+        String[] palavras = {"casa", "caso", "cama", "rio", "riso", "mar", "marte", "pedra", "pedro", "sol", "solo", "lua"};
+        Random random = new Random(7);
+        IndiceTrigramas aleatorio = new IndiceTrigramas();
+        Map<Long, String> titulos = new HashMap<>();
+        for (long id = 1; id <= 2000; id++) {
+            StringBuilder titulo = new StringBuilder();
+            for (int p = 0, total = 1 + random.nextInt(4); p < total; p++) {
+                titulo.append(palavras[random.nextInt(palavras.length)]).append(' ');
+            }
+            titulos.put(id, titulo.toString().trim());
+            aleatorio.indexar(id, titulo.toString().trim());
+        }
+
+        for (String consulta : List.of("csa", "pedra mar", "riso sol lua", "marte casa caso", "xyz")) {
+            for (double minimo : new double[]{0.3, 0.5, 0.8}) {
+                assertEquals(exaustiva(titulos, consulta, minimo, 7), ids(aleatorio.buscar(consulta, minimo, 7)),
+                        consulta + " / " + minimo);
+            }
+        }
+    }
+
+    private List<Long> exaustiva(Map<Long, String> titulos, String consulta, double minimo, int limite) {
+        Set<String> trigramasConsulta = IndiceTrigramas.trigramas(consulta);
+        List<Object[]> resultados = new ArrayList<>();
+        titulos.forEach((id, titulo) -> {
+            Set<String> trigramasTitulo = IndiceTrigramas.trigramas(titulo);
+            Set<String> comuns = new HashSet<>(trigramasConsulta);
+            comuns.retainAll(trigramasTitulo);
+            double similaridade = (double) comuns.size() / trigramasConsulta.size();
+            if (!comuns.isEmpty() && similaridade >= minimo) {
+                resultados.add(new Object[]{id, similaridade, trigramasTitulo.size(), titulo});
+            }
+        });
+        resultados.sort(Comparator.<Object[]>comparingDouble(r -> (double) r[1]).reversed()
+                .thenComparingInt(r -> (int) r[2])
+                .thenComparing(r -> (String) r[3])
+                .thenComparingLong(r -> (long) r[0]));
+        return resultados.stream().limit(limite).map(r -> (Long) r[0]).toList();
+    }
+}
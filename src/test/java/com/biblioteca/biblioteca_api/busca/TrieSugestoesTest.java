@@ -0,0 +1,137 @@
+package com.biblioteca.biblioteca_api.busca;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TESTES UNITÁRIOS DA CLASSE - TrieSugestoesTest")
+public class TrieSugestoesTest {
+
+    private TrieSugestoes trie;
+
+    @BeforeEach
+    void setUp() {
+        trie = new TrieSugestoes();
+        trie.indexar("LIVRO", 1L, "Sapiens: Uma Breve História da Humanidade");
+        trie.indexar("LIVRO", 2L, "O Poder do Hábito");
+        trie.indexar("LIVRO", 3L, "Hábitos Atômicos");
+        trie.indexar("AUTOR", 1L, "Yuval Noah Harari");
+        trie.indexar("CATEGORIA", 1L, "História");
+    }
+
+    private List<String> textos(List<TrieSugestoes.Sugestao> sugestoes) {
+        return sugestoes.stream().map(TrieSugestoes.Sugestao::texto).toList();
+    }
+
+    @Test
+    @DisplayName("sugerir deve casar o prefixo com o início de qualquer palavra, ignorando acentos")
+    void sugerir_quandoPrefixoDePalavra_entaoRetornaTodosOsTipos() {
+        assertEquals(List.of("Hábitos Atômicos", "Yuval Noah Harari", "O Poder do Hábito"),
+                textos(trie.sugerir("HA", 10)));
+        assertEquals(List.of("História", "Sapiens: Uma Breve História da Humanidade"),
+                textos(trie.sugerir("histo", 10)));
+    }
+
+    @Test
+    @DisplayName("sugerir deve limitar o número de resultados sem repetir itens")
+    void sugerir_quandoLimite_entaoRetornaNoMaximoKItensDistintos() {
+        trie.indexar("LIVRO", 4L, "Pai Rico, Pai Pobre");
+
+        assertEquals(1, trie.sugerir("pai", 10).size());
+        assertEquals(2, trie.sugerir("h", 2).size());
+        assertTrue(trie.sugerir("", 10).isEmpty());
+        assertTrue(trie.sugerir("zz", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("indexar e remover devem atualizar as sugestões incrementalmente")
+    void indexar_quandoTextoAlteradoOuRemovido_entaoAtualizaSugestoes() {
+        trie.indexar("LIVRO", 2L, "O Poder do Agora");
+        trie.remover("CATEGORIA", 1L);
+
+        assertEquals(List.of("Hábitos Atômicos", "Yuval Noah Harari"), textos(trie.sugerir("ha", 10)));
+        assertEquals(List.of("Sapiens: Uma Breve História da Humanidade"), textos(trie.sugerir("hist", 10)));
+        assertEquals(List.of("O Poder do Agora"), textos(trie.sugerir("ago", 10)));
+        assertEquals(4, trie.tamanho());
+    }
+
+    @Test
+    @DisplayName("sugerir deve priorizar a primeira palavra e os textos mais curtos, não a ordem alfabética")
+    void sugerir_quandoLimiteMenorQueCasamentos_entaoRetornaOsMaisRelevantes() {
+        for (long id = 10; id < 70; id++) {
+            trie.indexar("LIVRO", id, "Abacate " + id + " receitas de uma cozinha muito longa");
+        }
+        trie.indexar("CATEGORIA", 2L, "Cozinha");
+        trie.indexar("LIVRO", 5L, "Aba");
+
+        assertEquals(List.of("Aba"), textos(trie.sugerir("aba", 1)));
+        assertEquals(List.of("Cozinha"), textos(trie.sugerir("coz", 1)));
+
+        trie.remover("LIVRO", 5L);
+
+        assertEquals(List.of("Abacate 10 receitas de uma cozinha muito longa"), textos(trie.sugerir("aba", 1)));
+        assertEquals(50, trie.sugerir("aba", 100).size());
+    }
+
+    @Test
+    @DisplayName("sugerir deve coincidir com a classificação exaustiva após inserções, alterações e remoções")
+    void sugerir_quandoAtualizacoesAleatorias_entaoEquivaleAClassificacaoExaustiva() {
+        String[] palavras = {"ana", "anel", "anima", "bar", "barco", "bela", "belo", "cabo", "cabra", "casa"};
+        Random random = new Random(7);
+        Map<Long, String> textos = new HashMap<>();
+        trie.limpar();
+
+        for (int operacao = 0; operacao < 3_000; operacao++) {
+            long id = random.nextInt(300);
+            if (random.nextInt(4) == 0) {
+                trie.remover("LIVRO", id);
+                textos.remove(id);
+            } else {
+                StringBuilder texto = new StringBuilder();
+                int total = 1 + random.nextInt(4);
+                for (int p = 0; p < total; p++) {
+                    texto.append(p == 0 ? "" : " ").append(palavras[random.nextInt(palavras.length)]);
+                }
+                trie.indexar("LIVRO", id, texto.toString());
+                textos.put(id, texto.toString());
+            }
+        }
+
+        for (String prefixo : List.of("a", "an", "b", "bar", "be", "c", "cab", "casa")) {
+            for (int limite : List.of(1, 5, 50)) {
+                assertEquals(classificarExaustivamente(textos, prefixo, limite),
+                        trie.sugerir(prefixo, limite).stream().map(TrieSugestoes.Sugestao::id).toList());
+            }
+        }
+    }
+
+    private List<Long> classificarExaustivamente(Map<Long, String> textos, String prefixo, int limite) {
+        List<long[]> casamentos = new ArrayList<>();
+        textos.forEach((id, texto) -> {
+            List<String> chaves = TrieSugestoes.chaves(texto);
+            for (int palavra = 0; palavra < chaves.size(); palavra++) {
+                if (chaves.get(palavra).startsWith(prefixo)) {
+                    casamentos.add(new long[]{palavra, texto.length(), id});
+                    return;
+                }
+            }
+        });
+        return casamentos.stream()
+                .sorted(Comparator.<long[]>comparingLong(c -> c[0])
+                        .thenComparingLong(c -> c[1])
+                        .thenComparing(c -> textos.get(c[2]))
+                        .thenComparingLong(c -> c[2]))
+                .limit(limite)
+                .map(c -> c[2])
+                .toList();
+    }
+}
@@ -0,0 +1,77 @@
+package com.biblioteca.biblioteca_api.controller;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@DisplayName("TESTES DE INTEGRAÇÃO - Cache de resultados de busca")
+public class CacheConsultasTest {
+
+    private static final String NOVO_LIVRO = """
+            {"titulo": "Homo Deus", "isbn": "9788535928198", "anoPublicacao": 2016,
+             "preco": 49.90, "autorId": 1, "categoriaId": 2}
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private void criarLivro() throws Exception {
+        mockMvc.perform(post("/api/livros").contentType(MediaType.APPLICATION_JSON).content(NOVO_LIVRO))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    @DisplayName("GET /api/livros/buscar repetido deve ser atendido sem consultar o banco")
+    void buscarPorTitulo_quandoRepetido_entaoNaoConsultaBanco() throws Exception {
+        mockMvc.perform(get("/api/livros/buscar?titulo=sapiens")).andExpect(status().isOk());
+
+        statistics.clear();
+        mockMvc.perform(get("/api/livros/buscar?titulo=Sapiens")).andExpect(status().isOk());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("um novo livro deve aparecer nas buscas por filtros que já estavam em cache")
+    void listarTodos_quandoLivroCriadoNaCategoria_entaoResultadoAtualizado() throws Exception {
+        mockMvc.perform(get("/api/livros?categoriaId=2&size=50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].titulo", not(hasItem("Homo Deus"))));
+
+        criarLivro();
+
+        mockMvc.perform(get("/api/livros?categoriaId=2&size=50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].titulo", hasItem("Homo Deus")));
+    }
+}
@@ -0,0 +1,177 @@
+package com.biblioteca.biblioteca_api.controller;
+
+import com.biblioteca.biblioteca_api.model.Autor;
+import com.biblioteca.biblioteca_api.model.Categoria;
+import com.biblioteca.biblioteca_api.model.Livro;
+import com.biblioteca.biblioteca_api.service.CacheConsultasService;
+import com.biblioteca.biblioteca_api.service.LivroService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("TESTES DE INTEGRAÇÃO - Cache de segundo nível e de consultas")
+public class CacheSegundoNivelTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheConsultasService cacheConsultasService;
+
+    @Autowired
+    private LivroService livroService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private long executarEContarConsultas(String url) throws Exception {
+        cacheConsultasService.invalidarTudo();
+        statistics.clear();
+        mockMvc.perform(get(url)).andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    @DisplayName("GET /api/livros repetido com os mesmos filtros deve ser atendido pelo cache de consultas")
+    void listarTodos_quandoRepetido_entaoNaoConsultaBanco() throws Exception {
+        executarEContarConsultas("/api/livros?categoriaId=2&size=3");
+
+        assertEquals(0, executarEContarConsultas("/api/livros?categoriaId=2&size=3"));
+        assertTrue(statistics.getQueryCacheHitCount() > 0);
+    }
+
+    @Test
+    @DisplayName("GET /api/categorias/buscar repetido deve ser atendido pelo cache de consultas e de entidades")
+    void buscarCategoriaPorNome_quandoRepetido_entaoNaoConsultaBanco() throws Exception {
+        executarEContarConsultas("/api/categorias/buscar?nome=Fi");
+
+        assertEquals(0, executarEContarConsultas("/api/categorias/buscar?nome=Fi"));
+    }
+
+    @Test
+    @DisplayName("GET /api/livros/{id} repetido ou condicional deve ser atendido pelo cache de livros sem consultar o banco")
+    void buscarLivro_quandoEmCache_entaoNaoConsultaBancoNemParaOEtag() throws Exception {
+        String etag = mockMvc.perform(get("/api/livros/3"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        statistics.clear();
+
+        mockMvc.perform(get("/api/livros/3"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+        mockMvc.perform(get("/api/livros/3").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("GET /api/admin/cache/segundo-nivel deve expor estatísticas por região")
+    void estatisticas_quandoConsultadas_entaoListaRegioesConfiguradas() throws Exception {
+        mockMvc.perform(get("/api/autores/1")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/autores/1")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/admin/cache/segundo-nivel"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.regiao == 'autores')].acertos").isNotEmpty())
+                .andExpect(jsonPath("$[?(@.regiao == 'livros')]").isNotEmpty())
+                .andExpect(jsonPath("$[?(@.regiao == 'consultas-livros')]").isNotEmpty())
+                .andExpect(jsonPath("$[?(@.regiao == 'consultas-categorias')]").isNotEmpty());
+    }
+
+    @Test
+    @DisplayName("POST /api/livros deve manter em cache os autores e categorias não relacionados ao livro")
+    void criarLivro_quandoAutorNaoRelacionadoEmCache_entaoPermaneceEmCache() throws Exception {
+        mockMvc.perform(get("/api/autores/2")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/categorias/2")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/autores/1")).andExpect(status().isOk());
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        assertTrue(cache.containsEntity(Autor.class, 2L));
+        int totalAnterior = JsonPath.read(mockMvc.perform(get("/api/autores/1"))
+                .andReturn().getResponse().getContentAsString(), "$.totalLivros");
+
+        MvcResult resultado = mockMvc.perform(post("/api/livros").contentType(MediaType.APPLICATION_JSON).content("""
+                        {"titulo": "Livro Sem Efeito No Cache", "isbn": "9786500000024", "anoPublicacao": 2021,
+                         "preco": 19.90, "autorId": 1, "categoriaId": 1}
+                        """))
+                .andExpect(status().isCreated())
+                .andReturn();
+        Integer livroId = JsonPath.read(resultado.getResponse().getContentAsString(), "$.id");
+
+        try {
+            assertTrue(cache.containsEntity(Autor.class, 2L));
+            assertTrue(cache.containsEntity(Categoria.class, 2L));
+            mockMvc.perform(get("/api/autores/1"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalLivros").value(totalAnterior + 1));
+        } finally {
+            livroService.deletar(livroId.longValue());
+        }
+    }
+
+    @Test
+    @DisplayName("PUT /api/livros/{id} deve manter em cache os demais livros")
+    void atualizarLivro_quandoOutroLivroEmCache_entaoPermaneceEmCache() throws Exception {
+        Map<String, Object> livro = new LinkedHashMap<>();
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            entityManager.find(Livro.class, 2L);
+            Livro atual = entityManager.find(Livro.class, 1L);
+            livro.put("titulo", atual.getTitulo());
+            livro.put("isbn", atual.getIsbn());
+            livro.put("anoPublicacao", atual.getAnoPublicacao());
+            livro.put("preco", atual.getPreco());
+            livro.put("urlOrigem", atual.getUrlOrigem());
+            livro.put("autorId", atual.getAutor().getId());
+            livro.put("categoriaId", atual.getCategoria().getId());
+        } finally {
+            entityManager.close();
+        }
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        assertTrue(cache.containsEntity(Livro.class, 2L));
+
+        mockMvc.perform(put("/api/livros/1").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(livro)))
+                .andExpect(status().isOk());
+
+        assertTrue(cache.containsEntity(Livro.class, 2L));
+    }
+}
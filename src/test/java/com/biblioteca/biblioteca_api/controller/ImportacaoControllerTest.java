@@ -0,0 +1,190 @@
+package com.biblioteca.biblioteca_api.controller;
+
+import com.biblioteca.biblioteca_api.dto.LivroDTO;
+import com.biblioteca.biblioteca_api.model.Autor;
+import com.biblioteca.biblioteca_api.repository.AutorRepository;
+import com.biblioteca.biblioteca_api.service.AutorService;
+import com.biblioteca.biblioteca_api.service.LivroScrapingService;
+import com.biblioteca.biblioteca_api.service.LivroService;
+import com.jayway.jsonpath.JsonPath;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("TESTES DE INTEGRAÇÃO - Importação de livros")
+public class ImportacaoControllerTest {
+
+    private static final String IMPORTACAO_AUTOR_INEXISTENTE = """
+            {"url": "https://www.amazon.com.br/livro", "autorId": 999, "categoriaId": 1}
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private HikariDataSource dataSource;
+
+    @Autowired
+    private LivroService livroService;
+
+    @Autowired
+    private AutorService autorService;
+
+    @Autowired
+    private AutorRepository autorRepository;
+
+    @MockitoBean
+    private LivroScrapingService scrapingService;
+
+    private String agendar() throws Exception {
+        MvcResult resultado = mockMvc.perform(post("/api/livros/importar")
+                        .param("assincrono", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(IMPORTACAO_AUTOR_INEXISTENTE))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").isNotEmpty())
+                .andExpect(jsonPath("$.url").value("https://www.amazon.com.br/livro"))
+                .andReturn();
+        String id = JsonPath.read(resultado.getResponse().getContentAsString(), "$.id");
+        assertEquals("/api/importacoes/" + id, resultado.getResponse().getHeader("Location"));
+        return id;
+    }
+
+    private String aguardarConclusao(String id) throws Exception {
+        for (int tentativa = 0; tentativa < 100; tentativa++) {
+            MvcResult resultado = mockMvc.perform(get("/api/importacoes/{id}", id))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            String status = JsonPath.read(resultado.getResponse().getContentAsString(), "$.status");
+            if (!"PENDENTE".equals(status) && !"PROCESSANDO".equals(status)) {
+                return status;
+            }
+            Thread.sleep(50);
+        }
+        return fail("Importação não concluída: " + id);
+    }
+
+    @Test
+    @DisplayName("POST /api/livros/importar?assincrono=true deve responder 202 e permitir acompanhar o resultado")
+    void importarLivro_quandoAssincrono_entaoRetornaAceitoEAcompanha() throws Exception {
+        String id = agendar();
+
+        assertEquals("ERRO", aguardarConclusao(id));
+
+        mockMvc.perform(get("/api/importacoes/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.mensagem").value("Erro de relacionamento: Autor não encontrado com ID: 999"));
+    }
+
+    @Test
+    @DisplayName("DELETE /api/importacoes/{id} deve responder 409 quando a importação já terminou")
+    void cancelarImportacao_quandoConcluida_entaoRetornaConflito() throws Exception {
+        String id = agendar();
+        aguardarConclusao(id);
+
+        mockMvc.perform(delete("/api/importacoes/{id}", id))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("GET /api/importacoes/{id} deve responder 404 para uma importação desconhecida")
+    void buscarImportacao_quandoIdInexistente_entaoRetornaNaoEncontrado() throws Exception {
+        mockMvc.perform(get("/api/importacoes/{id}", "inexistente"))
+                .andExpect(status().isNotFound())
+                .andExpect(header().doesNotExist("Location"));
+    }
+
+    private void extrairRegistrandoConexoes(String url, String isbn, AtomicBoolean transacaoAtiva,
+                                            AtomicInteger conexoesAtivas) {
+        when(scrapingService.extrairDadosLivro(url)).thenAnswer(invocacao -> {
+            transacaoAtiva.set(TransactionSynchronizationManager.isActualTransactionActive());
+            conexoesAtivas.set(dataSource.getHikariPoolMXBean().getActiveConnections());
+            LivroDTO livro = new LivroDTO();
+            livro.setTitulo("Livro Importado Sem Conexão");
+            livro.setIsbn(isbn);
+            livro.setAnoPublicacao(2020);
+            livro.setPreco(BigDecimal.valueOf(49.90));
+            livro.setUrlOrigem(url);
+            return livro;
+        });
+    }
+
+    @Test
+    @DisplayName("POST /api/livros/importar não deve segurar transação nem conexão durante a extração da página")
+    void importarLivro_quandoExtraindoPagina_entaoNaoSeguraConexao() throws Exception {
+        AtomicBoolean transacaoAtiva = new AtomicBoolean(true);
+        AtomicInteger conexoesAtivas = new AtomicInteger(-1);
+        extrairRegistrandoConexoes("https://www.amazon.com.br/conexao", "9786500000017", transacaoAtiva, conexoesAtivas);
+
+        MvcResult resultado = mockMvc.perform(post("/api/livros/importar")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"url": "https://www.amazon.com.br/conexao", "autorId": 1, "categoriaId": 1}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SUCESSO"))
+                .andReturn();
+        Integer livroId = JsonPath.read(resultado.getResponse().getContentAsString(), "$.livroImportado.id");
+        livroService.deletar(livroId.longValue());
+
+        assertFalse(transacaoAtiva.get());
+        assertEquals(0, conexoesAtivas.get());
+    }
+
+    @Test
+    @DisplayName("POST /api/livros/importar não deve segurar conexão na extração quando o autor foi carregado do banco")
+    void importarLivro_quandoAutorForaDasReferencias_entaoNaoSeguraConexao() throws Exception {
+        Autor autor = new Autor();
+        autor.setNome("Autor Fora Das Referências");
+        autor.setEmail("fora.das.referencias@email.com");
+        autor.setDataNascimento(LocalDate.of(1970, 1, 1));
+        Long autorId = autorRepository.save(autor).getId();
+        AtomicBoolean transacaoAtiva = new AtomicBoolean(true);
+        AtomicInteger conexoesAtivas = new AtomicInteger(-1);
+        extrairRegistrandoConexoes("https://www.amazon.com.br/sem-referencia", "9786500000048", transacaoAtiva,
+                conexoesAtivas);
+
+        try {
+            MvcResult resultado = mockMvc.perform(post("/api/livros/importar")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"url\": \"https://www.amazon.com.br/sem-referencia\", \"autorId\": " + autorId
+                                    + ", \"categoriaId\": 1}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.status").value("SUCESSO"))
+                    .andReturn();
+            Integer livroId = JsonPath.read(resultado.getResponse().getContentAsString(), "$.livroImportado.id");
+            livroService.deletar(livroId.longValue());
+        } finally {
+            autorService.deletar(autorId);
+        }
+
+        assertFalse(transacaoAtiva.get());
+        assertEquals(0, conexoesAtivas.get());
+    }
+}
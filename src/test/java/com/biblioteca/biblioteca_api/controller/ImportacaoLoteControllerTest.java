@@ -0,0 +1,161 @@
+package com.biblioteca.biblioteca_api.controller;
+
+import com.biblioteca.biblioteca_api.config.ImportacaoLoteConfig;
+import com.biblioteca.biblioteca_api.dto.ImportacaoDTO;
+import com.biblioteca.biblioteca_api.dto.LivroDTO;
+import com.biblioteca.biblioteca_api.service.ImportacaoLoteService;
+import com.biblioteca.biblioteca_api.service.LivroScrapingService;
+import com.biblioteca.biblioteca_api.service.LivroService;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("TESTES DE INTEGRAÇÃO - Importação de livros em lote")
+public class ImportacaoLoteControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private LivroService livroService;
+
+    @Autowired
+    private ImportacaoLoteService importacaoLoteService;
+
+    @Autowired
+    private ImportacaoLoteConfig importacaoLoteConfig;
+
+    @MockitoBean
+    private LivroScrapingService scrapingService;
+
+    @Test
+    @DisplayName("POST /api/livros/importar/lote deve devolver uma linha NDJSON por URL")
+    void importarEmLote_quandoChamado_entaoTransmiteResultadoPorUrl() throws Exception {
+        MvcResult iniciado = mockMvc.perform(post("/api/livros/importar/lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                [{"url": "https://www.amazon.com.br/a", "autorId": 999, "categoriaId": 1},
+                                 {"url": "ftp://www.amazon.com.br/b", "autorId": 1, "categoriaId": 1},
+                                 {"url": "https://www.amazon.com.br/c", "autorId": 1, "categoriaId": 999}]
+                                """))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        MvcResult resultado = mockMvc.perform(asyncDispatch(iniciado))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andReturn();
+
+        String[] linhas = resultado.getResponse().getContentAsString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, linhas.length);
+        for (int indice = 0; indice < linhas.length; indice++) {
+            assertEquals(indice, (Integer) JsonPath.read(linhas[indice], "$.indice"));
+            assertEquals("ERRO", JsonPath.read(linhas[indice], "$.status"));
+        }
+        assertEquals("Erro de relacionamento: Autor não encontrado com ID: 999", JsonPath.read(linhas[0], "$.mensagem"));
+        assertEquals("url: URL deve começar com http:// ou https://", JsonPath.read(linhas[1], "$.mensagem"));
+        assertEquals("Erro de relacionamento: Categoria não encontrada com ID: 999", JsonPath.read(linhas[2], "$.mensagem"));
+    }
+
+    @Test
+    @DisplayName("POST /api/livros/importar/lote deve responder 400 quando o lote excede o tamanho máximo")
+    void importarEmLote_quandoLoteGrandeDemais_entaoRetornaBadRequest() throws Exception {
+        StringJoiner corpo = new StringJoiner(",", "[", "]");
+        for (int i = 0; i <= 500; i++) {
+            corpo.add("{\"url\": \"https://www.amazon.com.br/" + i + "\", \"autorId\": 1, \"categoriaId\": 1}");
+        }
+
+        mockMvc.perform(post("/api/livros/importar/lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(corpo.toString()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("O lote deve conter entre 1 e 500 importações"));
+    }
+
+    @Test
+    @DisplayName("POST /api/livros/importar/lote deve responder 503 antes de transmitir quando a fila de extrações está cheia")
+    void importarEmLote_quandoFilaCheia_entaoRetornaServiceUnavailable() throws Exception {
+        List<ImportacaoDTO> ocupado = List.of(
+                new ImportacaoDTO("https://www.amazon.com.br/ocupado", 999L, 1L, null, null, null));
+        int capacidade = importacaoLoteConfig.getConcorrencia() + importacaoLoteConfig.getFila();
+        for (int i = 0; i < capacidade; i++) {
+            importacaoLoteService.reservar(ocupado);
+        }
+
+        try {
+            mockMvc.perform(post("/api/livros/importar/lote")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                    [{"url": "https://www.amazon.com.br/a", "autorId": 1, "categoriaId": 1}]
+                                    """))
+                    .andExpect(request().asyncNotStarted())
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(jsonPath("$.message").value("Fila de importações em lote cheia, tente novamente mais tarde"));
+        } finally {
+            for (int i = 0; i < capacidade; i++) {
+                importacaoLoteService.importarEmLote(ocupado, 1, importacao -> { });
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("POST /api/livros/importar/lote deve devolver o livro gravado com autor, categoria e data de cadastro")
+    void importarEmLote_quandoSucesso_entaoTransmiteLivroGravado() throws Exception {
+        LivroDTO extraido = new LivroDTO();
+        extraido.setTitulo("Livro Importado Em Lote");
+        extraido.setIsbn("9786500000031");
+        extraido.setAnoPublicacao(2022);
+        extraido.setPreco(BigDecimal.valueOf(29.90));
+        extraido.setUrlOrigem("https://www.amazon.com.br/lote");
+        when(scrapingService.extrairDadosLivro("https://www.amazon.com.br/lote")).thenReturn(extraido);
+
+        MvcResult iniciado = mockMvc.perform(post("/api/livros/importar/lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                [{"url": "https://www.amazon.com.br/lote", "autorId": 1, "categoriaId": 1}]
+                                """))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String linha = mockMvc.perform(asyncDispatch(iniciado))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8).trim();
+        Integer livroId = JsonPath.read(linha, "$.livroImportado.id");
+        livroService.deletar(livroId.longValue());
+
+        assertEquals("SUCESSO", JsonPath.read(linha, "$.status"));
+        assertNotNull(JsonPath.read(linha, "$.livroImportado.autor.nome"));
+        assertNotNull(JsonPath.read(linha, "$.livroImportado.categoria.nome"));
+        assertNotNull(JsonPath.read(linha, "$.livroImportado.dataCadastro"));
+        assertFalse(JsonPath.<Map<String, Object>>read(linha, "$").containsKey("id"));
+    }
+}
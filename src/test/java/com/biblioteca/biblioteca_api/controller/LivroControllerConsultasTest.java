@@ -0,0 +1,113 @@
+package com.biblioteca.biblioteca_api.controller;
+
+import com.biblioteca.biblioteca_api.service.CacheConsultasService;
+import com.biblioteca.biblioteca_api.service.CacheLivroService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"})
+@AutoConfigureMockMvc
+@DisplayName("TESTES DE INTEGRAÇÃO - Quantidade de consultas dos endpoints de livros")
+public class LivroControllerConsultasTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheLivroService cacheLivroService;
+
+    @Autowired
+    private CacheConsultasService cacheConsultasService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        cacheLivroService.invalidarTudo();
+        cacheConsultasService.invalidarTudo();
+    }
+
+    private long executarEContarConsultas(String url) throws Exception {
+        statistics.clear();
+        mockMvc.perform(get(url)).andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    @DisplayName("GET /api/livros deve executar o mesmo número de consultas independente do tamanho da página")
+    void listarTodos_quandoTamanhoDaPaginaVaria_entaoNumeroDeConsultasConstante() throws Exception {
+        long paginaPequena = executarEContarConsultas("/api/livros?size=2");
+        long paginaGrande = executarEContarConsultas("/api/livros?size=4");
+
+        assertEquals(2, paginaPequena);
+        assertEquals(paginaPequena, paginaGrande);
+    }
+
+    @Test
+    @DisplayName("GET /api/livros com filtros deve carregar a página em uma única consulta de livros")
+    void listarTodos_quandoComFiltros_entaoNumeroDeConsultasConstante() throws Exception {
+        assertEquals(2, executarEContarConsultas("/api/livros?categoriaId=4&size=1"));
+    }
+
+    @Test
+    @DisplayName("GET /api/livros deve projetar os livros sem carregar entidades no contexto de persistência")
+    void listarTodos_quandoChamado_entaoNaoCarregaEntidades() throws Exception {
+        executarEContarConsultas("/api/livros?size=5");
+
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    @DisplayName("GET /api/livros/buscar deve executar um número fixo de consultas")
+    void buscarPorTitulo_quandoVariosResultados_entaoNumeroDeConsultasConstante() throws Exception {
+        assertEquals(1, executarEContarConsultas("/api/livros/buscar?titulo=da"));
+    }
+
+    @Test
+    @DisplayName("GET /api/livros/buscar/paginado deve executar um número fixo de consultas")
+    void buscarPorTituloPaginado_quandoVariosResultados_entaoNumeroDeConsultasConstante() throws Exception {
+        assertEquals(1, executarEContarConsultas("/api/livros/buscar/paginado?titulo=da&size=2"));
+    }
+
+    @Test
+    @DisplayName("GET /api/livros com cursor deve carregar a página em uma única consulta, sem contagem")
+    void listarPorCursor_quandoChamado_entaoUmaUnicaConsulta() throws Exception {
+        assertEquals(1, executarEContarConsultas("/api/livros?cursor=&categoriaId=4&size=1"));
+    }
+
+    @Test
+    @DisplayName("GET /api/livros com contagem=NENHUMA não deve executar a consulta de contagem")
+    void listarTodos_quandoSemContagem_entaoUmaUnicaConsulta() throws Exception {
+        assertEquals(1, executarEContarConsultas("/api/livros?contagem=NENHUMA&size=2"));
+    }
+
+    @Test
+    @DisplayName("GET /api/livros com contagem=ESTIMADA por categoria deve usar o contador da categoria")
+    void listarTodos_quandoContagemEstimadaPorCategoria_entaoNaoContaLivros() throws Exception {
+        statistics.clear();
+        mockMvc.perform(get("/api/livros?contagem=ESTIMADA&categoriaId=4&size=1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,80 @@
+package com.biblioteca.biblioteca_api.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("TESTES DE INTEGRAÇÃO - Paginação por cursor de livros")
+public class LivroControllerCursorTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private JsonNode getJson(String url) throws Exception {
+        String corpo = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(corpo);
+    }
+
+    private List<Long> ids(JsonNode livros) {
+        List<Long> ids = new ArrayList<>();
+        livros.forEach(livro -> ids.add(livro.get("id").asLong()));
+        return ids;
+    }
+
+    private List<Long> percorrerComCursor(String filtros) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        String cursor = "";
+        do {
+            JsonNode pagina = getJson("/api/livros?cursor=" + cursor + filtros);
+            ids.addAll(ids(pagina.get("conteudo")));
+            cursor = pagina.get("proximoCursor").isNull() ? null : pagina.get("proximoCursor").asText();
+        } while (cursor != null);
+        return ids;
+    }
+
+    @Test
+    @DisplayName("percorrer com cursor deve retornar os mesmos livros e na mesma ordem da paginação por offset")
+    void listarPorCursor_quandoPercorreTodasAsPaginas_entaoEquivaleAoOffset() throws Exception {
+        List<Long> porCursor = percorrerComCursor("&size=3&sort=anoPublicacao,desc");
+        List<Long> porOffset = ids(getJson("/api/livros?size=100&sort=anoPublicacao,desc&sort=id,desc").get("content"));
+
+        assertTrue(porOffset.size() > 3);
+        assertEquals(porOffset, porCursor);
+    }
+
+    @Test
+    @DisplayName("cursor deve respeitar os filtros de busca")
+    void listarPorCursor_quandoComFiltros_entaoRetornaApenasLivrosFiltrados() throws Exception {
+        List<Long> porCursor = percorrerComCursor("&size=1&categoriaId=4");
+        List<Long> porOffset = ids(getJson("/api/livros?size=100&categoriaId=4&sort=titulo&sort=id").get("content"));
+
+        assertEquals(porOffset, porCursor);
+    }
+
+    @Test
+    @DisplayName("cursor inválido ou campo de ordenação não suportado deve retornar 400")
+    void listarPorCursor_quandoCursorInvalido_entaoRetornaBadRequest() throws Exception {
+        mockMvc.perform(get("/api/livros?cursor=invalido")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/livros?cursor=&sort=isbn")).andExpect(status().isBadRequest());
+    }
+}
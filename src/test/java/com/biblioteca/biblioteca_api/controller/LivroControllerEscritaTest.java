@@ -0,0 +1,98 @@
+package com.biblioteca.biblioteca_api.controller;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@DisplayName("TESTES DE INTEGRAÇÃO - Caminho de escrita de livros")
+public class LivroControllerEscritaTest {
+
+    private static final String NOVO_LIVRO = """
+            {"titulo": "Homo Deus", "isbn": "9788535928198", "anoPublicacao": 2016,
+             "preco": 49.90, "autorId": 1, "categoriaId": 1}
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("POST /api/livros deve inserir sem carregar autor, categoria ou o livro salvo")
+    void criar_quandoDadosValidos_entaoNaoConsultaRelacionamentos() throws Exception {
+        statistics.clear();
+
+        mockMvc.perform(post("/api/livros").contentType(MediaType.APPLICATION_JSON).content(NOVO_LIVRO))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.autor.nome").value("Yuval Noah Harari"))
+                .andExpect(jsonPath("$.categoria.totalLivros").value(2));
+
+        assertEquals(1, statistics.getEntityInsertCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getEntityFetchCount());
+        assertEquals(0, statistics.getQueryExecutionCount());
+    }
+
+    @Test
+    @DisplayName("POST /api/livros deve retornar 400 quando a restrição de ISBN único é violada")
+    void criar_quandoIsbnGravadoPorOutraInstancia_entaoRetorna400() throws Exception {
+        jdbcTemplate.update("INSERT INTO livros (id, titulo, isbn, ano_publicacao, preco, autor_id, categoria_id, " +
+                "data_cadastro, data_atualizacao) VALUES (NEXT VALUE FOR livros_seq, 'Homo Deus', '9788535928198', " +
+                "2016, 49.90, 1, 1, NOW(), NOW())");
+
+        mockMvc.perform(post("/api/livros").contentType(MediaType.APPLICATION_JSON).content(NOVO_LIVRO))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Já existe um livro com este ISBN: 9788535928198"));
+    }
+
+    @Test
+    @DisplayName("PUT /api/livros/{id} deve gravar com um único UPDATE versionado sem ler o livro antes")
+    void atualizar_quandoDadosValidos_entaoGravaUmUpdateVersionado() throws Exception {
+        Long versao = jdbcTemplate.queryForObject("SELECT versao FROM livros WHERE id = 1", Long.class);
+        mockMvc.perform(get("/api/livros/1")).andExpect(status().isOk());
+        statistics.clear();
+
+        mockMvc.perform(put("/api/livros/1").contentType(MediaType.APPLICATION_JSON).content("""
+                        {"titulo": "Sapiens (edição revista)", "isbn": "9788525432180", "anoPublicacao": 2014,
+                         "preco": 44.90, "autorId": 1, "categoriaId": 1}
+                        """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.autor.nome").value("Yuval Noah Harari"));
+
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getEntityFetchCount());
+        assertEquals(0, statistics.getQueryExecutionCount());
+        assertEquals(versao + 1, jdbcTemplate.queryForObject("SELECT versao FROM livros WHERE id = 1", Long.class));
+    }
+}
@@ -0,0 +1,123 @@
+package com.biblioteca.biblioteca_api.controller;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.StringJoiner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@DisplayName("TESTES DE INTEGRAÇÃO - Criação e sincronização de livros em lote")
+public class LivroControllerLoteTest {
+
+    private static final int TOTAL_LIVROS = 120;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private String livro(int indice, String isbn, long autorId) {
+        return """
+                {"titulo": "Livro em Lote %d", "isbn": "%s", "anoPublicacao": 2020,
+                 "preco": 29.90, "autorId": %d, "categoriaId": %d}
+                """.formatted(indice, isbn, autorId, indice % 2 + 1);
+    }
+
+    @Test
+    @DisplayName("POST /api/livros/lote deve inserir os livros em lotes JDBC com poucas instruções")
+    void criarEmLote_quandoMuitosLivros_entaoInsereEmLotes() throws Exception {
+        StringJoiner corpo = new StringJoiner(",", "[", "]");
+        for (int i = 0; i < TOTAL_LIVROS; i++) {
+            corpo.add(livro(i, String.format("979%010d", i), i % 3 + 1));
+        }
+
+        statistics.clear();
+        mockMvc.perform(post("/api/livros/lote").contentType(MediaType.APPLICATION_JSON).content(corpo.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.criados").value(TOTAL_LIVROS))
+                .andExpect(jsonPath("$.falhas").value(0));
+
+        assertEquals(TOTAL_LIVROS, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() < 20,
+                "instruções preparadas: " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("POST /api/livros/lote deve reportar erros por item sem interromper o lote")
+    void criarEmLote_quandoItensInvalidos_entaoReportaErrosPorItem() throws Exception {
+        String corpo = "[" + livro(0, "9790000000001", 1) + "," + livro(1, "9788525432180", 1) + ","
+                + livro(2, "9790000000003", 99) + "]";
+
+        mockMvc.perform(post("/api/livros/lote").contentType(MediaType.APPLICATION_JSON).content(corpo))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.criados").value(1))
+                .andExpect(jsonPath("$.itens[0].status").value("CRIADO"))
+                .andExpect(jsonPath("$.itens[1].mensagem").value("Já existe um livro com este ISBN: 9788525432180"))
+                .andExpect(jsonPath("$.itens[2].mensagem").value("Autor não encontrado com ID: 99"));
+    }
+
+    @Test
+    @DisplayName("POST /api/livros/lote com lista vazia deve retornar 400")
+    void criarEmLote_quandoListaVazia_entaoRetorna400() throws Exception {
+        mockMvc.perform(post("/api/livros/lote").contentType(MediaType.APPLICATION_JSON).content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("PUT /api/livros/lote deve inserir, atualizar apenas os livros alterados e contar os inalterados")
+    void sincronizarEmLote_quandoCatalogoReenviado_entaoAtualizaSomenteAlterados() throws Exception {
+        String dataAtualizacaoSapiens = mockMvc.perform(get("/api/livros/1"))
+                .andReturn().getResponse().getContentAsString().replaceAll(".*\"dataAtualizacao\":\"([^\"]+)\".*", "$1");
+        String corpo = """
+                [{"titulo": "Sapiens: Uma Breve História da Humanidade", "isbn": "9788525432180",
+                  "anoPublicacao": 2014, "preco": 39.90, "autorId": 1, "categoriaId": 1,
+                  "urlOrigem": "https://www.amazon.com.br/Sapiens-Uma-Breve-Hist%C3%B3ria-Humanidade/dp/8525432180"},
+                 {"titulo": "O Poder do Hábito", "isbn": "9788539004119", "anoPublicacao": 2012, "preco": 29.90,
+                  "autorId": 2, "categoriaId": 2,
+                  "urlOrigem": "https://www.amazon.com.br/poder-do-h%C3%A1bito-Charles-Duhigg/dp/8539004119"},
+                 {"titulo": "Livro Sincronizado", "isbn": "9790000000009", "anoPublicacao": 2020, "preco": 19.90,
+                  "autorId": 3, "categoriaId": 3}]
+                """;
+
+        mockMvc.perform(put("/api/livros/lote").contentType(MediaType.APPLICATION_JSON).content(corpo))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inseridos").value(1))
+                .andExpect(jsonPath("$.atualizados").value(1))
+                .andExpect(jsonPath("$.inalterados").value(1))
+                .andExpect(jsonPath("$.falhas").value(0));
+
+        mockMvc.perform(get("/api/livros/2"))
+                .andExpect(jsonPath("$.preco").value(29.90));
+        mockMvc.perform(get("/api/livros/1"))
+                .andExpect(jsonPath("$.dataAtualizacao").value(dataAtualizacaoSapiens));
+    }
+}
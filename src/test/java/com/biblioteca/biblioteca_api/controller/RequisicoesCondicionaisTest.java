@@ -0,0 +1,215 @@
+package com.biblioteca.biblioteca_api.controller;
+
+import com.biblioteca.biblioteca_api.service.LivroService;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@DisplayName("TESTES DE INTEGRAÇÃO - Requisições condicionais com ETag e Last-Modified")
+public class RequisicoesCondicionaisTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private LivroService livroService;
+
+    private String etag(String url) throws Exception {
+        return mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    @Test
+    @DisplayName("GET /api/livros/{id} deve devolver ETag forte, Last-Modified e 304 quando o ETag coincide")
+    void buscarLivro_quandoIfNoneMatchCoincide_entaoRetorna304() throws Exception {
+        String etag = etag("/api/livros/1");
+
+        assertTrue(etag.startsWith("\""));
+        mockMvc.perform(get("/api/livros/1"))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED));
+        mockMvc.perform(get("/api/livros/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("GET /api/livros/{id} deve responder 304 para If-Modified-Since posterior à última alteração")
+    void buscarLivro_quandoIfModifiedSincePosterior_entaoRetorna304() throws Exception {
+        String ultimaModificacao = mockMvc.perform(get("/api/livros/1"))
+                .andReturn().getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+
+        mockMvc.perform(get("/api/livros/1").header(HttpHeaders.IF_MODIFIED_SINCE, ultimaModificacao))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("alterar o livro deve invalidar o ETag anterior")
+    void buscarLivro_quandoLivroAlterado_entaoEtagMuda() throws Exception {
+        String etagAnterior = etag("/api/livros/1");
+
+        mockMvc.perform(put("/api/livros/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"titulo": "Sapiens (edição revista)", "isbn": "9788525432180", "anoPublicacao": 2014,
+                                 "preco": 44.90, "autorId": 1, "categoriaId": 1}
+                                """))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/livros/1").header(HttpHeaders.IF_NONE_MATCH, etagAnterior))
+                .andExpect(status().isOk());
+        assertNotEquals(etagAnterior, etag("/api/livros/1"));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("um novo livro do mesmo autor deve invalidar o ETag do livro, que embute o total do autor")
+    void buscarLivro_quandoTotalDoAutorMuda_entaoEtagMuda() throws Exception {
+        String etagLivro = etag("/api/livros/1");
+        String etagAutor = etag("/api/autores/1");
+
+        MvcResult resultado = mockMvc.perform(post("/api/livros")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"titulo": "Homo Deus", "isbn": "9788535928198", "anoPublicacao": 2016,
+                                 "preco": 49.90, "autorId": 1, "categoriaId": 2}
+                                """))
+                .andExpect(status().isCreated())
+                .andReturn();
+        Integer livroId = JsonPath.read(resultado.getResponse().getContentAsString(), "$.id");
+
+        try {
+            assertNotEquals(etagLivro, etag("/api/livros/1"));
+            assertNotEquals(etagAutor, etag("/api/autores/1"));
+        } finally {
+            livroService.deletar(livroId.longValue());
+        }
+    }
+
+    @Test
+    @DisplayName("GET de autor e categoria deve responder 304 quando o ETag coincide")
+    void buscarAutorECategoria_quandoIfNoneMatchCoincide_entaoRetorna304() throws Exception {
+        mockMvc.perform(get("/api/autores/1").header(HttpHeaders.IF_NONE_MATCH, etag("/api/autores/1")))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/categorias/1").header(HttpHeaders.IF_NONE_MATCH, etag("/api/categorias/1")))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("GET de listagens deve devolver ETag fraco e 304 quando o conteúdo não mudou")
+    void listarLivros_quandoIfNoneMatchCoincide_entaoRetorna304() throws Exception {
+        String etag = etag("/api/livros?size=3");
+
+        assertTrue(etag.startsWith("W/\""));
+        mockMvc.perform(get("/api/livros?size=3").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("GET de recurso inexistente deve continuar respondendo 404")
+    void buscarLivro_quandoInexistente_entaoRetorna404() throws Exception {
+        mockMvc.perform(get("/api/livros/9999")).andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("PUT com If-Match atual deve gravar e o ETag anterior deve passar a responder 412")
+    void atualizarLivro_quandoIfMatchDesatualizado_entaoRetorna412() throws Exception {
+        String etag = etag("/api/livros/1");
+        String livro = """
+                {"titulo": "Sapiens (edição revista)", "isbn": "9788525432180", "anoPublicacao": 2014,
+                 "preco": 44.90, "autorId": 1, "categoriaId": 1}
+                """;
+
+        mockMvc.perform(put("/api/livros/1").header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON).content(livro))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.titulo").value("Sapiens (edição revista)"));
+
+        mockMvc.perform(put("/api/livros/1").header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON).content(livro))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.status").value(412));
+        assertNotEquals(etag, etag("/api/livros/1"));
+    }
+
+    @Test
+    @DisplayName("PUT com If-Match que difere do ETag atual apenas no autor ou na categoria deve responder 412")
+    void atualizarLivro_quandoIfMatchDifereSomenteNasReferencias_entaoRetorna412() throws Exception {
+        String etag = etag("/api/livros/1");
+        String outraReferencia = etag.substring(0, etag.lastIndexOf('-')) + "-999\"";
+
+        mockMvc.perform(put("/api/livros/1").header(HttpHeaders.IF_MATCH, outraReferencia)
+                        .contentType(MediaType.APPLICATION_JSON).content("""
+                                {"titulo": "Sapiens", "isbn": "9788525432180", "anoPublicacao": 2014,
+                                 "preco": 44.90, "autorId": 1, "categoriaId": 1}
+                                """))
+                .andExpect(status().isPreconditionFailed());
+        assertEquals(etag, etag("/api/livros/1"));
+    }
+
+    @Test
+    @DisplayName("PATCH deve gravar apenas os campos enviados e manter os demais")
+    void atualizarLivroParcialmente_quandoApenasPrecoEnviado_entaoMantemDemaisCampos() throws Exception {
+        mockMvc.perform(patch("/api/livros/1").header(HttpHeaders.IF_MATCH, etag("/api/livros/1"))
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"preco\": 59.90}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.preco").value(59.90))
+                .andExpect(jsonPath("$.isbn").value("9788525432180"))
+                .andExpect(jsonPath("$.autor.id").value(1));
+    }
+
+    @Test
+    @DisplayName("PATCH deve validar os campos enviados e responder 400")
+    void atualizarAutorParcialmente_quandoEmailInvalido_entaoRetorna400() throws Exception {
+        mockMvc.perform(patch("/api/autores/1")
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"email\": \"invalido\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.email").exists());
+    }
+
+    @Test
+    @DisplayName("PUT de categoria deve responder 412 para If-Match fraco ou de outra versão e gravar com o ETag atual")
+    void atualizarCategoria_quandoIfMatchNaoCoincide_entaoRetorna412() throws Exception {
+        String etag = etag("/api/categorias/1");
+        String categoria = """
+                {"nome": "História Mundial", "descricao": null}
+                """;
+
+        mockMvc.perform(put("/api/categorias/1").header(HttpHeaders.IF_MATCH, "W/" + etag)
+                        .contentType(MediaType.APPLICATION_JSON).content(categoria))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(put("/api/categorias/1").header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON).content(categoria))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nome").value("História Mundial"))
+                .andExpect(jsonPath("$.descricao").doesNotExist());
+        mockMvc.perform(put("/api/categorias/1").header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON).content(categoria))
+                .andExpect(status().isPreconditionFailed());
+    }
+}
@@ -0,0 +1,130 @@
+package com.biblioteca.biblioteca_api.repository;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "logging.level.org.hibernate.SQL=WARN",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DirtiesContext
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("BENCHMARK - Filtros dinâmicos da listagem de livros")
+public class LivroRepositoryBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(LivroRepositoryBenchmarkTest.class);
+
+    private static final int TOTAL_LIVROS = Integer.getInteger("benchmark.livros", 200_000);
+    private static final int TOTAL_AUTORES = 500;
+    private static final int TOTAL_CATEGORIAS = 40;
+    private static final int AQUECIMENTO = 50;
+    private static final int EXECUCOES = 200;
+
+    @Autowired
+    private LivroRepository livroRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Random random = new Random(42);
+
+    @BeforeAll
+    void gerarCatalogo() {
+        List<Object[]> autores = new ArrayList<>();
+        for (int i = 0; i < TOTAL_AUTORES; i++) {
+            autores.add(new Object[]{"Autor Benchmark " + i, "autor.benchmark" + i + "@exemplo.com", LocalDate.of(1970, 1, 1)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO autores (id, nome, email, data_nascimento) " +
+                "VALUES (NEXT VALUE FOR autores_seq, ?, ?, ?)", autores);
+
+        List<Object[]> categorias = new ArrayList<>();
+        for (int i = 0; i < TOTAL_CATEGORIAS; i++) {
+            categorias.add(new Object[]{"Categoria Benchmark " + i});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO categorias (id, nome) VALUES (NEXT VALUE FOR categorias_seq, ?)", categorias);
+
+        List<Long> autorIds = jdbcTemplate.queryForList("SELECT id FROM autores", Long.class);
+        List<Long> categoriaIds = jdbcTemplate.queryForList("SELECT id FROM categorias", Long.class);
+
+        List<Object[]> livros = new ArrayList<>(10_000);
+        for (int i = 0; i < TOTAL_LIVROS; i++) {
+            livros.add(new Object[]{
+                    "Livro Benchmark " + Integer.toString(random.nextInt(), 36) + " " + i,
+                    String.format("97%011d", i),
+                    1950 + random.nextInt(75),
+                    BigDecimal.valueOf(10 + random.nextInt(200)),
+                    autorIds.get(random.nextInt(autorIds.size())),
+                    categoriaIds.get(random.nextInt(categoriaIds.size()))
+            });
+            if (livros.size() == 10_000) {
+                inserirLivros(livros);
+                livros.clear();
+            }
+        }
+        inserirLivros(livros);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    private void inserirLivros(List<Object[]> livros) {
+        jdbcTemplate.batchUpdate("INSERT INTO livros (id, titulo, isbn, ano_publicacao, preco, autor_id, " +
+                "categoria_id, data_cadastro, data_atualizacao) " +
+                "VALUES (NEXT VALUE FOR livros_seq, ?, ?, ?, ?, ?, ?, NOW(), NOW())", livros);
+    }
+
+    @Test
+    @DisplayName("mede a latência da primeira página para cada combinação de filtros")
+    void projetarComFiltros_quandoCatalogoGrande_entaoRegistraLatenciaPorCombinacao() {
+        Long categoriaId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM categorias", Long.class);
+        Long autorId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM autores", Long.class);
+        Integer ano = 2000;
+        Pageable pagina = PageRequest.of(0, 20, Sort.by("titulo"));
+
+        StringBuilder relatorio = new StringBuilder(String.format("%nCatálogo com %d livros%n", TOTAL_LIVROS));
+        relatorio.append(String.format("%-28s %12s %12s%n", "Filtros", "mediana (ms)", "p95 (ms)"));
+        relatorio.append(medir("nenhum", null, null, null, pagina));
+        relatorio.append(medir("categoria", categoriaId, null, null, pagina));
+        relatorio.append(medir("ano", null, ano, null, pagina));
+        relatorio.append(medir("autor", null, null, autorId, pagina));
+        relatorio.append(medir("categoria + ano", categoriaId, ano, null, pagina));
+        relatorio.append(medir("autor + ano", null, ano, autorId, pagina));
+        relatorio.append(medir("categoria + ano + autor", categoriaId, ano, autorId, pagina));
+        logger.info(relatorio.toString());
+
+        assertTrue(livroRepository.count() >= TOTAL_LIVROS);
+    }
+
+    private String medir(String descricao, Long categoriaId, Integer ano, Long autorId, Pageable pagina) {
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            livroRepository.projetarComFiltros(categoriaId, ano, autorId, pagina);
+        }
+        long[] tempos = new long[EXECUCOES];
+        for (int i = 0; i < EXECUCOES; i++) {
+            long inicio = System.nanoTime();
+            livroRepository.projetarComFiltros(categoriaId, ano, autorId, pagina);
+            tempos[i] = System.nanoTime() - inicio;
+        }
+        Arrays.sort(tempos);
+        return String.format("%-28s %12.3f %12.3f%n", descricao,
+                tempos[EXECUCOES / 2] / 1_000_000.0, tempos[EXECUCOES * 95 / 100] / 1_000_000.0);
+    }
+}
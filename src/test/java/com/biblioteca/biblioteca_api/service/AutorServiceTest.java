@@ -2,10 +2,13 @@ package com.biblioteca.biblioteca_api.service;
 
 import com.biblioteca.biblioteca_api.dto.AutorDTO;
 import com.biblioteca.biblioteca_api.dto.LivroDTO;
+import com.biblioteca.biblioteca_api.exception.PrecondicaoFalhouException;
 import com.biblioteca.biblioteca_api.model.Autor;
-import com.biblioteca.biblioteca_api.model.Livro;
+import com.biblioteca.biblioteca_api.repository.AtualizacaoCondicional;
 import com.biblioteca.biblioteca_api.repository.AutorRepository;
+import com.biblioteca.biblioteca_api.repository.LivroRepository;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -23,9 +26,13 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,9 +42,37 @@ public class AutorServiceTest {
     @Mock
     private AutorRepository autorRepository;
 
+    @Mock
+    private LivroRepository livroRepository;
+
+    @Mock
+    private BuscaService buscaService;
+
+    @Mock
+    private CacheLivroService cacheLivroService;
+
+    @Mock
+    private CacheConsultasService cacheConsultasService;
+
+    @Mock
+    private ReferenciaService referenciaService;
+
+    @Mock
+    private AtualizacaoCondicional atualizacaoCondicional;
+
+    @Mock
+    private Validator validator;
+
     @InjectMocks
     private AutorService autorService;
 
+    private Autor gerarAutor(String nome, String email, int totalLivros) {
+        Autor autor = new Autor(nome, email, LocalDate.of(1985, 5, 5));
+        autor.setId(1L);
+        autor.setTotalLivros(totalLivros);
+        return autor;
+    }
+
     @Test
     @DisplayName("listarTodos deve retornar autores paginados quando a página é válida")
     void listarTodos_quandoPaginaValida_entaoRetornaAutoresPaginados() {
@@ -124,6 +159,7 @@ public class AutorServiceTest {
         assertEquals("Masashi Kishimoto", resultado.getNome());
         assertEquals("masashi@gmail.com", resultado.getEmail());
         verify(autorRepository).save(any(Autor.class));
+        verify(buscaService).indexarAutor(1L, "Masashi Kishimoto");
     }
 
     @Test
@@ -150,29 +186,28 @@ public class AutorServiceTest {
     }
 
     @Test
-    @DisplayName("atualizar deve atualizar o autor quando o ID é válido")
+    @DisplayName("atualizar deve responder com a linha gravada e publicar apenas os campos alterados")
     void atualizar_quandoIdValido_entaoAtualizaAutor() {
-        Autor autorExistente = new Autor();
-        autorExistente.setId(1L);
-        autorExistente.setNome("Nome Antigo");
-        autorExistente.setEmail("email@antigo.com");
-        autorExistente.setDataNascimento(LocalDate.of(1980, 1, 1));
-        autorExistente.setLivros(new ArrayList<>());
+        AutorDTO atual = new AutorDTO(1L, "Nome Antigo", "email@antigo.com", LocalDate.of(1980, 1, 1), 2);
 
         AutorDTO autorDTO = new AutorDTO();
         autorDTO.setNome("Nome Novo");
         autorDTO.setEmail("email@novo.com");
         autorDTO.setDataNascimento(LocalDate.of(1985, 5, 5));
 
-        when(autorRepository.findById(1L)).thenReturn(Optional.of(autorExistente));
-        when(autorRepository.findByEmail("email@novo.com")).thenReturn(Optional.empty());
-        when(autorRepository.save(any(Autor.class))).thenReturn(autorExistente);
+        when(referenciaService.buscarAutor(1L)).thenReturn(Optional.of(atual));
+        when(atualizacaoCondicional.executar(eq(Autor.class), eq(1L), eq(null), anyMap()))
+                .thenReturn(Optional.of(gerarAutor("Nome Novo", "email@novo.com", 3)));
 
-        AutorDTO resultado = autorService.atualizar(1L, autorDTO);
+        AutorDTO resultado = autorService.atualizar(1L, autorDTO, null);
 
         assertEquals("Nome Novo", resultado.getNome());
         assertEquals("email@novo.com", resultado.getEmail());
-        verify(autorRepository).save(autorExistente);
+        assertEquals(3, resultado.getTotalLivros());
+        verify(referenciaService).publicarAlteracoesDoAutor(eq(1L),
+                argThat(campos -> "Nome Novo".equals(campos.get("nome")) && !campos.containsKey("totalLivros")));
+        verify(autorRepository, never()).findById(any());
+        verify(autorRepository, never()).save(any(Autor.class));
     }
 
     @Test
@@ -183,15 +218,50 @@ public class AutorServiceTest {
         autorDTO.setEmail("teste@gmail.com");
         autorDTO.setDataNascimento(LocalDate.of(1980, 1, 1));
 
-        when(autorRepository.findById(999L)).thenReturn(Optional.empty());
+        when(referenciaService.buscarAutor(999L)).thenReturn(Optional.empty());
 
         EntityNotFoundException exception = assertThrows(
                 EntityNotFoundException.class,
-                () -> autorService.atualizar(999L, autorDTO)
+                () -> autorService.atualizar(999L, autorDTO, null)
         );
 
         assertEquals("Autor não encontrado com ID: 999", exception.getMessage());
-        verify(autorRepository, never()).save(any(Autor.class));
+        verifyNoInteractions(atualizacaoCondicional);
+    }
+
+    @Test
+    @DisplayName("atualizar deve lançar PrecondicaoFalhouException quando a versão do If-Match não é a atual")
+    void atualizar_quandoVersaoEsperadaDesatualizada_entaoLancaPrecondicaoFalhou() {
+        AutorDTO atual = new AutorDTO(1L, "Nome", "email@teste.com", LocalDate.of(1980, 1, 1), 0);
+
+        when(referenciaService.buscarAutor(1L)).thenReturn(Optional.of(atual));
+        when(atualizacaoCondicional.executar(eq(Autor.class), eq(1L), eq(4L), anyMap())).thenReturn(Optional.empty());
+
+        assertThrows(PrecondicaoFalhouException.class, () -> autorService.atualizar(1L, atual, 4L));
+
+        verify(referenciaService, never()).publicarAlteracoesDoAutor(any(), anyMap());
+        verify(cacheLivroService, never()).invalidarPorAutor(any());
+    }
+
+    @Test
+    @DisplayName("atualizarParcialmente deve gravar e publicar apenas os campos informados")
+    void atualizarParcialmente_quandoApenasNomeInformado_entaoGravaSomenteNome() {
+        AutorDTO atual = new AutorDTO(1L, "Nome Antigo", "email@antigo.com", LocalDate.of(1980, 1, 1), 0);
+        AutorDTO alteracoes = new AutorDTO();
+        alteracoes.setNome("Nome Novo");
+
+        when(referenciaService.buscarAutor(1L)).thenReturn(Optional.of(atual));
+        when(atualizacaoCondicional.executar(eq(Autor.class), eq(1L), eq(0L), anyMap()))
+                .thenReturn(Optional.of(gerarAutor("Nome Novo", "email@concorrente.com", 0)));
+
+        AutorDTO resultado = autorService.atualizarParcialmente(1L, alteracoes, 0L);
+
+        assertEquals("Nome Novo", resultado.getNome());
+        assertEquals("email@concorrente.com", resultado.getEmail());
+        verify(atualizacaoCondicional).executar(eq(Autor.class), eq(1L), eq(0L),
+                argThat(campos -> campos.keySet().equals(Set.of("nome", "dataAtualizacao"))));
+        verify(referenciaService).publicarAlteracoesDoAutor(eq(1L), argThat(campos -> !campos.containsKey("email")));
+        verify(validator).validate(any(AutorDTO.class));
     }
 
     @Test
@@ -209,6 +279,7 @@ public class AutorServiceTest {
         assertDoesNotThrow(() -> autorService.deletar(1L));
 
         verify(autorRepository).delete(autor);
+        verify(buscaService).removerAutor(1L);
     }
 
     @Test
@@ -220,19 +291,8 @@ public class AutorServiceTest {
         autor.setEmail("autor@gmail.com");
         autor.setDataNascimento(LocalDate.of(1980, 1, 1));
 
-        Livro livro = new Livro();
-        livro.setId(1L);
-        livro.setTitulo("Livro Teste");
-        livro.setIsbn("1234567890");
-        livro.setAnoPublicacao(2020);
-        livro.setPreco(BigDecimal.valueOf(29.90));
-        livro.setDataCadastro(LocalDateTime.now());
-        livro.setDataAtualizacao(LocalDateTime.now());
-
-        List<Livro> livros = List.of(livro);
-        autor.setLivros(livros);
-
         when(autorRepository.findById(1L)).thenReturn(Optional.of(autor));
+        when(livroRepository.existsByAutorId(1L)).thenReturn(true);
 
         IllegalStateException exception = assertThrows(
                 IllegalStateException.class,
@@ -244,15 +304,9 @@ public class AutorServiceTest {
     }
 
     @Test
-    @DisplayName("listarLivrosDoAutor deve retornar os livros do autor quando ele existe")
+    @DisplayName("listarLivrosDoAutor deve retornar os livros do autor paginados quando ele existe")
     void listarLivrosDoAutor_quandoAutorExiste_entaoRetornaLivros() {
-        Autor autor = new Autor();
-        autor.setId(1L);
-        autor.setNome("Autor Teste");
-        autor.setEmail("autor@gmail.com");
-        autor.setDataNascimento(LocalDate.of(1980, 1, 1));
-
-        Livro livro1 = new Livro();
+        LivroDTO livro1 = new LivroDTO();
         livro1.setId(1L);
         livro1.setTitulo("Livro 1");
         livro1.setIsbn("1111111111");
@@ -261,7 +315,7 @@ public class AutorServiceTest {
         livro1.setDataCadastro(LocalDateTime.now());
         livro1.setDataAtualizacao(LocalDateTime.now());
 
-        Livro livro2 = new Livro();
+        LivroDTO livro2 = new LivroDTO();
         livro2.setId(2L);
         livro2.setTitulo("Livro 2");
         livro2.setIsbn("2222222222");
@@ -270,28 +324,29 @@ public class AutorServiceTest {
         livro2.setDataCadastro(LocalDateTime.now());
         livro2.setDataAtualizacao(LocalDateTime.now());
 
-        List<Livro> livros = List.of(livro1, livro2);
-        autor.setLivros(livros);
+        Pageable pageable = PageRequest.of(0, 10);
 
-        when(autorRepository.findById(1L)).thenReturn(Optional.of(autor));
+        when(autorRepository.existsById(1L)).thenReturn(true);
+        when(livroRepository.projetarPorAutor(1L, pageable)).thenReturn(new PageImpl<>(List.of(livro1, livro2)));
 
-        List<LivroDTO> resultado = autorService.listarLivrosDoAutor(1L);
+        Page<LivroDTO> resultado = autorService.listarLivrosDoAutor(1L, pageable);
 
-        assertEquals(2, resultado.size());
-        assertEquals("Livro 1", resultado.get(0).getTitulo());
-        assertEquals("Livro 2", resultado.get(1).getTitulo());
+        assertEquals(2, resultado.getTotalElements());
+        assertEquals("Livro 1", resultado.getContent().get(0).getTitulo());
+        assertEquals("Livro 2", resultado.getContent().get(1).getTitulo());
     }
 
     @Test
     @DisplayName("listarLivrosDoAutor deve lançar EntityNotFoundException quando o autor não existe")
     void listarLivrosDoAutor_quandoAutorInexistente_entaoLancaEntityNotFound() {
-        when(autorRepository.findById(999L)).thenReturn(Optional.empty());
+        when(autorRepository.existsById(999L)).thenReturn(false);
 
         EntityNotFoundException exception = assertThrows(
                 EntityNotFoundException.class,
-                () -> autorService.listarLivrosDoAutor(999L)
+                () -> autorService.listarLivrosDoAutor(999L, PageRequest.of(0, 10))
         );
 
         assertEquals("Autor não encontrado com ID: 999", exception.getMessage());
+        verify(livroRepository, never()).projetarPorAutor(any(), any());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,157 @@
+package com.biblioteca.biblioteca_api.service;
+
+import com.biblioteca.biblioteca_api.config.CacheConsultasConfig;
+import com.biblioteca.biblioteca_api.dto.EstrategiaContagem;
+import com.biblioteca.biblioteca_api.dto.LivroDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TESTES UNITÁRIOS DA CLASSE - CacheConsultasServiceTest")
+public class CacheConsultasServiceTest {
+
+    private CacheConsultasService cacheConsultasService;
+
+    @BeforeEach
+    void setUp() {
+        cacheConsultasService = new CacheConsultasService(new CacheConsultasConfig());
+    }
+
+    private CacheConsultasService.ChaveFiltros chave(Long categoriaId, Integer ano, Long autorId, Pageable pageable) {
+        return CacheConsultasService.ChaveFiltros.de(categoriaId, ano, autorId, EstrategiaContagem.EXATA, pageable);
+    }
+
+    private Slice<LivroDTO> pagina(Pageable pageable, Long... ids) {
+        List<LivroDTO> livros = Arrays.stream(ids).map(id -> {
+            LivroDTO livro = new LivroDTO();
+            livro.setId(id);
+            return livro;
+        }).toList();
+        return new PageImpl<>(livros, pageable, 10);
+    }
+
+    private void armazenar(CacheConsultasService.ChaveFiltros chave, Slice<LivroDTO> fatia) {
+        cacheConsultasService.armazenarPorFiltros(chave, fatia, cacheConsultasService.geracaoAtual());
+    }
+
+    @Test
+    @DisplayName("armazenarPorFiltros deve guardar os IDs e o total da página")
+    void armazenarPorFiltros_quandoGeracaoAtual_entaoResultadoDisponivel() {
+        Pageable pageable = PageRequest.of(0, 2, Sort.by("titulo"));
+        armazenar(chave(1L, null, null, pageable), pagina(pageable, 3L, 1L));
+
+        CacheConsultasService.ResultadoFiltros resultado =
+                cacheConsultasService.buscarPorFiltros(chave(1L, null, null, PageRequest.of(0, 2, Sort.by("titulo"))));
+
+        assertEquals(List.of(3L, 1L), resultado.ids());
+        assertEquals(10L, resultado.total());
+        assertNull(cacheConsultasService.buscarPorFiltros(chave(1L, null, null, PageRequest.of(1, 2, Sort.by("titulo")))));
+    }
+
+    @Test
+    @DisplayName("armazenarPorFiltros deve descartar leituras iniciadas antes de uma invalidação")
+    void armazenarPorFiltros_quandoHouveInvalidacaoDuranteLeitura_entaoNaoArmazena() {
+        Pageable pageable = PageRequest.of(0, 2);
+        long geracaoDaLeitura = cacheConsultasService.geracaoAtual();
+        cacheConsultasService.invalidarLivro(1L, 1L, 2020, "Dom Casmurro");
+
+        cacheConsultasService.armazenarPorFiltros(chave(1L, null, null, pageable), pagina(pageable, 1L), geracaoDaLeitura);
+
+        assertNull(cacheConsultasService.buscarPorFiltros(chave(1L, null, null, pageable)));
+    }
+
+    @Test
+    @DisplayName("invalidarLivro deve remover apenas as consultas cujos filtros incluem o livro")
+    void invalidarLivro_quandoFiltrosDiferentes_entaoMantemConsultasNaoAfetadas() {
+        Pageable pageable = PageRequest.of(0, 2);
+        armazenar(chave(1L, null, null, pageable), pagina(pageable, 1L));
+        armazenar(chave(2L, null, null, pageable), pagina(pageable, 2L));
+        armazenar(chave(null, 2020, null, pageable), pagina(pageable, 1L));
+        armazenar(chave(null, 1999, null, pageable), pagina(pageable, 3L));
+        armazenar(chave(null, null, null, pageable), pagina(pageable, 1L, 2L));
+
+        cacheConsultasService.invalidarLivro(1L, 7L, 2020, "Dom Casmurro");
+
+        assertNull(cacheConsultasService.buscarPorFiltros(chave(1L, null, null, pageable)));
+        assertNull(cacheConsultasService.buscarPorFiltros(chave(null, 2020, null, pageable)));
+        assertNull(cacheConsultasService.buscarPorFiltros(chave(null, null, null, pageable)));
+        assertNotNull(cacheConsultasService.buscarPorFiltros(chave(2L, null, null, pageable)));
+        assertNotNull(cacheConsultasService.buscarPorFiltros(chave(null, 1999, null, pageable)));
+    }
+
+    @Test
+    @DisplayName("invalidarLivro deve remover apenas as buscas por título que encontrariam o livro")
+    void invalidarLivro_quandoTituloCorresponde_entaoRemoveSomenteConsultasAfetadas() {
+        long geracao = cacheConsultasService.geracaoAtual();
+        cacheConsultasService.armazenarPorTitulo("Dom", List.of(1L), geracao);
+        cacheConsultasService.armazenarPorTitulo("casm dom", List.of(1L), geracao);
+        cacheConsultasService.armazenarPorTitulo("Memórias", List.of(2L), geracao);
+
+        cacheConsultasService.invalidarLivro(1L, 1L, 1899, "Dom Casmurro");
+
+        assertEquals(Optional.empty(), cacheConsultasService.buscarPorTitulo("dom"));
+        assertEquals(Optional.empty(), cacheConsultasService.buscarPorTitulo("Casm Dom"));
+        assertEquals(Optional.of(List.of(2L)), cacheConsultasService.buscarPorTitulo("memorias"));
+    }
+
+    @Test
+    @DisplayName("invalidarLivro deve remover apenas as consultas cujos filtros combinados incluem o livro")
+    void invalidarLivro_quandoFiltrosCombinados_entaoRemoveSomenteConsultasAfetadas() {
+        Pageable pageable = PageRequest.of(0, 2, Sort.by("titulo"));
+        armazenar(chave(1L, null, 2L, pageable), pagina(pageable, 1L));
+        armazenar(chave(1L, null, 3L, pageable), pagina(pageable, 1L));
+        armazenar(chave(null, 2021, 2L, pageable), pagina(pageable, 1L));
+        armazenar(chave(null, 2020, 2L, pageable), pagina(pageable, 1L));
+
+        cacheConsultasService.invalidarLivro(1L, 2L, 2020, "Dom Casmurro");
+
+        assertNull(cacheConsultasService.buscarPorFiltros(chave(1L, null, 2L, pageable)));
+        assertNotNull(cacheConsultasService.buscarPorFiltros(chave(1L, null, 3L, pageable)));
+        assertNotNull(cacheConsultasService.buscarPorFiltros(chave(null, 2021, 2L, pageable)));
+        assertNull(cacheConsultasService.buscarPorFiltros(chave(null, 2020, 2L, pageable)));
+    }
+
+    @Test
+    @DisplayName("invalidarLivro deve alcançar consultas armazenadas novamente após invalidarTudo")
+    void invalidarLivro_quandoArmazenadaAposInvalidarTudo_entaoRemoveConsulta() {
+        Pageable pageable = PageRequest.of(0, 2, Sort.by("titulo"));
+        armazenar(chave(1L, null, null, pageable), pagina(pageable, 1L));
+        cacheConsultasService.armazenarPorTitulo("dom", List.of(1L), cacheConsultasService.geracaoAtual());
+
+        cacheConsultasService.invalidarTudo();
+        assertNull(cacheConsultasService.buscarPorFiltros(chave(1L, null, null, pageable)));
+        assertEquals(Optional.empty(), cacheConsultasService.buscarPorTitulo("dom"));
+
+        armazenar(chave(1L, null, null, pageable), pagina(pageable, 1L));
+        cacheConsultasService.armazenarPorTitulo("dom", List.of(1L), cacheConsultasService.geracaoAtual());
+        cacheConsultasService.invalidarLivro(1L, 1L, 1899, "Dom Casmurro");
+
+        assertNull(cacheConsultasService.buscarPorFiltros(chave(1L, null, null, pageable)));
+        assertEquals(Optional.empty(), cacheConsultasService.buscarPorTitulo("dom"));
+    }
+
+    @Test
+    @DisplayName("invalidarOrdenadasPor deve remover as consultas ordenadas pela associação alterada")
+    void invalidarOrdenadasPor_quandoOrdenadaPorAutor_entaoRemoveConsulta() {
+        Pageable porAutor = PageRequest.of(0, 2, Sort.by("autor.nome"));
+        Pageable porTitulo = PageRequest.of(0, 2, Sort.by("titulo"));
+        armazenar(chave(null, null, null, porAutor), pagina(porAutor, 1L));
+        armazenar(chave(null, null, null, porTitulo), pagina(porTitulo, 1L));
+
+        cacheConsultasService.invalidarOrdenadasPor("autor");
+
+        assertNull(cacheConsultasService.buscarPorFiltros(chave(null, null, null, porAutor)));
+        assertNotNull(cacheConsultasService.buscarPorFiltros(chave(null, null, null, porTitulo)));
+    }
+}
@@ -0,0 +1,112 @@
+package com.biblioteca.biblioteca_api.service;
+
+import com.biblioteca.biblioteca_api.config.CacheLivrosConfig;
+import com.biblioteca.biblioteca_api.dto.EstatisticasCacheDTO;
+import com.biblioteca.biblioteca_api.dto.LivroDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TESTES UNITÁRIOS DA CLASSE - CacheLivroServiceTest")
+public class CacheLivroServiceTest {
+
+    private CacheLivroService cacheLivroService;
+
+    @BeforeEach
+    void setUp() {
+        cacheLivroService = new CacheLivroService(new CacheLivrosConfig());
+    }
+
+    private LivroDTO gerarLivro(Long id, String isbn, Long autorId, Long categoriaId) {
+        LivroDTO livro = new LivroDTO();
+        livro.setId(id);
+        livro.setIsbn(isbn);
+        livro.setAutorId(autorId);
+        livro.setCategoriaId(categoriaId);
+        return livro;
+    }
+
+    private void armazenar(LivroDTO livro) {
+        cacheLivroService.armazenar(livro, cacheLivroService.geracaoAtual());
+    }
+
+    @Test
+    @DisplayName("armazenar deve disponibilizar o livro por ID e por ISBN")
+    void armazenar_quandoGeracaoAtual_entaoLivroDisponivelPorIdEIsbn() {
+        LivroDTO livro = gerarLivro(1L, "1234567890123", 1L, 1L);
+        armazenar(livro);
+
+        assertSame(livro, cacheLivroService.buscarPorId(1L));
+        assertSame(livro, cacheLivroService.buscarPorIsbn("1234567890123"));
+    }
+
+    @Test
+    @DisplayName("armazenar deve descartar leituras iniciadas antes de uma invalidação")
+    void armazenar_quandoHouveInvalidacaoDuranteLeitura_entaoNaoArmazena() {
+        long geracaoDaLeitura = cacheLivroService.geracaoAtual();
+        cacheLivroService.invalidarLivro(1L, "1234567890123");
+
+        cacheLivroService.armazenar(gerarLivro(1L, "1234567890123", 1L, 1L), geracaoDaLeitura);
+
+        assertNull(cacheLivroService.buscarPorId(1L));
+    }
+
+    @Test
+    @DisplayName("invalidarLivro deve remover as entradas por ID, ISBN anterior e ISBN informado")
+    void invalidarLivro_quandoIsbnAlterado_entaoRemoveAmbasAsChaves() {
+        armazenar(gerarLivro(1L, "1111111111111", 1L, 1L));
+
+        cacheLivroService.invalidarLivro(1L, "2222222222222");
+
+        assertNull(cacheLivroService.buscarPorId(1L));
+        assertNull(cacheLivroService.buscarPorIsbn("1111111111111"));
+    }
+
+    @Test
+    @DisplayName("invalidarPorAutor e invalidarPorCategoria devem remover apenas os livros relacionados")
+    void invalidarPorRelacionamento_quandoChamado_entaoRemoveSomenteLivrosRelacionados() {
+        armazenar(gerarLivro(1L, "1111111111111", 1L, 1L));
+        armazenar(gerarLivro(2L, "2222222222222", 2L, 1L));
+        armazenar(gerarLivro(3L, "3333333333333", 2L, 2L));
+
+        cacheLivroService.invalidarPorAutor(1L);
+        assertNull(cacheLivroService.buscarPorId(1L));
+        assertNotNull(cacheLivroService.buscarPorId(2L));
+
+        cacheLivroService.invalidarPorCategoria(2L);
+        assertNull(cacheLivroService.buscarPorIsbn("3333333333333"));
+        assertNotNull(cacheLivroService.buscarPorIsbn("2222222222222"));
+    }
+
+    @Test
+    @DisplayName("armazenar deve reindexar o livro quando o autor e a categoria mudam")
+    void armazenar_quandoRelacionamentoAlterado_entaoInvalidaPeloNovoRelacionamento() {
+        armazenar(gerarLivro(1L, "1111111111111", 1L, 1L));
+        armazenar(gerarLivro(1L, "1111111111111", 2L, 2L));
+
+        cacheLivroService.invalidarPorAutor(1L);
+        cacheLivroService.invalidarPorCategoria(1L);
+        assertNotNull(cacheLivroService.buscarPorId(1L));
+
+        cacheLivroService.invalidarPorAutor(2L);
+        assertNull(cacheLivroService.buscarPorId(1L));
+        assertNull(cacheLivroService.buscarPorIsbn("1111111111111"));
+    }
+
+    @Test
+    @DisplayName("estatisticas deve contabilizar acertos e falhas")
+    void estatisticas_quandoConsultasRealizadas_entaoContabilizaAcertosEFalhas() {
+        armazenar(gerarLivro(1L, "1111111111111", 1L, 1L));
+        cacheLivroService.buscarPorId(1L);
+        cacheLivroService.buscarPorId(2L);
+
+        EstatisticasCacheDTO porId = cacheLivroService.estatisticas().get(0);
+
+        assertEquals("livros-por-id", porId.getNome());
+        assertEquals(1, porId.getAcertos());
+        assertEquals(1, porId.getFalhas());
+        assertEquals(0.5, porId.getTaxaAcerto());
+    }
+}
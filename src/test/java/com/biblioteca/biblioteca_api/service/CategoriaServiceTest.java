@@ -3,9 +3,11 @@ package com.biblioteca.biblioteca_api.service;
 import com.biblioteca.biblioteca_api.dto.CategoriaDTO;
 import com.biblioteca.biblioteca_api.dto.LivroDTO;
 import com.biblioteca.biblioteca_api.model.Categoria;
-import com.biblioteca.biblioteca_api.model.Livro;
+import com.biblioteca.biblioteca_api.repository.AtualizacaoCondicional;
 import com.biblioteca.biblioteca_api.repository.CategoriaRepository;
+import com.biblioteca.biblioteca_api.repository.LivroRepository;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -22,9 +24,13 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,9 +40,36 @@ public class CategoriaServiceTest {
     @Mock
     private CategoriaRepository categoriaRepository;
 
+    @Mock
+    private LivroRepository livroRepository;
+
+    @Mock
+    private BuscaService buscaService;
+
+    @Mock
+    private CacheLivroService cacheLivroService;
+
+    @Mock
+    private CacheConsultasService cacheConsultasService;
+
+    @Mock
+    private ReferenciaService referenciaService;
+
+    @Mock
+    private AtualizacaoCondicional atualizacaoCondicional;
+
+    @Mock
+    private Validator validator;
+
     @InjectMocks
     private CategoriaService categoriaService;
 
+    private Categoria gerarCategoria(String nome, String descricao, int totalLivros) {
+        Categoria categoria = new Categoria(1L, nome, descricao);
+        categoria.setTotalLivros(totalLivros);
+        return categoria;
+    }
+
     @Test
     @DisplayName("listarTodos deve retornar categorias paginadas quando a página é válida")
     void listarTodos_quandoPaginaValida_entaoRetornaCategoriasPaginadas() {
@@ -113,28 +146,31 @@ public class CategoriaServiceTest {
 
         assertEquals(1L, resultado.getId());
         assertEquals("Terror", resultado.getNome());
+        verify(buscaService).indexarCategoria(1L, "Terror");
     }
 
     @Test
-    @DisplayName("atualizar deve atualizar a categoria quando o ID é válido")
+    @DisplayName("atualizar deve responder com a linha gravada e publicar apenas os campos alterados")
     void atualizar_quandoIdValido_entaoAtualizaCategoria() {
-        Categoria categoriaExistente = new Categoria();
-        categoriaExistente.setId(1L);
-        categoriaExistente.setNome("Drama");
-        categoriaExistente.setDescricao("Drama antigo");
-        categoriaExistente.setLivros(new ArrayList<>());
+        CategoriaDTO atual = new CategoriaDTO(1L, "Drama", "Drama antigo", 3);
 
         CategoriaDTO dto = new CategoriaDTO();
         dto.setNome("Drama Atualizado");
         dto.setDescricao("Nova descrição");
 
-        when(categoriaRepository.findById(1L)).thenReturn(Optional.of(categoriaExistente));
-        when(categoriaRepository.save(any(Categoria.class))).thenReturn(categoriaExistente);
+        when(referenciaService.buscarCategoria(1L)).thenReturn(Optional.of(atual));
+        when(atualizacaoCondicional.executar(eq(Categoria.class), eq(1L), eq(null), anyMap()))
+                .thenReturn(Optional.of(gerarCategoria("Drama Atualizado", "Nova descrição", 4)));
 
-        CategoriaDTO resultado = categoriaService.atualizar(1L, dto);
+        CategoriaDTO resultado = categoriaService.atualizar(1L, dto, null);
 
         assertEquals("Drama Atualizado", resultado.getNome());
         assertEquals("Nova descrição", resultado.getDescricao());
+        assertEquals(4, resultado.getTotalLivros());
+        verify(referenciaService).publicarAlteracoesDaCategoria(eq(1L),
+                argThat(campos -> "Drama Atualizado".equals(campos.get("nome"))));
+        verify(categoriaRepository, never()).findById(any());
+        verify(categoriaRepository, never()).save(any(Categoria.class));
     }
 
     @Test
@@ -144,14 +180,36 @@ public class CategoriaServiceTest {
         dto.setNome("Categoria Teste");
         dto.setDescricao("Teste descrição");
 
-        when(categoriaRepository.findById(999L)).thenReturn(Optional.empty());
+        when(referenciaService.buscarCategoria(999L)).thenReturn(Optional.empty());
 
         EntityNotFoundException exception = assertThrows(
                 EntityNotFoundException.class,
-                () -> categoriaService.atualizar(999L, dto)
+                () -> categoriaService.atualizar(999L, dto, null)
         );
 
         assertEquals("Categoria não encontrada com ID: 999", exception.getMessage());
+        verifyNoInteractions(atualizacaoCondicional);
+    }
+
+    @Test
+    @DisplayName("atualizarParcialmente deve manter a descrição quando apenas o nome é informado")
+    void atualizarParcialmente_quandoApenasNomeInformado_entaoMantemDescricao() {
+        CategoriaDTO atual = new CategoriaDTO(1L, "Drama", "Drama antigo", 3);
+        CategoriaDTO alteracoes = new CategoriaDTO();
+        alteracoes.setNome("Drama Clássico");
+
+        when(referenciaService.buscarCategoria(1L)).thenReturn(Optional.of(atual));
+        when(atualizacaoCondicional.executar(eq(Categoria.class), eq(1L), eq(5L), anyMap()))
+                .thenReturn(Optional.of(gerarCategoria("Drama Clássico", "Drama antigo", 3)));
+
+        CategoriaDTO resultado = categoriaService.atualizarParcialmente(1L, alteracoes, 5L);
+
+        assertEquals("Drama Clássico", resultado.getNome());
+        assertEquals("Drama antigo", resultado.getDescricao());
+        verify(atualizacaoCondicional).executar(eq(Categoria.class), eq(1L), eq(5L),
+                argThat(campos -> campos.keySet().equals(Set.of("nome", "dataAtualizacao"))));
+        verify(referenciaService).publicarAlteracoesDaCategoria(eq(1L),
+                argThat(campos -> !campos.containsKey("descricao")));
     }
 
     @Test
@@ -166,6 +224,7 @@ public class CategoriaServiceTest {
 
         assertDoesNotThrow(() -> categoriaService.deletar(1L));
         verify(categoriaRepository).delete(categoria);
+        verify(buscaService).removerCategoria(1L);
     }
 
     @Test
@@ -175,16 +234,8 @@ public class CategoriaServiceTest {
         categoria.setId(1L);
         categoria.setNome("Teste");
 
-        Livro livro = new Livro();
-        livro.setId(1L);
-        livro.setTitulo("Livro Teste");
-        livro.setPreco(BigDecimal.valueOf(20));
-        livro.setDataCadastro(LocalDateTime.now());
-        livro.setDataAtualizacao(LocalDateTime.now());
-
-        categoria.setLivros(List.of(livro));
-
         when(categoriaRepository.findById(1L)).thenReturn(Optional.of(categoria));
+        when(livroRepository.existsByCategoriaId(1L)).thenReturn(true);
 
         IllegalStateException exception = assertThrows(
                 IllegalStateException.class,
@@ -196,44 +247,42 @@ public class CategoriaServiceTest {
     }
 
     @Test
-    @DisplayName("listarLivrosDaCategoria deve retornar livros da categoria quando ela existe")
+    @DisplayName("listarLivrosDaCategoria deve retornar livros da categoria paginados quando ela existe")
     void listarLivrosDaCategoria_quandoCategoriaExiste_entaoRetornaLivros() {
-        Categoria categoria = new Categoria();
-        categoria.setId(1L);
-
-        Livro livro1 = new Livro();
+        LivroDTO livro1 = new LivroDTO();
         livro1.setId(1L);
         livro1.setTitulo("Livro A");
         livro1.setPreco(BigDecimal.valueOf(10));
         livro1.setDataCadastro(LocalDateTime.now());
         livro1.setDataAtualizacao(LocalDateTime.now());
 
-        Livro livro2 = new Livro();
+        LivroDTO livro2 = new LivroDTO();
         livro2.setId(2L);
         livro2.setTitulo("Livro B");
         livro2.setPreco(BigDecimal.valueOf(15));
         livro2.setDataCadastro(LocalDateTime.now());
         livro2.setDataAtualizacao(LocalDateTime.now());
 
-        categoria.setLivros(List.of(livro1, livro2));
+        Pageable pageable = PageRequest.of(0, 10);
 
-        when(categoriaRepository.findById(1L)).thenReturn(Optional.of(categoria));
+        when(categoriaRepository.existsById(1L)).thenReturn(true);
+        when(livroRepository.projetarPorCategoria(1L, pageable)).thenReturn(new PageImpl<>(List.of(livro1, livro2)));
 
-        List<LivroDTO> resultado = categoriaService.listarLivrosDaCategoria(1L);
+        Page<LivroDTO> resultado = categoriaService.listarLivrosDaCategoria(1L, pageable);
 
-        assertEquals(2, resultado.size());
-        assertEquals("Livro A", resultado.get(0).getTitulo());
-        assertEquals("Livro B", resultado.get(1).getTitulo());
+        assertEquals(2, resultado.getTotalElements());
+        assertEquals("Livro A", resultado.getContent().get(0).getTitulo());
+        assertEquals("Livro B", resultado.getContent().get(1).getTitulo());
     }
 
     @Test
     @DisplayName("listarLivrosDaCategoria deve lançar EntityNotFoundException quando a categoria não existe")
     void listarLivrosDaCategoria_quandoCategoriaInexistente_entaoLancaEntityNotFound() {
-        when(categoriaRepository.findById(999L)).thenReturn(Optional.empty());
+        when(categoriaRepository.existsById(999L)).thenReturn(false);
 
         EntityNotFoundException exception = assertThrows(
                 EntityNotFoundException.class,
-                () -> categoriaService.listarLivrosDaCategoria(999L)
+                () -> categoriaService.listarLivrosDaCategoria(999L, PageRequest.of(0, 10))
         );
 
         assertEquals("Categoria não encontrada com ID: 999", exception.getMessage());
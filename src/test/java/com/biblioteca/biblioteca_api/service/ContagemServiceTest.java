@@ -0,0 +1,76 @@
+package com.biblioteca.biblioteca_api.service;
+
+import com.biblioteca.biblioteca_api.dto.AutorDTO;
+import com.biblioteca.biblioteca_api.dto.CategoriaDTO;
+import com.biblioteca.biblioteca_api.repository.LivroRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TESTES UNITÁRIOS DA CLASSE - ContagemServiceTest")
+public class ContagemServiceTest {
+
+    @Mock
+    private LivroRepository livroRepository;
+
+    @Mock
+    private ReferenciaService referenciaService;
+
+    @InjectMocks
+    private ContagemService contagemService;
+
+    @Test
+    @DisplayName("estimarLivros com um único filtro de categoria deve devolver o contador da categoria sem contar livros")
+    void estimarLivros_quandoSomenteCategoria_entaoUsaContador() {
+        when(referenciaService.contarLivros()).thenReturn(100L);
+        when(referenciaService.buscarCategoria(4L)).thenReturn(Optional.of(new CategoriaDTO(4L, "Finanças", null, 20)));
+
+        assertEquals(20, contagemService.estimarLivros(4L, null, null));
+        verifyNoInteractions(livroRepository);
+    }
+
+    @Test
+    @DisplayName("estimarLivros com filtros combinados deve multiplicar as seletividades de cada filtro")
+    void estimarLivros_quandoFiltrosCombinados_entaoAssumeIndependencia() {
+        when(referenciaService.contarLivros()).thenReturn(100L);
+        when(referenciaService.buscarCategoria(4L)).thenReturn(Optional.of(new CategoriaDTO(4L, "Finanças", null, 20)));
+        when(referenciaService.buscarAutor(5L))
+                .thenReturn(Optional.of(new AutorDTO(5L, "Autor", "autor@teste.com", LocalDate.of(1950, 1, 1), 50)));
+        when(livroRepository.contarComFiltros(null, 1997, null)).thenReturn(10L);
+
+        assertEquals(1, contagemService.estimarLivros(4L, 1997, 5L));
+    }
+
+    @Test
+    @DisplayName("estimarLivros deve reutilizar o histograma de anos já consultado")
+    void estimarLivros_quandoMesmoAnoConsultadoDuasVezes_entaoContaUmaVez() {
+        when(referenciaService.contarLivros()).thenReturn(100L);
+        when(livroRepository.contarComFiltros(null, 2020, null)).thenReturn(30L);
+
+        assertEquals(30, contagemService.estimarLivros(null, 2020, null));
+        assertEquals(30, contagemService.estimarLivros(null, 2020, null));
+        verify(livroRepository, times(1)).contarComFiltros(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("estimarLivros deve devolver zero quando o catálogo está vazio")
+    void estimarLivros_quandoCatalogoVazio_entaoRetornaZero() {
+        when(referenciaService.contarLivros()).thenReturn(0L);
+
+        assertEquals(0, contagemService.estimarLivros(1L, 2020, 1L));
+        verify(referenciaService, never()).buscarAutor(anyLong());
+        verifyNoInteractions(livroRepository);
+    }
+}
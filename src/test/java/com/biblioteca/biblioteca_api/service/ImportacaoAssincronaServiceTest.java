@@ -0,0 +1,183 @@
+package com.biblioteca.biblioteca_api.service;
+
+import com.biblioteca.biblioteca_api.config.ImportacaoAssincronaConfig;
+import com.biblioteca.biblioteca_api.dto.ImportacaoDTO;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TESTES UNITÁRIOS DA CLASSE - ImportacaoAssincronaServiceTest")
+public class ImportacaoAssincronaServiceTest {
+
+    @Mock
+    private ImportacaoService importacaoService;
+
+    private ImportacaoAssincronaService importacaoAssincronaService;
+
+    private final CountDownLatch importacaoIniciada = new CountDownLatch(1);
+    private final CountDownLatch liberarImportacao = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        ImportacaoAssincronaConfig config = new ImportacaoAssincronaConfig();
+        config.setThreads(1);
+        config.setFila(1);
+        importacaoAssincronaService = new ImportacaoAssincronaService(config, importacaoService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        liberarImportacao.countDown();
+        importacaoAssincronaService.encerrar();
+    }
+
+    private ImportacaoDTO criarImportacaoDTO(String url) {
+        ImportacaoDTO dto = new ImportacaoDTO();
+        dto.setUrl(url);
+        dto.setAutorId(1L);
+        dto.setCategoriaId(1L);
+        return dto;
+    }
+
+    private void bloquearImportacao(String status) {
+        when(importacaoService.importarLivro(any(ImportacaoDTO.class), any(BooleanSupplier.class))).thenAnswer(invocacao -> {
+            importacaoIniciada.countDown();
+            liberarImportacao.await(5, TimeUnit.SECONDS);
+            ImportacaoDTO dto = invocacao.getArgument(0);
+            BooleanSupplier cancelada = invocacao.getArgument(1);
+            dto.setStatus(cancelada.getAsBoolean() ? "CANCELADO" : status);
+            return dto;
+        });
+    }
+
+    private ImportacaoDTO aguardarConclusao(String id) throws InterruptedException {
+        for (int tentativa = 0; tentativa < 100; tentativa++) {
+            ImportacaoDTO importacao = importacaoAssincronaService.buscar(id);
+            if (!ImportacaoAssincronaService.PENDENTE.equals(importacao.getStatus())
+                    && !ImportacaoAssincronaService.PROCESSANDO.equals(importacao.getStatus())) {
+                return importacao;
+            }
+            Thread.sleep(50);
+        }
+        return fail("Importação não concluída: " + id);
+    }
+
+    @Test
+    @DisplayName("agendar deve retornar a tarefa pendente e concluí-la em segundo plano")
+    void agendar_quandoChamado_entaoConcluiEmSegundoPlano() throws Exception {
+        bloquearImportacao("SUCESSO");
+
+        ImportacaoDTO agendada = importacaoAssincronaService.agendar(criarImportacaoDTO("https://www.amazon.com.br/a"));
+
+        assertNotNull(agendada.getId());
+        assertEquals("PENDENTE", agendada.getStatus());
+        assertTrue(importacaoIniciada.await(5, TimeUnit.SECONDS));
+        assertEquals("PROCESSANDO", importacaoAssincronaService.buscar(agendada.getId()).getStatus());
+
+        liberarImportacao.countDown();
+
+        ImportacaoDTO concluida = aguardarConclusao(agendada.getId());
+        assertEquals("SUCESSO", concluida.getStatus());
+        assertEquals("https://www.amazon.com.br/a", concluida.getUrl());
+    }
+
+    @Test
+    @DisplayName("cancelar deve retirar da fila uma importação que ainda não começou")
+    void cancelar_quandoPendente_entaoNaoExecuta() throws Exception {
+        bloquearImportacao("SUCESSO");
+        importacaoAssincronaService.agendar(criarImportacaoDTO("https://www.amazon.com.br/a"));
+        assertTrue(importacaoIniciada.await(5, TimeUnit.SECONDS));
+        ImportacaoDTO pendente = importacaoAssincronaService.agendar(criarImportacaoDTO("https://www.amazon.com.br/b"));
+
+        ImportacaoDTO cancelada = importacaoAssincronaService.cancelar(pendente.getId());
+
+        assertEquals("CANCELADO", cancelada.getStatus());
+        importacaoAssincronaService.agendar(criarImportacaoDTO("https://www.amazon.com.br/c"));
+        liberarImportacao.countDown();
+        verify(importacaoService, timeout(5000).times(2)).importarLivro(any(ImportacaoDTO.class), any(BooleanSupplier.class));
+        verify(importacaoService, never()).importarLivro(argThat(dto -> dto.getUrl().endsWith("/b")), any(BooleanSupplier.class));
+    }
+
+    @Test
+    @DisplayName("cancelar deve sinalizar a importação em andamento para não gravar o livro")
+    void cancelar_quandoProcessando_entaoSinalizaCancelamento() throws Exception {
+        bloquearImportacao("SUCESSO");
+        ImportacaoDTO agendada = importacaoAssincronaService.agendar(criarImportacaoDTO("https://www.amazon.com.br/a"));
+        assertTrue(importacaoIniciada.await(5, TimeUnit.SECONDS));
+
+        ImportacaoDTO emAndamento = importacaoAssincronaService.cancelar(agendada.getId());
+        liberarImportacao.countDown();
+
+        assertEquals("PROCESSANDO", emAndamento.getStatus());
+        assertEquals("CANCELADO", aguardarConclusao(agendada.getId()).getStatus());
+    }
+
+    @Test
+    @DisplayName("buscar deve encontrar importações ativas mesmo depois de vencida a retenção das concluídas")
+    void buscar_quandoRetencaoVencidaDuranteExecucao_entaoMantemTarefasAtivas() throws Exception {
+        importacaoAssincronaService.encerrar();
+        ImportacaoAssincronaConfig config = new ImportacaoAssincronaConfig();
+        config.setThreads(1);
+        config.setFila(1);
+        config.setTarefasMaximas(1);
+        config.setRetencao(Duration.ofMillis(1));
+        importacaoAssincronaService = new ImportacaoAssincronaService(config, importacaoService);
+        bloquearImportacao("SUCESSO");
+
+        ImportacaoDTO emAndamento = importacaoAssincronaService.agendar(criarImportacaoDTO("https://www.amazon.com.br/a"));
+        assertTrue(importacaoIniciada.await(5, TimeUnit.SECONDS));
+        ImportacaoDTO pendente = importacaoAssincronaService.agendar(criarImportacaoDTO("https://www.amazon.com.br/b"));
+        Thread.sleep(20);
+
+        assertEquals("PROCESSANDO", importacaoAssincronaService.buscar(emAndamento.getId()).getStatus());
+        assertEquals("PENDENTE", importacaoAssincronaService.buscar(pendente.getId()).getStatus());
+    }
+
+    @Test
+    @DisplayName("agendar deve rejeitar a importação quando a fila está cheia")
+    void agendar_quandoFilaCheia_entaoLancaRejectedExecution() throws Exception {
+        bloquearImportacao("SUCESSO");
+        importacaoAssincronaService.agendar(criarImportacaoDTO("https://www.amazon.com.br/a"));
+        assertTrue(importacaoIniciada.await(5, TimeUnit.SECONDS));
+        importacaoAssincronaService.agendar(criarImportacaoDTO("https://www.amazon.com.br/b"));
+
+        assertThrows(RejectedExecutionException.class,
+                () -> importacaoAssincronaService.agendar(criarImportacaoDTO("https://www.amazon.com.br/c")));
+    }
+
+    @Test
+    @DisplayName("cancelar deve lançar IllegalStateException quando a importação já terminou")
+    void cancelar_quandoConcluida_entaoLancaIllegalState() throws Exception {
+        liberarImportacao.countDown();
+        bloquearImportacao("ERRO");
+        ImportacaoDTO agendada = importacaoAssincronaService.agendar(criarImportacaoDTO("https://www.amazon.com.br/a"));
+        aguardarConclusao(agendada.getId());
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> importacaoAssincronaService.cancelar(agendada.getId()));
+
+        assertEquals("Importação já concluída com status: ERRO", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("buscar deve lançar EntityNotFoundException para uma importação desconhecida")
+    void buscar_quandoIdInexistente_entaoLancaEntityNotFound() {
+        assertThrows(EntityNotFoundException.class, () -> importacaoAssincronaService.buscar("inexistente"));
+    }
+}
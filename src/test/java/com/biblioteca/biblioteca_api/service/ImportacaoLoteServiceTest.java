@@ -0,0 +1,315 @@
+package com.biblioteca.biblioteca_api.service;
+
+import com.biblioteca.biblioteca_api.config.ImportacaoLoteConfig;
+import com.biblioteca.biblioteca_api.dto.AutorDTO;
+import com.biblioteca.biblioteca_api.dto.CategoriaDTO;
+import com.biblioteca.biblioteca_api.dto.ImportacaoDTO;
+import com.biblioteca.biblioteca_api.dto.ItemLoteDTO;
+import com.biblioteca.biblioteca_api.dto.LivroDTO;
+import com.biblioteca.biblioteca_api.dto.ResultadoLoteDTO;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TESTES UNITÁRIOS DA CLASSE - ImportacaoLoteServiceTest")
+public class ImportacaoLoteServiceTest {
+
+    @Mock
+    private LivroScrapingService scrapingService;
+
+    @Mock
+    private LoteLivroService loteLivroService;
+
+    @Mock
+    private LivroService livroService;
+
+    @Mock
+    private ReferenciaService referenciaService;
+
+    private ImportacaoLoteService importacaoLoteService;
+
+    private final List<ImportacaoDTO> publicadas = Collections.synchronizedList(new ArrayList<>());
+    private final List<Integer> blocosGravados = Collections.synchronizedList(new ArrayList<>());
+    private final Map<Long, LivroDTO> gravados = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        ImportacaoLoteConfig config = new ImportacaoLoteConfig();
+        config.setConcorrencia(2);
+        config.setTamanhoMaximo(10);
+        config.setBlocoGravacao(2);
+        config.setFila(1);
+        importacaoLoteService = new ImportacaoLoteService(config, scrapingService, loteLivroService, livroService,
+                referenciaService, Validation.buildDefaultValidatorFactory().getValidator());
+    }
+
+    @AfterEach
+    void tearDown() {
+        importacaoLoteService.encerrar();
+    }
+
+    private ImportacaoDTO criarImportacaoDTO(String url) {
+        ImportacaoDTO dto = new ImportacaoDTO();
+        dto.setUrl(url);
+        dto.setAutorId(1L);
+        dto.setCategoriaId(1L);
+        return dto;
+    }
+
+    private LivroDTO criarLivroDTO(String url) {
+        LivroDTO dto = new LivroDTO();
+        dto.setTitulo("Livro " + url);
+        dto.setIsbn("978" + String.format("%010d", Math.abs(url.hashCode()) % 1_000_000_000L));
+        dto.setAnoPublicacao(2023);
+        dto.setPreco(BigDecimal.valueOf(39.90));
+        dto.setUrlOrigem(url);
+        return dto;
+    }
+
+    private void referenciasExistentes() {
+        when(referenciaService.buscarAutor(anyLong()))
+                .thenReturn(Optional.of(new AutorDTO(1L, "Autor Teste", "autor@teste.com", LocalDate.of(1980, 1, 1), 0)));
+        when(referenciaService.buscarCategoria(anyLong()))
+                .thenReturn(Optional.of(new CategoriaDTO(1L, "Categoria Teste", "Descrição teste", 0)));
+    }
+
+    private void gravacaoCriaTodos() {
+        AtomicInteger proximoId = new AtomicInteger(100);
+        when(loteLivroService.criarEmLote(anyList())).thenAnswer(invocacao -> {
+            List<LivroDTO> livros = invocacao.getArgument(0);
+            blocosGravados.add(livros.size());
+            List<ItemLoteDTO> itens = new ArrayList<>();
+            for (int i = 0; i < livros.size(); i++) {
+                long id = proximoId.incrementAndGet();
+                gravados.put(id, persistido(id, livros.get(i)));
+                itens.add(new ItemLoteDTO(i, livros.get(i).getIsbn(), id, "CRIADO", null));
+            }
+            return new ResultadoLoteDTO(itens.size(), itens.size(), 0, itens);
+        });
+        when(livroService.buscarPorIds(anyList())).thenAnswer(invocacao -> {
+            List<Long> ids = invocacao.getArgument(0);
+            return ids.stream().map(gravados::get).toList();
+        });
+    }
+
+    private LivroDTO persistido(Long id, LivroDTO extraido) {
+        LivroDTO livro = new LivroDTO();
+        livro.setId(id);
+        livro.setTitulo(extraido.getTitulo());
+        livro.setIsbn(extraido.getIsbn());
+        livro.setUrlOrigem(extraido.getUrlOrigem());
+        livro.setAutorId(extraido.getAutorId());
+        livro.setCategoriaId(extraido.getCategoriaId());
+        livro.setDataCadastro(LocalDateTime.now());
+        return livro;
+    }
+
+    private Map<Integer, ImportacaoDTO> porIndice() {
+        return publicadas.stream().collect(Collectors.toMap(ImportacaoDTO::getIndice, Function.identity()));
+    }
+
+    @Test
+    @DisplayName("importarEmLote deve extrair em paralelo e gravar os livros em blocos")
+    void importarEmLote_quandoUrlsValidas_entaoGravaEmBlocos() {
+        referenciasExistentes();
+        gravacaoCriaTodos();
+        when(scrapingService.extrairDadosLivro(anyString())).thenAnswer(invocacao -> criarLivroDTO(invocacao.getArgument(0)));
+
+        List<ImportacaoDTO> importacoes = List.of(criarImportacaoDTO("https://www.amazon.com.br/a"),
+                criarImportacaoDTO("https://www.amazon.com.br/b"), criarImportacaoDTO("https://www.amazon.com.br/c"),
+                criarImportacaoDTO("https://www.amazon.com.br/d"), criarImportacaoDTO("https://www.amazon.com.br/e"));
+
+        importacaoLoteService.importarEmLote(importacoes, publicadas::add);
+
+        assertEquals(5, publicadas.size());
+        for (ImportacaoDTO importacao : publicadas) {
+            assertEquals("SUCESSO", importacao.getStatus());
+            assertNotNull(importacao.getLivroImportado().getId());
+            assertEquals(importacoes.get(importacao.getIndice()).getUrl(), importacao.getUrl());
+            assertEquals(importacao.getUrl(), importacao.getLivroImportado().getUrlOrigem());
+            assertEquals(1L, importacao.getLivroImportado().getAutorId());
+            assertNotNull(importacao.getLivroImportado().getDataCadastro());
+        }
+        verify(scrapingService, times(5)).extrairDadosLivro(anyString());
+        assertEquals(5, blocosGravados.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(blocosGravados.stream().allMatch(tamanho -> tamanho <= 2));
+    }
+
+    @Test
+    @DisplayName("importarEmLote não deve ultrapassar o limite de extrações simultâneas")
+    void importarEmLote_quandoMuitasUrls_entaoRespeitaLimiteDeConcorrencia() {
+        referenciasExistentes();
+        gravacaoCriaTodos();
+        CyclicBarrier pares = new CyclicBarrier(2);
+        AtomicInteger emAndamento = new AtomicInteger();
+        AtomicInteger maximo = new AtomicInteger();
+        when(scrapingService.extrairDadosLivro(anyString())).thenAnswer(invocacao -> {
+            maximo.accumulateAndGet(emAndamento.incrementAndGet(), Math::max);
+            try {
+                pares.await(5, TimeUnit.SECONDS);
+                return criarLivroDTO(invocacao.getArgument(0));
+            } finally {
+                emAndamento.decrementAndGet();
+            }
+        });
+
+        List<ImportacaoDTO> importacoes = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            importacoes.add(criarImportacaoDTO("https://www.amazon.com.br/" + i));
+        }
+
+        importacaoLoteService.importarEmLote(importacoes, publicadas::add);
+
+        assertEquals(6, publicadas.size());
+        assertTrue(publicadas.stream().allMatch(importacao -> "SUCESSO".equals(importacao.getStatus())));
+        assertEquals(2, maximo.get());
+    }
+
+    @Test
+    @DisplayName("importarEmLote deve publicar os erros de cada URL sem interromper o lote")
+    void importarEmLote_quandoItensComFalha_entaoPublicaErroPorUrl() {
+        when(referenciaService.buscarAutor(1L))
+                .thenReturn(Optional.of(new AutorDTO(1L, "Autor Teste", "autor@teste.com", LocalDate.of(1980, 1, 1), 0)));
+        when(referenciaService.buscarAutor(999L)).thenReturn(Optional.empty());
+        when(referenciaService.buscarCategoria(1L))
+                .thenReturn(Optional.of(new CategoriaDTO(1L, "Categoria Teste", "Descrição teste", 0)));
+        when(scrapingService.extrairDadosLivro("https://www.amazon.com.br/ok")).thenReturn(criarLivroDTO("https://www.amazon.com.br/ok"));
+        when(scrapingService.extrairDadosLivro("https://www.amazon.com.br/duplicado")).thenReturn(criarLivroDTO("https://www.amazon.com.br/duplicado"));
+        when(scrapingService.extrairDadosLivro("https://www.amazon.com.br/fora")).thenThrow(new RuntimeException("Erro de scraping"));
+        when(loteLivroService.criarEmLote(anyList())).thenAnswer(invocacao -> {
+            List<LivroDTO> livros = invocacao.getArgument(0);
+            blocosGravados.add(livros.size());
+            List<ItemLoteDTO> itens = new ArrayList<>();
+            for (int i = 0; i < livros.size(); i++) {
+                itens.add(livros.get(i).getUrlOrigem().endsWith("/ok")
+                        ? new ItemLoteDTO(i, livros.get(i).getIsbn(), 10L, "CRIADO", null)
+                        : new ItemLoteDTO(i, livros.get(i).getIsbn(), null, "ERRO", "Já existe um livro com este ISBN: " + livros.get(i).getIsbn()));
+            }
+            return new ResultadoLoteDTO(itens.size(), 1, itens.size() - 1, itens);
+        });
+
+        ImportacaoDTO semUrl = criarImportacaoDTO(null);
+        ImportacaoDTO autorInexistente = criarImportacaoDTO("https://www.amazon.com.br/autor");
+        autorInexistente.setAutorId(999L);
+        List<ImportacaoDTO> importacoes = List.of(criarImportacaoDTO("https://www.amazon.com.br/ok"), semUrl,
+                autorInexistente, criarImportacaoDTO("https://www.amazon.com.br/fora"),
+                criarImportacaoDTO("https://www.amazon.com.br/duplicado"));
+
+        importacaoLoteService.importarEmLote(importacoes, publicadas::add);
+
+        Map<Integer, ImportacaoDTO> resultados = porIndice();
+        assertEquals(5, resultados.size());
+        assertEquals("SUCESSO", resultados.get(0).getStatus());
+        assertEquals(10L, resultados.get(0).getLivroImportado().getId());
+        assertEquals("ERRO", resultados.get(1).getStatus());
+        assertEquals("url: URL é obrigatória", resultados.get(1).getMensagem());
+        assertEquals("Erro de relacionamento: Autor não encontrado com ID: 999", resultados.get(2).getMensagem());
+        assertEquals("Erro na importação: Erro de scraping", resultados.get(3).getMensagem());
+        assertEquals("ERRO", resultados.get(4).getStatus());
+        assertNull(resultados.get(4).getLivroImportado());
+        assertTrue(resultados.get(4).getMensagem().startsWith("Já existe um livro com este ISBN"));
+
+        verify(scrapingService, never()).extrairDadosLivro("https://www.amazon.com.br/autor");
+        assertEquals(2, blocosGravados.stream().mapToInt(Integer::intValue).sum());
+    }
+
+    @Test
+    @DisplayName("importarEmLote deve lançar IllegalArgumentException quando o lote excede o tamanho máximo")
+    void importarEmLote_quandoLoteGrandeDemais_entaoLancaIllegalArgument() {
+        List<ImportacaoDTO> importacoes = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            importacoes.add(criarImportacaoDTO("https://www.amazon.com.br/" + i));
+        }
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> importacaoLoteService.importarEmLote(importacoes, publicadas::add));
+
+        assertEquals("O lote deve conter entre 1 e 10 importações", exception.getMessage());
+        verifyNoInteractions(scrapingService, loteLivroService);
+    }
+
+    @Test
+    @DisplayName("importarEmLote deve gravar e publicar um bloco parcial enquanto outras extrações ainda estão em andamento")
+    void importarEmLote_quandoExtracaoLenta_entaoPublicaSucessosSemEsperarOBlocoCompleto() {
+        referenciasExistentes();
+        gravacaoCriaTodos();
+        CountDownLatch primeiraPublicada = new CountDownLatch(1);
+        AtomicBoolean publicadaAntesDoFim = new AtomicBoolean();
+        when(scrapingService.extrairDadosLivro("https://www.amazon.com.br/rapido"))
+                .thenReturn(criarLivroDTO("https://www.amazon.com.br/rapido"));
+        when(scrapingService.extrairDadosLivro("https://www.amazon.com.br/lento")).thenAnswer(invocacao -> {
+            publicadaAntesDoFim.set(primeiraPublicada.await(5, TimeUnit.SECONDS));
+            return criarLivroDTO(invocacao.getArgument(0));
+        });
+
+        importacaoLoteService.importarEmLote(List.of(criarImportacaoDTO("https://www.amazon.com.br/rapido"),
+                criarImportacaoDTO("https://www.amazon.com.br/lento")), importacao -> {
+            publicadas.add(importacao);
+            primeiraPublicada.countDown();
+        });
+
+        assertTrue(publicadaAntesDoFim.get());
+        assertEquals(List.of(1, 1), blocosGravados);
+        assertEquals("https://www.amazon.com.br/rapido", publicadas.get(0).getUrl());
+    }
+
+    @Test
+    @DisplayName("reservar deve lançar RejectedExecutionException quando a fila de extrações está cheia")
+    void reservar_quandoFilaCheia_entaoLancaRejectedExecution() throws Exception {
+        referenciasExistentes();
+        gravacaoCriaTodos();
+        CountDownLatch extracoesIniciadas = new CountDownLatch(2);
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(scrapingService.extrairDadosLivro(anyString())).thenAnswer(invocacao -> {
+            extracoesIniciadas.countDown();
+            liberar.await(5, TimeUnit.SECONDS);
+            return criarLivroDTO(invocacao.getArgument(0));
+        });
+        List<ImportacaoDTO> primeiro = List.of(criarImportacaoDTO("https://www.amazon.com.br/a"),
+                criarImportacaoDTO("https://www.amazon.com.br/b"));
+        int reservadas = importacaoLoteService.reservar(primeiro);
+        Thread lote = new Thread(() -> importacaoLoteService.importarEmLote(primeiro, reservadas, publicadas::add));
+        lote.start();
+        assertTrue(extracoesIniciadas.await(5, TimeUnit.SECONDS));
+
+        RejectedExecutionException exception = assertThrows(RejectedExecutionException.class,
+                () -> importacaoLoteService.reservar(List.of(criarImportacaoDTO("https://www.amazon.com.br/c"),
+                        criarImportacaoDTO("https://www.amazon.com.br/d"))));
+
+        assertEquals("Fila de importações em lote cheia, tente novamente mais tarde", exception.getMessage());
+        liberar.countDown();
+        lote.join(5000);
+        assertEquals(2, publicadas.size());
+        assertEquals(2, importacaoLoteService.reservar(primeiro));
+    }
+}
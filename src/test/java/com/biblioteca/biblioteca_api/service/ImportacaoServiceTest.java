@@ -1,12 +1,9 @@
 package com.biblioteca.biblioteca_api.service;
 
+import com.biblioteca.biblioteca_api.dto.AutorDTO;
+import com.biblioteca.biblioteca_api.dto.CategoriaDTO;
 import com.biblioteca.biblioteca_api.dto.ImportacaoDTO;
 import com.biblioteca.biblioteca_api.dto.LivroDTO;
-import com.biblioteca.biblioteca_api.model.Autor;
-import com.biblioteca.biblioteca_api.model.Categoria;
-import com.biblioteca.biblioteca_api.repository.AutorRepository;
-import com.biblioteca.biblioteca_api.repository.CategoriaRepository;
-import com.biblioteca.biblioteca_api.repository.LivroRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -35,13 +32,10 @@ public class ImportacaoServiceTest {
     private LivroService livroService;
 
     @Mock
-    private AutorRepository autorRepository;
+    private ReferenciaService referenciaService;
 
     @Mock
-    private CategoriaRepository categoriaRepository;
-
-    @Mock
-    private LivroRepository livroRepository;
+    private IsbnService isbnService;
 
     @InjectMocks
     private ImportacaoService importacaoService;
@@ -66,21 +60,12 @@ public class ImportacaoServiceTest {
         return dto;
     }
 
-    private Autor criarAutor() {
-        Autor autor = new Autor();
-        autor.setId(1L);
-        autor.setNome("Autor Teste");
-        autor.setEmail("autor@teste.com");
-        autor.setDataNascimento(LocalDate.of(1980, 1, 1));
-        return autor;
+    private AutorDTO criarAutor() {
+        return new AutorDTO(1L, "Autor Teste", "autor@teste.com", LocalDate.of(1980, 1, 1), 0);
     }
 
-    private Categoria criarCategoria() {
-        Categoria categoria = new Categoria();
-        categoria.setId(1L);
-        categoria.setNome("Categoria Teste");
-        categoria.setDescricao("Descrição teste");
-        return categoria;
+    private CategoriaDTO criarCategoria() {
+        return new CategoriaDTO(1L, "Categoria Teste", "Descrição teste", 0);
     }
 
     @Test
@@ -89,13 +74,13 @@ public class ImportacaoServiceTest {
         ImportacaoDTO importacaoDTO = criarImportacaoDTO();
         LivroDTO livroExtraido = criarLivroDTO();
         LivroDTO livroSalvo = criarLivroDTO();
-        Autor autor = criarAutor();
-        Categoria categoria = criarCategoria();
+        AutorDTO autor = criarAutor();
+        CategoriaDTO categoria = criarCategoria();
 
-        when(autorRepository.findById(1L)).thenReturn(Optional.of(autor));
-        when(categoriaRepository.findById(1L)).thenReturn(Optional.of(categoria));
+        when(referenciaService.buscarAutor(1L)).thenReturn(Optional.of(autor));
+        when(referenciaService.buscarCategoria(1L)).thenReturn(Optional.of(categoria));
         when(scrapingService.extrairDadosLivro(anyString())).thenReturn(livroExtraido);
-        when(livroRepository.existsByIsbn(anyString())).thenReturn(false);
+        when(isbnService.existe(anyString())).thenReturn(false);
         when(livroService.criar(any(LivroDTO.class))).thenReturn(livroSalvo);
 
         ImportacaoDTO resultado = importacaoService.importarLivro(importacaoDTO);
@@ -113,7 +98,7 @@ public class ImportacaoServiceTest {
     void importarLivro_quandoAutorInexistente_entaoRetornaErro() {
         ImportacaoDTO importacaoDTO = criarImportacaoDTO();
 
-        when(autorRepository.findById(1L)).thenReturn(Optional.empty());
+        when(referenciaService.buscarAutor(1L)).thenReturn(Optional.empty());
 
         ImportacaoDTO resultado = importacaoService.importarLivro(importacaoDTO);
 
@@ -129,10 +114,10 @@ public class ImportacaoServiceTest {
     @DisplayName("importarLivro deve retornar erro quando categoria não existe")
     void importarLivro_quandoCategoriaInexistente_entaoRetornaErro() {
         ImportacaoDTO importacaoDTO = criarImportacaoDTO();
-        Autor autor = criarAutor();
+        AutorDTO autor = criarAutor();
 
-        when(autorRepository.findById(1L)).thenReturn(Optional.of(autor));
-        when(categoriaRepository.findById(1L)).thenReturn(Optional.empty());
+        when(referenciaService.buscarAutor(1L)).thenReturn(Optional.of(autor));
+        when(referenciaService.buscarCategoria(1L)).thenReturn(Optional.empty());
 
         ImportacaoDTO resultado = importacaoService.importarLivro(importacaoDTO);
 
@@ -149,13 +134,13 @@ public class ImportacaoServiceTest {
     void importarLivro_quandoIsbnJaExiste_entaoRetornaErro() {
         ImportacaoDTO importacaoDTO = criarImportacaoDTO();
         LivroDTO livroExtraido = criarLivroDTO();
-        Autor autor = criarAutor();
-        Categoria categoria = criarCategoria();
+        AutorDTO autor = criarAutor();
+        CategoriaDTO categoria = criarCategoria();
 
-        when(autorRepository.findById(1L)).thenReturn(Optional.of(autor));
-        when(categoriaRepository.findById(1L)).thenReturn(Optional.of(categoria));
+        when(referenciaService.buscarAutor(1L)).thenReturn(Optional.of(autor));
+        when(referenciaService.buscarCategoria(1L)).thenReturn(Optional.of(categoria));
         when(scrapingService.extrairDadosLivro(anyString())).thenReturn(livroExtraido);
-        when(livroRepository.existsByIsbn(anyString())).thenReturn(true);
+        when(isbnService.existe(anyString())).thenReturn(true);
 
         ImportacaoDTO resultado = importacaoService.importarLivro(importacaoDTO);
 
@@ -171,11 +156,11 @@ public class ImportacaoServiceTest {
     @DisplayName("importarLivro deve retornar erro quando scraping falha")
     void importarLivro_quandoScrapingFalha_entaoRetornaErro() {
         ImportacaoDTO importacaoDTO = criarImportacaoDTO();
-        Autor autor = criarAutor();
-        Categoria categoria = criarCategoria();
+        AutorDTO autor = criarAutor();
+        CategoriaDTO categoria = criarCategoria();
 
-        when(autorRepository.findById(1L)).thenReturn(Optional.of(autor));
-        when(categoriaRepository.findById(1L)).thenReturn(Optional.of(categoria));
+        when(referenciaService.buscarAutor(1L)).thenReturn(Optional.of(autor));
+        when(referenciaService.buscarCategoria(1L)).thenReturn(Optional.of(categoria));
         when(scrapingService.extrairDadosLivro(anyString())).thenThrow(new RuntimeException("Erro de scraping"));
 
         ImportacaoDTO resultado = importacaoService.importarLivro(importacaoDTO);
@@ -193,13 +178,13 @@ public class ImportacaoServiceTest {
     void importarLivro_quandoCriacaoLivroFalha_entaoRetornaErro() {
         ImportacaoDTO importacaoDTO = criarImportacaoDTO();
         LivroDTO livroExtraido = criarLivroDTO();
-        Autor autor = criarAutor();
-        Categoria categoria = criarCategoria();
+        AutorDTO autor = criarAutor();
+        CategoriaDTO categoria = criarCategoria();
 
-        when(autorRepository.findById(1L)).thenReturn(Optional.of(autor));
-        when(categoriaRepository.findById(1L)).thenReturn(Optional.of(categoria));
+        when(referenciaService.buscarAutor(1L)).thenReturn(Optional.of(autor));
+        when(referenciaService.buscarCategoria(1L)).thenReturn(Optional.of(categoria));
         when(scrapingService.extrairDadosLivro(anyString())).thenReturn(livroExtraido);
-        when(livroRepository.existsByIsbn(anyString())).thenReturn(false);
+        when(isbnService.existe(anyString())).thenReturn(false);
         when(livroService.criar(any(LivroDTO.class))).thenThrow(new RuntimeException("Erro ao salvar livro"));
 
         ImportacaoDTO resultado = importacaoService.importarLivro(importacaoDTO);
@@ -221,13 +206,13 @@ public class ImportacaoServiceTest {
         livroExtraido.setCategoriaId(null);
 
         LivroDTO livroSalvo = criarLivroDTO();
-        Autor autor = criarAutor();
-        Categoria categoria = criarCategoria();
+        AutorDTO autor = criarAutor();
+        CategoriaDTO categoria = criarCategoria();
 
-        when(autorRepository.findById(1L)).thenReturn(Optional.of(autor));
-        when(categoriaRepository.findById(1L)).thenReturn(Optional.of(categoria));
+        when(referenciaService.buscarAutor(1L)).thenReturn(Optional.of(autor));
+        when(referenciaService.buscarCategoria(1L)).thenReturn(Optional.of(categoria));
         when(scrapingService.extrairDadosLivro(anyString())).thenReturn(livroExtraido);
-        when(livroRepository.existsByIsbn(anyString())).thenReturn(false);
+        when(isbnService.existe(anyString())).thenReturn(false);
         when(livroService.criar(any(LivroDTO.class))).thenReturn(livroSalvo);
 
         ImportacaoDTO resultado = importacaoService.importarLivro(importacaoDTO);
@@ -243,13 +228,13 @@ public class ImportacaoServiceTest {
     @DisplayName("importarLivro deve tratar EntityNotFoundException corretamente")
     void importarLivro_quandoEntityNotFound_entaoTrataCorreto() {
         ImportacaoDTO importacaoDTO = criarImportacaoDTO();
-        Autor autor = criarAutor();
-        Categoria categoria = criarCategoria();
+        AutorDTO autor = criarAutor();
+        CategoriaDTO categoria = criarCategoria();
 
-        when(autorRepository.findById(1L)).thenReturn(Optional.of(autor));
-        when(categoriaRepository.findById(1L)).thenReturn(Optional.of(categoria));
+        when(referenciaService.buscarAutor(1L)).thenReturn(Optional.of(autor));
+        when(referenciaService.buscarCategoria(1L)).thenReturn(Optional.of(categoria));
         when(scrapingService.extrairDadosLivro(anyString())).thenReturn(criarLivroDTO());
-        when(livroRepository.existsByIsbn(anyString())).thenReturn(false);
+        when(isbnService.existe(anyString())).thenReturn(false);
         when(livroService.criar(any(LivroDTO.class))).thenThrow(new EntityNotFoundException("Erro de entidade"));
 
         ImportacaoDTO resultado = importacaoService.importarLivro(importacaoDTO);
@@ -265,7 +250,7 @@ public class ImportacaoServiceTest {
         ImportacaoDTO importacaoDTO = criarImportacaoDTO();
         String urlOriginal = importacaoDTO.getUrl();
 
-        when(autorRepository.findById(1L)).thenReturn(Optional.empty());
+        when(referenciaService.buscarAutor(1L)).thenReturn(Optional.empty());
 
         ImportacaoDTO resultado = importacaoService.importarLivro(importacaoDTO);
 
@@ -273,4 +258,23 @@ public class ImportacaoServiceTest {
         assertEquals(1L, resultado.getAutorId());
         assertEquals(1L, resultado.getCategoriaId());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("importarLivro deve descartar o livro extraído quando a importação foi cancelada")
+    void importarLivro_quandoCanceladaAposScraping_entaoNaoGravaLivro() {
+        ImportacaoDTO importacaoDTO = criarImportacaoDTO();
+
+        when(referenciaService.buscarAutor(1L)).thenReturn(Optional.of(criarAutor()));
+        when(referenciaService.buscarCategoria(1L)).thenReturn(Optional.of(criarCategoria()));
+        when(scrapingService.extrairDadosLivro(anyString())).thenReturn(criarLivroDTO());
+
+        ImportacaoDTO resultado = importacaoService.importarLivro(importacaoDTO, () -> true);
+
+        assertEquals("CANCELADO", resultado.getStatus());
+        assertEquals("Importação cancelada antes da gravação do livro", resultado.getMensagem());
+        assertNull(resultado.getLivroImportado());
+
+        verify(isbnService, never()).existe(anyString());
+        verify(livroService, never()).criar(any(LivroDTO.class));
+    }
+}
@@ -1,25 +1,36 @@
 package com.biblioteca.biblioteca_api.service;
 
+import com.biblioteca.biblioteca_api.dto.AutorDTO;
+import com.biblioteca.biblioteca_api.dto.EstrategiaContagem;
 import com.biblioteca.biblioteca_api.dto.LivroDTO;
+import com.biblioteca.biblioteca_api.exception.PrecondicaoFalhouException;
 import com.biblioteca.biblioteca_api.model.Autor;
 import com.biblioteca.biblioteca_api.model.Categoria;
 import com.biblioteca.biblioteca_api.model.Livro;
 import com.biblioteca.biblioteca_api.repository.AutorRepository;
 import com.biblioteca.biblioteca_api.repository.CategoriaRepository;
+import com.biblioteca.biblioteca_api.repository.EstadoLivro;
 import com.biblioteca.biblioteca_api.repository.LivroRepository;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.Validator;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
@@ -41,6 +52,30 @@ public class LivroServiceTest {
     @Mock
     private CategoriaRepository categoriaRepository;
 
+    @Mock
+    private BuscaService buscaService;
+
+    @Mock
+    private CacheLivroService cacheLivroService;
+
+    @Mock
+    private CacheConsultasService cacheConsultasService;
+
+    @Mock
+    private ReferenciaService referenciaService;
+
+    @Mock
+    private IsbnService isbnService;
+
+    @Mock
+    private ContagemService contagemService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private Validator validator;
+
     @InjectMocks
     private LivroService livroService;
 
@@ -71,19 +106,35 @@ public class LivroServiceTest {
         return livro;
     }
 
+    private EstadoLivro gerarEstado(Livro livro, Long versao) {
+        return new EstadoLivro(livro.getId(), versao, livro.getTitulo(), livro.getIsbn(), livro.getAnoPublicacao(),
+                livro.getPreco(), livro.getUrlOrigem(), livro.getAutor().getId(), livro.getCategoria().getId(),
+                livro.getDataCadastro());
+    }
+
     @Test
-    @DisplayName("listarTodos deve retornar livros paginados")
-    void listarTodos_deveRetornarLivrosPaginados() {
-        Livro livro = gerarLivro();
-        Pageable pageable = PageRequest.of(0, 10);
-        Page<Livro> page = new PageImpl<>(List.of(livro));
+    @DisplayName("buscarPorTitulo paginado deve manter a ordem de relevância do índice")
+    void buscarPorTitulo_quandoPaginado_entaoMantemOrdemDoIndice() {
+        LivroDTO livro2 = livroService.converterParaDTO(gerarLivro());
+        livro2.setId(2L);
 
-        when(livroRepository.findAll(pageable)).thenReturn(page);
+        when(buscaService.buscarIdsPorTitulo("teste")).thenReturn(List.of(3L, 1L, 2L));
+        when(livroRepository.projetarPorIds(List.of(2L))).thenReturn(List.of(livro2));
 
-        Page<LivroDTO> resultado = livroService.listarTodos(pageable);
+        Page<LivroDTO> resultado = livroService.buscarPorTitulo("teste", PageRequest.of(1, 2));
 
-        assertEquals(1, resultado.getTotalElements());
-        assertEquals("Livro Teste", resultado.getContent().get(0).getTitulo());
+        assertEquals(3, resultado.getTotalElements());
+        assertEquals(1, resultado.getContent().size());
+        assertEquals(2L, resultado.getContent().get(0).getId());
+    }
+
+    @Test
+    @DisplayName("buscarPorTitulo paginado deve rejeitar ordenação porque segue a relevância do índice")
+    void buscarPorTitulo_quandoPaginadoComOrdenacao_entaoLancaIllegalArgument() {
+        assertThrows(IllegalArgumentException.class,
+                () -> livroService.buscarPorTitulo("teste", PageRequest.of(0, 10, Sort.by("titulo"))));
+
+        verifyNoInteractions(buscaService, livroRepository);
     }
 
     @Test
@@ -115,15 +166,173 @@ public class LivroServiceTest {
         Livro livro = gerarLivro();
         LivroDTO dto = livroService.converterParaDTO(livro);
 
-        when(livroRepository.findByIsbn(dto.getIsbn())).thenReturn(Optional.empty());
-        when(autorRepository.findById(dto.getAutorId())).thenReturn(Optional.of(livro.getAutor()));
-        when(categoriaRepository.findById(dto.getCategoriaId())).thenReturn(Optional.of(livro.getCategoria()));
-        when(livroRepository.save(any(Livro.class))).thenReturn(livro);
+        when(isbnService.buscarId(dto.getIsbn())).thenReturn(OptionalLong.empty());
+        when(referenciaService.buscarAutor(dto.getAutorId())).thenReturn(Optional.of(dto.getAutor()));
+        when(referenciaService.buscarCategoria(dto.getCategoriaId())).thenReturn(Optional.of(dto.getCategoria()));
+        when(livroRepository.saveAndFlush(any(Livro.class))).thenReturn(livro);
 
         LivroDTO resultado = livroService.criar(dto);
 
         assertEquals(dto.getTitulo(), resultado.getTitulo());
-        verify(livroRepository).save(any(Livro.class));
+        verify(livroRepository).saveAndFlush(any(Livro.class));
+    }
+
+    @Test
+    @DisplayName("criar deve incrementar os totais de livros do autor e da categoria")
+    void criar_quandoSalvaLivro_entaoIncrementaTotais() {
+        Livro livro = gerarLivro();
+        LivroDTO dto = livroService.converterParaDTO(livro);
+
+        when(isbnService.buscarId(dto.getIsbn())).thenReturn(OptionalLong.empty());
+        when(referenciaService.buscarAutor(dto.getAutorId())).thenReturn(Optional.of(dto.getAutor()));
+        when(referenciaService.buscarCategoria(dto.getCategoriaId())).thenReturn(Optional.of(dto.getCategoria()));
+        when(livroRepository.saveAndFlush(any(Livro.class))).thenReturn(livro);
+
+        LivroDTO resultado = livroService.criar(dto);
+
+        assertEquals(1, resultado.getAutor().getTotalLivros());
+        assertEquals(1, resultado.getCategoria().getTotalLivros());
+        verify(autorRepository).ajustarTotalLivros(1L, 1);
+        verify(categoriaRepository).ajustarTotalLivros(1L, 1);
+    }
+
+    @Test
+    @DisplayName("atualizar deve mover os totais quando o livro troca de autor")
+    void atualizar_quandoAutorMuda_entaoMoveTotais() {
+        Livro livro = gerarLivro();
+        LivroDTO dto = livroService.converterParaDTO(livro);
+        dto.setAutorId(2L);
+
+        AutorDTO novoAutor = new AutorDTO(2L, "Novo Autor", "novo@teste.com", LocalDate.of(1990, 1, 1), 3);
+
+        when(livroRepository.buscarEstado(1L)).thenReturn(Optional.of(gerarEstado(livro, 0L)));
+        when(isbnService.buscarId(dto.getIsbn())).thenReturn(OptionalLong.of(1L));
+        when(referenciaService.buscarAutor(2L)).thenReturn(Optional.of(novoAutor));
+        when(referenciaService.buscarCategoria(1L)).thenReturn(Optional.of(dto.getCategoria()));
+        when(livroRepository.atualizarSeVersao(eq(1L), eq(0L), anyMap())).thenReturn(1);
+
+        LivroDTO resultado = livroService.atualizar(1L, dto, null);
+
+        assertEquals(2L, resultado.getAutorId());
+        assertEquals(4, resultado.getAutor().getTotalLivros());
+        verify(autorRepository).ajustarTotalLivros(1L, -1);
+        verify(autorRepository).ajustarTotalLivros(2L, 1);
+        verify(referenciaService).ajustarTotalLivrosDoAutor(1L, -1);
+        verify(referenciaService).ajustarTotalLivrosDoAutor(2L, 1);
+        verify(categoriaRepository, never()).ajustarTotalLivros(anyLong(), anyInt());
+        verify(livroRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("atualizar deve lançar PrecondicaoFalhouException sem gravar quando a versão do If-Match está desatualizada")
+    void atualizar_quandoVersaoEsperadaDesatualizada_entaoLancaPrecondicaoFalhou() {
+        Livro livro = gerarLivro();
+        LivroDTO dto = livroService.converterParaDTO(livro);
+
+        when(livroRepository.buscarEstado(1L)).thenReturn(Optional.of(gerarEstado(livro, 3L)));
+
+        assertThrows(PrecondicaoFalhouException.class, () -> livroService.atualizar(1L, dto, 2L));
+
+        verify(livroRepository, never()).atualizarSeVersao(anyLong(), anyLong(), anyMap());
+        verify(cacheLivroService, never()).invalidarLivro(anyLong(), anyString());
+    }
+
+    @Test
+    @DisplayName("atualizar deve lançar PrecondicaoFalhouException quando outra escrita altera a versão antes do UPDATE")
+    void atualizar_quandoUpdateNaoAlteraLinhas_entaoLancaPrecondicaoFalhou() {
+        Livro livro = gerarLivro();
+        LivroDTO dto = livroService.converterParaDTO(livro);
+
+        when(livroRepository.buscarEstado(1L)).thenReturn(Optional.of(gerarEstado(livro, 2L)));
+        when(isbnService.buscarId(dto.getIsbn())).thenReturn(OptionalLong.of(1L));
+        when(referenciaService.buscarAutor(1L)).thenReturn(Optional.of(dto.getAutor()));
+        when(referenciaService.buscarCategoria(1L)).thenReturn(Optional.of(dto.getCategoria()));
+        when(livroRepository.atualizarSeVersao(eq(1L), eq(2L), anyMap())).thenReturn(0);
+
+        assertThrows(PrecondicaoFalhouException.class, () -> livroService.atualizar(1L, dto, 2L));
+
+        verify(buscaService, never()).indexarLivro(anyLong(), anyString());
+    }
+
+    @Test
+    @DisplayName("atualizar sem If-Match deve reler o estado e gravar sobre a nova versão quando outra escrita vence a corrida")
+    void atualizar_quandoSemVersaoEUpdateNaoAlteraLinhas_entaoRegravaSobreNovaVersao() {
+        Livro livro = gerarLivro();
+        LivroDTO dto = livroService.converterParaDTO(livro);
+
+        when(livroRepository.buscarEstado(1L))
+                .thenReturn(Optional.of(gerarEstado(livro, 2L)), Optional.of(gerarEstado(livro, 3L)));
+        when(isbnService.buscarId(dto.getIsbn())).thenReturn(OptionalLong.of(1L));
+        when(referenciaService.buscarAutor(1L)).thenReturn(Optional.of(dto.getAutor()));
+        when(referenciaService.buscarCategoria(1L)).thenReturn(Optional.of(dto.getCategoria()));
+        when(livroRepository.atualizarSeVersao(eq(1L), eq(2L), anyMap())).thenReturn(0);
+        when(livroRepository.atualizarSeVersao(eq(1L), eq(3L), anyMap())).thenReturn(1);
+
+        LivroDTO resultado = livroService.atualizar(1L, dto, null);
+
+        assertEquals(4L, resultado.getVersao());
+        verify(livroRepository, times(2)).buscarEstado(1L);
+    }
+
+    @Test
+    @DisplayName("atualizar sem If-Match deve lançar EntityNotFoundException quando o livro é removido antes do UPDATE")
+    void atualizar_quandoSemVersaoELivroRemovido_entaoLancaExcecao() {
+        Livro livro = gerarLivro();
+        LivroDTO dto = livroService.converterParaDTO(livro);
+
+        when(livroRepository.buscarEstado(1L)).thenReturn(Optional.of(gerarEstado(livro, 2L)), Optional.empty());
+        when(isbnService.buscarId(dto.getIsbn())).thenReturn(OptionalLong.of(1L));
+        when(referenciaService.buscarAutor(1L)).thenReturn(Optional.of(dto.getAutor()));
+        when(referenciaService.buscarCategoria(1L)).thenReturn(Optional.of(dto.getCategoria()));
+        when(livroRepository.atualizarSeVersao(eq(1L), eq(2L), anyMap())).thenReturn(0);
+
+        assertThrows(EntityNotFoundException.class, () -> livroService.atualizar(1L, dto, null));
+
+        verify(autorRepository, never()).ajustarTotalLivros(anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("atualizar deve partir do livro em cache sem consultar o estado no banco")
+    void atualizar_quandoLivroEmCache_entaoNaoConsultaEstado() {
+        Livro livro = gerarLivro();
+        LivroDTO emCache = livroService.converterParaDTO(livro);
+        emCache.setVersao(5L);
+        LivroDTO dto = livroService.converterParaDTO(livro);
+
+        when(cacheLivroService.buscarPorId(1L)).thenReturn(emCache);
+        when(isbnService.buscarId(dto.getIsbn())).thenReturn(OptionalLong.of(1L));
+        when(referenciaService.buscarAutor(1L)).thenReturn(Optional.of(dto.getAutor()));
+        when(referenciaService.buscarCategoria(1L)).thenReturn(Optional.of(dto.getCategoria()));
+        when(livroRepository.atualizarSeVersao(eq(1L), eq(5L), anyMap())).thenReturn(1);
+
+        LivroDTO resultado = livroService.atualizar(1L, dto, 5L);
+
+        assertEquals(6L, resultado.getVersao());
+        verify(livroRepository, never()).buscarEstado(anyLong());
+    }
+
+    @Test
+    @DisplayName("atualizarParcialmente deve gravar apenas os campos informados e manter os demais")
+    void atualizarParcialmente_quandoApenasPrecoInformado_entaoGravaSomentePreco() {
+        Livro livro = gerarLivro();
+        LivroDTO alteracoes = new LivroDTO();
+        alteracoes.setPreco(BigDecimal.valueOf(59.90));
+        LivroDTO referencia = livroService.converterParaDTO(livro);
+
+        when(livroRepository.buscarEstado(1L)).thenReturn(Optional.of(gerarEstado(livro, 0L)));
+        when(isbnService.buscarId(livro.getIsbn())).thenReturn(OptionalLong.of(1L));
+        when(referenciaService.buscarAutor(1L)).thenReturn(Optional.of(referencia.getAutor()));
+        when(referenciaService.buscarCategoria(1L)).thenReturn(Optional.of(referencia.getCategoria()));
+        when(livroRepository.atualizarSeVersao(eq(1L), eq(0L), anyMap())).thenReturn(1);
+
+        LivroDTO resultado = livroService.atualizarParcialmente(1L, alteracoes, 0L);
+
+        verify(livroRepository).atualizarSeVersao(eq(1L), eq(0L),
+                argThat(colunas -> colunas.keySet().equals(Set.of("preco", "data_atualizacao"))));
+        assertEquals("Livro Teste", resultado.getTitulo());
+        assertEquals(BigDecimal.valueOf(59.90), resultado.getPreco());
+        verify(validator).validate(any(LivroDTO.class));
+        verify(isbnService, never()).registrar(anyLong(), anyString());
     }
 
     @Test
@@ -132,12 +341,32 @@ public class LivroServiceTest {
         Livro livro = gerarLivro();
         LivroDTO dto = livroService.converterParaDTO(livro);
 
-        when(livroRepository.findByIsbn(dto.getIsbn())).thenReturn(Optional.of(livro));
+        when(isbnService.buscarId(dto.getIsbn())).thenReturn(OptionalLong.of(1L));
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> livroService.criar(dto));
+
+        assertEquals("Já existe um livro com este ISBN: 1234567890123", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("criar deve traduzir a violação da restrição de ISBN único em IllegalArgumentException")
+    void criar_quandoRestricaoDeIsbnViolada_entaoLancaExcecaoSemAjustarTotais() {
+        Livro livro = gerarLivro();
+        LivroDTO dto = livroService.converterParaDTO(livro);
+
+        when(isbnService.buscarId(dto.getIsbn())).thenReturn(OptionalLong.empty());
+        when(referenciaService.buscarAutor(dto.getAutorId())).thenReturn(Optional.of(dto.getAutor()));
+        when(referenciaService.buscarCategoria(dto.getCategoriaId())).thenReturn(Optional.of(dto.getCategoria()));
+        when(livroRepository.saveAndFlush(any(Livro.class))).thenThrow(new DataIntegrityViolationException("duplicado",
+                new ConstraintViolationException("duplicado", new SQLException(), "PUBLIC.UK_LIVROS_ISBN_INDEX_8")));
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
                 () -> livroService.criar(dto));
 
         assertEquals("Já existe um livro com este ISBN: 1234567890123", exception.getMessage());
+        verify(autorRepository, never()).ajustarTotalLivros(anyLong(), anyInt());
+        verify(isbnService, never()).registrar(anyLong(), anyString());
     }
 
     @Test
@@ -148,6 +377,8 @@ public class LivroServiceTest {
 
         assertDoesNotThrow(() -> livroService.deletar(1L));
         verify(livroRepository).delete(livro);
+        verify(autorRepository).ajustarTotalLivros(1L, -1);
+        verify(categoriaRepository).ajustarTotalLivros(1L, -1);
     }
 
     @Test
@@ -160,4 +391,163 @@ public class LivroServiceTest {
 
         assertEquals("Livro não encontrado com ID: 99", exception.getMessage());
     }
+
+    @Test
+    @DisplayName("buscarComFiltros com contagem NENHUMA deve retornar uma fatia sem contar registros")
+    void buscarComFiltros_quandoContagemNenhuma_entaoRetornaFatiaSemContagem() {
+        Pageable pageable = PageRequest.of(0, 1);
+        LivroDTO dto = livroService.converterParaDTO(gerarLivro());
+        when(livroRepository.projetarFatiaComFiltros(1L, null, null, pageable))
+                .thenReturn(new SliceImpl<>(List.of(dto), pageable, true));
+
+        Slice<LivroDTO> resultado = livroService.buscarComFiltros(1L, null, null, EstrategiaContagem.NENHUMA, pageable);
+
+        assertFalse(resultado instanceof Page);
+        assertTrue(resultado.hasNext());
+        verify(livroRepository, never()).contarComFiltros(any(), any(), any());
+        verifyNoInteractions(contagemService);
+    }
+
+    @Test
+    @DisplayName("buscarComFiltros com contagem ESTIMADA deve usar a estimativa quando há próxima página")
+    void buscarComFiltros_quandoContagemEstimada_entaoUsaTotalEstimado() {
+        Pageable pageable = PageRequest.of(0, 1);
+        LivroDTO dto = livroService.converterParaDTO(gerarLivro());
+        when(livroRepository.projetarFatiaComFiltros(1L, 2020, null, pageable))
+                .thenReturn(new SliceImpl<>(List.of(dto), pageable, true));
+        when(contagemService.estimarLivros(1L, 2020, null)).thenReturn(40L);
+
+        Page<LivroDTO> resultado = (Page<LivroDTO>) livroService.buscarComFiltros(1L, 2020, null,
+                EstrategiaContagem.ESTIMADA, pageable);
+
+        assertEquals(40L, resultado.getTotalElements());
+        assertEquals(40, resultado.getTotalPages());
+    }
+
+    @Test
+    @DisplayName("buscarComFiltros com contagem ESTIMADA deve calcular o total exato na última página")
+    void buscarComFiltros_quandoContagemEstimadaNaUltimaPagina_entaoTotalExatoSemEstimativa() {
+        Pageable pageable = PageRequest.of(2, 10);
+        LivroDTO dto = livroService.converterParaDTO(gerarLivro());
+        when(livroRepository.projetarFatiaComFiltros(null, null, null, pageable))
+                .thenReturn(new SliceImpl<>(List.of(dto, dto), pageable, false));
+
+        Page<LivroDTO> resultado = (Page<LivroDTO>) livroService.buscarComFiltros(null, null, null,
+                EstrategiaContagem.ESTIMADA, pageable);
+
+        assertEquals(22L, resultado.getTotalElements());
+        verifyNoInteractions(contagemService);
+    }
+
+    @Test
+    @DisplayName("buscarComFiltros deve montar a página a partir dos IDs em cache sem consultar o banco")
+    void buscarComFiltros_quandoResultadoEmCache_entaoNaoConsultaRepositorio() {
+        Pageable pageable = PageRequest.of(0, 2);
+        LivroDTO livro1 = livroService.converterParaDTO(gerarLivro());
+        LivroDTO livro2 = livroService.converterParaDTO(gerarLivro());
+        livro2.setId(2L);
+        when(cacheConsultasService.buscarPorFiltros(any()))
+                .thenReturn(new CacheConsultasService.ResultadoFiltros(List.of(2L, 1L), 5, true));
+        when(cacheLivroService.buscarPorId(1L)).thenReturn(livro1);
+        when(cacheLivroService.buscarPorId(2L)).thenReturn(livro2);
+
+        Page<LivroDTO> resultado = (Page<LivroDTO>) livroService.buscarComFiltros(1L, null, null,
+                EstrategiaContagem.EXATA, pageable);
+
+        assertEquals(5L, resultado.getTotalElements());
+        assertEquals(List.of(2L, 1L), resultado.getContent().stream().map(LivroDTO::getId).toList());
+        verifyNoInteractions(livroRepository);
+    }
+
+    @Test
+    @DisplayName("buscarPorTitulo deve reutilizar os IDs em cache sem consultar o índice")
+    void buscarPorTitulo_quandoIdsEmCache_entaoNaoConsultaIndice() {
+        LivroDTO livro = livroService.converterParaDTO(gerarLivro());
+        when(cacheConsultasService.buscarPorTitulo("teste")).thenReturn(Optional.of(List.of(1L)));
+        when(cacheLivroService.buscarPorId(1L)).thenReturn(livro);
+
+        List<LivroDTO> resultado = livroService.buscarPorTitulo("teste");
+
+        assertEquals(List.of(livro), resultado);
+        verifyNoInteractions(buscaService, livroRepository);
+    }
+
+    @Test
+    @DisplayName("buscarPorId deve retornar o livro do cache sem consultar o banco")
+    void buscarPorId_quandoLivroEmCache_entaoNaoConsultaRepositorio() {
+        LivroDTO emCache = livroService.converterParaDTO(gerarLivro());
+        when(cacheLivroService.buscarPorId(1L)).thenReturn(emCache);
+
+        assertSame(emCache, livroService.buscarPorId(1L));
+        verifyNoInteractions(livroRepository);
+    }
+
+    @Test
+    @DisplayName("buscarPorId deve armazenar no cache o livro carregado do banco")
+    void buscarPorId_quandoLivroForaDoCache_entaoArmazenaNoCache() {
+        when(cacheLivroService.geracaoAtual()).thenReturn(7L);
+        when(livroRepository.findById(1L)).thenReturn(Optional.of(gerarLivro()));
+
+        LivroDTO resultado = livroService.buscarPorId(1L);
+
+        verify(cacheLivroService).armazenar(resultado, 7L);
+    }
+
+    @Test
+    @DisplayName("deletar deve invalidar o livro e os livros do mesmo autor e categoria no cache")
+    void deletar_quandoLivroRemovido_entaoInvalidaCache() {
+        Livro livro = gerarLivro();
+        when(livroRepository.findById(1L)).thenReturn(Optional.of(livro));
+
+        livroService.deletar(1L);
+
+        verify(cacheLivroService).invalidarLivro(1L, livro.getIsbn());
+        verify(cacheLivroService).invalidarPorAutor(1L);
+        verify(cacheLivroService).invalidarPorCategoria(1L);
+    }
+
+    @Test
+    @DisplayName("criar deve lançar EntityNotFoundException quando o autor não existe nas referências")
+    void criar_quandoAutorInexistente_entaoLancaExcecaoSemSalvar() {
+        LivroDTO dto = livroService.converterParaDTO(gerarLivro());
+        dto.setAutorId(99L);
+
+        when(isbnService.buscarId(dto.getIsbn())).thenReturn(OptionalLong.empty());
+        when(referenciaService.buscarAutor(99L)).thenReturn(Optional.empty());
+
+        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
+                () -> livroService.criar(dto));
+
+        assertEquals("Autor não encontrado com ID: 99", exception.getMessage());
+        verify(livroRepository, never()).saveAndFlush(any(Livro.class));
+        verify(autorRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("buscarPorIsbn deve responder vazio pelo índice de ISBN sem consultar o banco")
+    void buscarPorIsbn_quandoIsbnAusenteNoIndice_entaoNaoConsultaBanco() {
+        when(isbnService.existe("9999999999999")).thenReturn(false);
+
+        assertTrue(livroService.buscarPorIsbn("9999999999999").isEmpty());
+        verify(livroRepository, never()).findByIsbn(anyString());
+    }
+
+    @Test
+    @DisplayName("atualizar deve mover o ISBN no índice quando ele é alterado")
+    void atualizar_quandoIsbnMuda_entaoAtualizaIndiceIsbn() {
+        Livro livro = gerarLivro();
+        LivroDTO dto = livroService.converterParaDTO(livro);
+        dto.setIsbn("9876543210");
+
+        when(livroRepository.buscarEstado(1L)).thenReturn(Optional.of(gerarEstado(livro, 0L)));
+        when(isbnService.buscarId("9876543210")).thenReturn(OptionalLong.empty());
+        when(referenciaService.buscarAutor(1L)).thenReturn(Optional.of(dto.getAutor()));
+        when(referenciaService.buscarCategoria(1L)).thenReturn(Optional.of(dto.getCategoria()));
+        when(livroRepository.atualizarSeVersao(eq(1L), eq(0L), anyMap())).thenReturn(1);
+
+        livroService.atualizar(1L, dto, null);
+
+        verify(isbnService).remover(1L, "1234567890123");
+        verify(isbnService).registrar(1L, "9876543210");
+    }
 }
@@ -0,0 +1,275 @@
+package com.biblioteca.biblioteca_api.service;
+
+import com.biblioteca.biblioteca_api.dto.AutorDTO;
+import com.biblioteca.biblioteca_api.dto.CategoriaDTO;
+import com.biblioteca.biblioteca_api.dto.ItemLoteDTO;
+import com.biblioteca.biblioteca_api.dto.LivroDTO;
+import com.biblioteca.biblioteca_api.dto.ResultadoLoteDTO;
+import com.biblioteca.biblioteca_api.dto.ResultadoSincronizacaoDTO;
+import com.biblioteca.biblioteca_api.model.Autor;
+import com.biblioteca.biblioteca_api.model.Categoria;
+import com.biblioteca.biblioteca_api.model.Livro;
+import com.biblioteca.biblioteca_api.repository.AutorRepository;
+import com.biblioteca.biblioteca_api.repository.CategoriaRepository;
+import com.biblioteca.biblioteca_api.repository.LivroRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TESTES UNITÁRIOS DA CLASSE - LoteLivroServiceTest")
+public class LoteLivroServiceTest {
+
+    @Mock
+    private LivroRepository livroRepository;
+
+    @Mock
+    private AutorRepository autorRepository;
+
+    @Mock
+    private CategoriaRepository categoriaRepository;
+
+    @Mock
+    private ReferenciaService referenciaService;
+
+    @Mock
+    private IsbnService isbnService;
+
+    @Mock
+    private BuscaService buscaService;
+
+    @Mock
+    private CacheLivroService cacheLivroService;
+
+    @Mock
+    private CacheConsultasService cacheConsultasService;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @InjectMocks
+    private LoteLivroService loteLivroService;
+
+    private final AtomicLong proximoId = new AtomicLong(100);
+
+    private void prepararReferencias() {
+        when(referenciaService.buscarAutor(1L))
+                .thenReturn(Optional.of(new AutorDTO(1L, "Autor Teste", "autor@teste.com", LocalDate.of(1980, 1, 1), 0)));
+        when(referenciaService.buscarCategoria(1L))
+                .thenReturn(Optional.of(new CategoriaDTO(1L, "Categoria Teste", "Descrição teste", 0)));
+    }
+
+    private void prepararGravacao() {
+        when(livroRepository.saveAll(anyList())).thenAnswer(invocacao -> atribuirIds(invocacao.getArgument(0)));
+    }
+
+    private List<Livro> atribuirIds(List<Livro> livros) {
+        livros.forEach(livro -> livro.setId(proximoId.getAndIncrement()));
+        return livros;
+    }
+
+    private LivroDTO gerarLivro(String isbn, Long autorId) {
+        LivroDTO dto = new LivroDTO();
+        dto.setTitulo("Livro " + isbn);
+        dto.setIsbn(isbn);
+        dto.setAnoPublicacao(2020);
+        dto.setPreco(BigDecimal.valueOf(39.90));
+        dto.setAutorId(autorId);
+        dto.setCategoriaId(1L);
+        return dto;
+    }
+
+    @Test
+    @DisplayName("criarEmLote deve gravar os itens válidos e reportar o motivo de cada item inválido")
+    void criarEmLote_quandoItensInvalidos_entaoReportaErrosSemInterromperLote() {
+        prepararReferencias();
+        prepararGravacao();
+        LivroDTO semTitulo = gerarLivro("9780000000004", 1L);
+        semTitulo.setTitulo("");
+        when(isbnService.existe(anyString())).thenAnswer(invocacao -> invocacao.getArgument(0).equals("9780000000003"));
+
+        ResultadoLoteDTO resultado = loteLivroService.criarEmLote(List.of(
+                gerarLivro("9780000000001", 1L),
+                gerarLivro("9780000000001", 1L),
+                gerarLivro("9780000000003", 1L),
+                semTitulo,
+                gerarLivro("9780000000005", 99L)));
+
+        assertEquals(5, resultado.getTotal());
+        assertEquals(1, resultado.getCriados());
+        assertEquals(4, resultado.getFalhas());
+        List<ItemLoteDTO> itens = resultado.getItens();
+        assertEquals("CRIADO", itens.get(0).getStatus());
+        assertEquals(100L, itens.get(0).getId());
+        assertEquals("ISBN repetido no lote: 9780000000001", itens.get(1).getMensagem());
+        assertEquals("Já existe um livro com este ISBN: 9780000000003", itens.get(2).getMensagem());
+        assertEquals("titulo: Título é obrigatório", itens.get(3).getMensagem());
+        assertEquals("Autor não encontrado com ID: 99", itens.get(4).getMensagem());
+        verify(livroRepository, times(1)).saveAll(anyList());
+        verify(isbnService).registrar(100L, "9780000000001");
+    }
+
+    @Test
+    @DisplayName("criarEmLote deve invalidar o cache de consultas uma única vez para um lote de vários blocos")
+    void criarEmLote_quandoVariosBlocos_entaoInvalidaConsultasUmaVez() {
+        prepararReferencias();
+        prepararGravacao();
+        List<LivroDTO> livros = new ArrayList<>();
+        for (int i = 0; i < 1001; i++) {
+            livros.add(gerarLivro(String.format("978%010d", i), 1L));
+        }
+
+        loteLivroService.criarEmLote(livros);
+
+        verify(livroRepository, times(3)).saveAll(anyList());
+        verify(cacheConsultasService, times(1)).invalidarTudo();
+    }
+
+    @Test
+    @DisplayName("criarEmLote não deve invalidar o cache de consultas quando nenhum item é gravado")
+    void criarEmLote_quandoTodosInvalidos_entaoNaoInvalidaConsultas() {
+        LivroDTO semTitulo = gerarLivro("9780000000001", 1L);
+        semTitulo.setTitulo("");
+
+        loteLivroService.criarEmLote(List.of(semTitulo));
+
+        verify(cacheConsultasService, never()).invalidarTudo();
+    }
+
+    @Test
+    @DisplayName("criarEmLote deve ajustar os totais uma única vez por autor e categoria")
+    void criarEmLote_quandoVariosLivrosDoMesmoAutor_entaoAjustaTotaisAgrupados() {
+        prepararReferencias();
+        prepararGravacao();
+        loteLivroService.criarEmLote(List.of(gerarLivro("9780000000001", 1L), gerarLivro("9780000000002", 1L)));
+
+        verify(autorRepository, times(1)).ajustarTotalLivros(1L, 2);
+        verify(categoriaRepository, times(1)).ajustarTotalLivros(1L, 2);
+        verify(livroRepository).flush();
+        verify(entityManager).clear();
+    }
+
+    @Test
+    @DisplayName("criarEmLote deve gravar item a item quando o bloco falha, isolando o livro com erro")
+    void criarEmLote_quandoBlocoFalha_entaoGravaItensIndividualmente() {
+        prepararReferencias();
+        List<Integer> tamanhos = new ArrayList<>();
+        when(livroRepository.saveAll(anyList())).thenAnswer(invocacao -> {
+            List<Livro> livros = invocacao.getArgument(0);
+            tamanhos.add(livros.size());
+            if (livros.stream().anyMatch(livro -> livro.getIsbn().equals("9780000000002"))) {
+                throw new DataIntegrityViolationException("isbn duplicado");
+            }
+            return atribuirIds(livros);
+        });
+
+        ResultadoLoteDTO resultado = loteLivroService.criarEmLote(
+                List.of(gerarLivro("9780000000001", 1L), gerarLivro("9780000000002", 1L)));
+
+        assertEquals(List.of(2, 1, 1), tamanhos);
+        assertEquals(1, resultado.getCriados());
+        assertEquals("CRIADO", resultado.getItens().get(0).getStatus());
+        assertEquals("ERRO", resultado.getItens().get(1).getStatus());
+        assertTrue(resultado.getItens().get(1).getMensagem().contains("isbn duplicado"));
+    }
+
+    private Livro gerarExistente(Long id, LivroDTO dto, Long autorId) {
+        Autor autor = new Autor();
+        autor.setId(autorId);
+        Categoria categoria = new Categoria();
+        categoria.setId(dto.getCategoriaId());
+
+        Livro livro = new Livro();
+        livro.setId(id);
+        livro.setTitulo(dto.getTitulo());
+        livro.setIsbn(dto.getIsbn());
+        livro.setAnoPublicacao(dto.getAnoPublicacao());
+        livro.setPreco(new BigDecimal("39.9"));
+        livro.setAutor(autor);
+        livro.setCategoria(categoria);
+        return livro;
+    }
+
+    @Test
+    @DisplayName("sincronizarEmLote deve inserir os novos, atualizar os alterados e ignorar os inalterados")
+    void sincronizarEmLote_quandoCatalogoMisto_entaoContaInseridosAtualizadosEInalterados() {
+        prepararReferencias();
+        prepararGravacao();
+        LivroDTO inalterado = gerarLivro("9780000000001", 1L);
+        LivroDTO alterado = gerarLivro("9780000000002", 1L);
+        LivroDTO novo = gerarLivro("9780000000003", 1L);
+        Livro existenteInalterado = gerarExistente(1L, inalterado, 1L);
+        Livro existenteAlterado = gerarExistente(2L, alterado, 1L);
+        alterado.setTitulo("Título Revisado");
+        when(livroRepository.findByIsbnIn(anyList())).thenReturn(List.of(existenteInalterado, existenteAlterado));
+
+        ResultadoSincronizacaoDTO resultado = loteLivroService.sincronizarEmLote(List.of(inalterado, alterado, novo));
+
+        assertEquals(1, resultado.getInseridos());
+        assertEquals(1, resultado.getAtualizados());
+        assertEquals(1, resultado.getInalterados());
+        assertEquals(0, resultado.getFalhas());
+        assertEquals("Título Revisado", existenteAlterado.getTitulo());
+        verify(autorRepository).ajustarTotalLivros(1L, 1);
+        verify(isbnService).registrar(100L, "9780000000003");
+        verify(buscaService).indexarLivro(2L, "Título Revisado");
+        verify(buscaService, never()).indexarLivro(eq(1L), anyString());
+        verify(cacheLivroService).invalidarLivro(2L, "9780000000002");
+        verify(isbnService, never()).existe(anyString());
+    }
+
+    @Test
+    @DisplayName("sincronizarEmLote deve mover o total de livros quando o autor muda")
+    void sincronizarEmLote_quandoAutorMuda_entaoAjustaTotaisDosDoisAutores() {
+        prepararGravacao();
+        when(referenciaService.buscarAutor(2L))
+                .thenReturn(Optional.of(new AutorDTO(2L, "Outro Autor", "outro@teste.com", LocalDate.of(1980, 1, 1), 0)));
+        when(referenciaService.buscarCategoria(1L))
+                .thenReturn(Optional.of(new CategoriaDTO(1L, "Categoria Teste", "Descrição teste", 0)));
+        LivroDTO livro = gerarLivro("9780000000001", 2L);
+        when(livroRepository.findByIsbnIn(anyList())).thenReturn(List.of(gerarExistente(1L, livro, 1L)));
+
+        ResultadoSincronizacaoDTO resultado = loteLivroService.sincronizarEmLote(List.of(livro));
+
+        assertEquals(1, resultado.getAtualizados());
+        verify(autorRepository).ajustarTotalLivros(1L, -1);
+        verify(autorRepository).ajustarTotalLivros(2L, 1);
+        verify(categoriaRepository, never()).ajustarTotalLivros(anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("criarEmLote deve rejeitar lote vazio")
+    void criarEmLote_quandoLoteVazio_entaoLancaExcecao() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> loteLivroService.criarEmLote(List.of()));
+
+        assertEquals("O lote deve conter entre 1 e 5000 livros", exception.getMessage());
+        verifyNoInteractions(livroRepository);
+    }
+}
@@ -0,0 +1,162 @@
+package com.biblioteca.biblioteca_api.service;
+
+import com.biblioteca.biblioteca_api.dto.AutorDTO;
+import com.biblioteca.biblioteca_api.model.Autor;
+import com.biblioteca.biblioteca_api.model.Categoria;
+import com.biblioteca.biblioteca_api.repository.AutorRepository;
+import com.biblioteca.biblioteca_api.repository.CategoriaRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TESTES UNITÁRIOS DA CLASSE - ReferenciaServiceTest")
+public class ReferenciaServiceTest {
+
+    @Mock
+    private AutorRepository autorRepository;
+
+    @Mock
+    private CategoriaRepository categoriaRepository;
+
+    @InjectMocks
+    private ReferenciaService referenciaService;
+
+    private Autor gerarAutor(Long id, String nome) {
+        Autor autor = new Autor();
+        autor.setId(id);
+        autor.setNome(nome);
+        autor.setEmail("autor@teste.com");
+        autor.setDataNascimento(LocalDate.of(1980, 1, 1));
+        autor.setTotalLivros(2);
+        return autor;
+    }
+
+    @Test
+    @DisplayName("recarregar deve servir autores e categorias sem consultar o banco por ID")
+    void recarregar_quandoExistemRegistros_entaoBuscaNaoConsultaBanco() {
+        when(autorRepository.findAll()).thenReturn(List.of(gerarAutor(1L, "Autor Teste")));
+        when(categoriaRepository.findAll()).thenReturn(List.of(new Categoria(1L, "Categoria Teste", "Descrição")));
+
+        referenciaService.recarregar();
+
+        assertEquals("Autor Teste", referenciaService.buscarAutor(1L).orElseThrow().getNome());
+        assertEquals("Categoria Teste", referenciaService.buscarCategoria(1L).orElseThrow().getNome());
+        verify(autorRepository, never()).findById(anyLong());
+        verify(categoriaRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("buscarAutor deve carregar do banco apenas na primeira consulta de um ID ausente")
+    void buscarAutor_quandoAusenteNoSnapshot_entaoCarregaUmaVez() {
+        when(autorRepository.findById(1L)).thenReturn(Optional.of(gerarAutor(1L, "Autor Teste")));
+
+        referenciaService.buscarAutor(1L);
+        Optional<AutorDTO> resultado = referenciaService.buscarAutor(1L);
+
+        assertTrue(resultado.isPresent());
+        verify(autorRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("buscarAutor não deve devolver ao snapshot um autor removido durante a carga")
+    void buscarAutor_quandoRemovidoDuranteCarga_entaoNaoRessuscitaEntrada() {
+        when(autorRepository.findById(1L)).thenAnswer(invocacao -> {
+            referenciaService.removerAutor(1L);
+            return Optional.of(gerarAutor(1L, "Autor Teste"));
+        }).thenReturn(Optional.empty());
+
+        assertTrue(referenciaService.buscarAutor(1L).isPresent());
+        assertTrue(referenciaService.buscarAutor(1L).isEmpty());
+        verify(autorRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("buscarCategoria não deve guardar no snapshot o total lido enquanto um ajuste ainda não foi confirmado")
+    void buscarCategoria_quandoAjustePendente_entaoNaoGuardaTotalDesatualizado() {
+        when(categoriaRepository.findById(1L))
+                .thenReturn(Optional.of(new Categoria(1L, "Categoria Teste", "Descrição")));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            referenciaService.ajustarTotalLivrosDaCategoria(1L, 1);
+            referenciaService.buscarCategoria(1L);
+            List<TransactionSynchronization> sincronizacoes = TransactionSynchronizationManager.getSynchronizations();
+            sincronizacoes.forEach(TransactionSynchronization::afterCommit);
+            sincronizacoes.forEach(sincronizacao -> sincronizacao.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        referenciaService.buscarCategoria(1L);
+        referenciaService.buscarCategoria(1L);
+
+        verify(categoriaRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("buscarCategoria deve retornar vazio quando a categoria não existe")
+    void buscarCategoria_quandoInexistente_entaoRetornaVazio() {
+        when(categoriaRepository.findById(99L)).thenReturn(Optional.empty());
+
+        assertTrue(referenciaService.buscarCategoria(99L).isEmpty());
+    }
+
+    @Test
+    @DisplayName("publicarAutor deve substituir a entrada e removerAutor deve descartá-la")
+    void publicarAutor_quandoAtualizado_entaoSnapshotRefleteAlteracao() {
+        referenciaService.publicarAutor(gerarAutor(1L, "Nome Novo"));
+        assertEquals("Nome Novo", referenciaService.buscarAutor(1L).orElseThrow().getNome());
+
+        referenciaService.removerAutor(1L);
+        when(autorRepository.findById(1L)).thenReturn(Optional.empty());
+        assertTrue(referenciaService.buscarAutor(1L).isEmpty());
+    }
+
+    @Test
+    @DisplayName("publicarAlteracoesDoAutor deve mesclar apenas os campos gravados, preservando alterações concorrentes")
+    void publicarAlteracoesDoAutor_quandoCamposDistintos_entaoPreservaAmbasAsAlteracoes() {
+        referenciaService.publicarAutor(gerarAutor(1L, "Autor Teste"));
+
+        referenciaService.publicarAlteracoesDoAutor(1L, Map.of("email", "novo@teste.com"));
+        referenciaService.publicarAlteracoesDoAutor(1L, Map.of("nome", "Nome Novo"));
+
+        AutorDTO autor = referenciaService.buscarAutor(1L).orElseThrow();
+        assertEquals("Nome Novo", autor.getNome());
+        assertEquals("novo@teste.com", autor.getEmail());
+        assertEquals(2, autor.getTotalLivros());
+    }
+
+    @Test
+    @DisplayName("ajustarTotalLivrosDoAutor deve aplicar o delta ao contador do snapshot")
+    void ajustarTotalLivrosDoAutor_quandoPresente_entaoAtualizaContador() {
+        referenciaService.publicarAutor(gerarAutor(1L, "Autor Teste"));
+
+        referenciaService.ajustarTotalLivrosDoAutor(1L, 1);
+
+        assertEquals(3, referenciaService.buscarAutor(1L).orElseThrow().getTotalLivros());
+    }
+
+    @Test
+    @DisplayName("o DTO retornado não deve compartilhar estado com o snapshot")
+    void buscarAutor_quandoDtoAlterado_entaoSnapshotPermaneceIntacto() {
+        referenciaService.publicarAutor(gerarAutor(1L, "Autor Teste"));
+
+        referenciaService.buscarAutor(1L).orElseThrow().setNome("Alterado");
+
+        assertEquals("Autor Teste", referenciaService.buscarAutor(1L).orElseThrow().getNome());
+    }
+}
@@ -0,0 +1,104 @@
+package com.biblioteca.biblioteca_api.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TESTES UNITÁRIOS DA CLASSE - ChamadaUnicaTest")
+public class ChamadaUnicaTest {
+
+    private static final int CHAMADAS = 8;
+
+    private final ChamadaUnica<String, String> chamadaUnica = new ChamadaUnica<>();
+
+    private void aguardarCompartilhadas(long esperadas) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (chamadaUnica.compartilhadas() < esperadas && System.nanoTime() < limite) {
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    @DisplayName("executar deve compartilhar uma única carga entre chamadas simultâneas com a mesma chave")
+    void executar_quandoChamadasSimultaneas_entaoCarregaUmaUnicaVez() throws Exception {
+        CountDownLatch liberarCarga = new CountDownLatch(1);
+        AtomicInteger cargas = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(CHAMADAS);
+        try {
+            List<Future<String>> resultados = new ArrayList<>();
+            for (int i = 0; i < CHAMADAS; i++) {
+                resultados.add(executor.submit(() -> chamadaUnica.executar("livro:1", () -> {
+                    cargas.incrementAndGet();
+                    aguardar(liberarCarga);
+                    return "Dom Casmurro";
+                })));
+            }
+            aguardarCompartilhadas(CHAMADAS - 1);
+            liberarCarga.countDown();
+
+            for (Future<String> resultado : resultados) {
+                assertEquals("Dom Casmurro", resultado.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, cargas.get());
+            assertEquals(CHAMADAS - 1, chamadaUnica.compartilhadas());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("executar deve propagar a exceção da carga para todas as chamadas que aguardavam")
+    void executar_quandoCargaFalha_entaoTodasAsChamadasRecebemAExcecao() throws Exception {
+        CountDownLatch cargaIniciada = new CountDownLatch(1);
+        CountDownLatch liberarCarga = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> lider = executor.submit(() -> chamadaUnica.executar("livro:99", () -> {
+                cargaIniciada.countDown();
+                aguardar(liberarCarga);
+                throw new IllegalStateException("falha na carga");
+            }));
+            aguardar(cargaIniciada);
+            Future<String> seguidor = executor.submit(() -> chamadaUnica.executar("livro:99", () -> "não executa"));
+            aguardarCompartilhadas(1);
+            liberarCarga.countDown();
+
+            Exception exLider = assertThrows(Exception.class, () -> lider.get(5, TimeUnit.SECONDS));
+            Exception exSeguidor = assertThrows(Exception.class, () -> seguidor.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, exLider.getCause());
+            assertInstanceOf(IllegalStateException.class, exSeguidor.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("executar deve carregar novamente depois que a chamada anterior terminou")
+    void executar_quandoChamadaAnteriorConcluida_entaoExecutaNovaCarga() {
+        AtomicInteger cargas = new AtomicInteger();
+
+        chamadaUnica.executar("livro:1", () -> "v" + cargas.incrementAndGet());
+        String segunda = chamadaUnica.executar("livro:1", () -> "v" + cargas.incrementAndGet());
+
+        assertEquals("v2", segunda);
+        assertEquals(0, chamadaUnica.compartilhadas());
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}